@@ -0,0 +1,158 @@
+package com.ticketly.benchmarks;
+
+import com.ticketly.util.DatabaseUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Embedded H2 database in MySQL mode, seeded at benchmark scale.
+ *
+ * The scale is read from system properties so it can be changed per run, e.g.
+ * {@code java -Dbench.shows=20000 -jar benchmarks.jar}. With the defaults the database holds
+ * 10,000 booked shows with 1,000,000 confirmed bookings, plus a separate set of empty shows that
+ * the booking benchmarks write into.
+ */
+public final class BenchmarkDatabase {
+    public static final int MOVIES = Integer.getInteger("bench.movies", 500);
+    public static final int THEATERS = Integer.getInteger("bench.theaters", 50);
+    public static final int SEATS_PER_THEATER = Integer.getInteger("bench.seatsPerTheater", 200);
+    public static final int USERS = Integer.getInteger("bench.users", 10_000);
+    public static final int BOOKED_SHOWS = Integer.getInteger("bench.shows", 10_000);
+    public static final int EMPTY_SHOWS = Integer.getInteger("bench.emptyShows", 2_000);
+    // Percentage of seats booked in each of the booked shows
+    public static final int FILL_PERCENT = Integer.getInteger("bench.fillPercent", 50);
+
+    private static final int SEATS_PER_ROW = 20;
+    private static boolean initialized;
+
+    private BenchmarkDatabase() {
+    }
+
+    /**
+     * Point DatabaseUtil at the embedded database and seed it. Safe to call from every
+     * benchmark's setup; the database is created once per JVM.
+     */
+    public static synchronized void initialize() {
+        if (initialized) {
+            return;
+        }
+        System.setProperty("db.driver", "org.h2.Driver");
+        System.setProperty("db.url", System.getProperty("bench.url",
+                "jdbc:h2:mem:ticketly;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"));
+        System.setProperty("db.username", "sa");
+        System.setProperty("db.password", "");
+        System.setProperty("db.connection.pool.max", System.getProperty("db.connection.pool.max", "32"));
+
+        // DatabaseUtil creates the schema through its migrations when the pool starts
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            seed(conn);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to create benchmark database", e);
+        }
+        initialized = true;
+    }
+
+    public static long userId(int index) {
+        return index + 1L;
+    }
+
+    public static String username(int index) {
+        return "user" + (index + 1);
+    }
+
+    public static long movieId(int index) {
+        return index + 1L;
+    }
+
+    public static long bookedShowId(int index) {
+        return index + 1L;
+    }
+
+    /**
+     * Show ids from BOOKED_SHOWS + 1 upwards have no bookings after seeding.
+     */
+    public static long emptyShowId(int index) {
+        return BOOKED_SHOWS + index + 1L;
+    }
+
+    public static long theaterIdForShow(long showId) {
+        return (showId - 1) % THEATERS + 1;
+    }
+
+    /**
+     * Id of the given seat (0-based within the theater) of the theater the show plays in.
+     */
+    public static long seatId(long showId, int seatIndex) {
+        return (theaterIdForShow(showId) - 1) * SEATS_PER_THEATER + seatIndex + 1;
+    }
+
+    /**
+     * Whether the seeder booked the given seat of a booked show.
+     */
+    public static boolean isSeededBooking(long showId, int seatIndex) {
+        return showId <= BOOKED_SHOWS && Math.floorMod(seatIndex * 7L + showId, 100) < FILL_PERCENT;
+    }
+
+    /**
+     * Remove every booking made in the empty shows, e.g. between benchmark iterations.
+     */
+    public static void clearEmptyShows() throws SQLException {
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("DELETE FROM bookings WHERE show_id > ?")) {
+            stmt.setLong(1, BOOKED_SHOWS);
+            stmt.executeUpdate();
+        }
+    }
+
+    private static void seed(Connection conn) throws SQLException {
+        long start = System.nanoTime();
+        int totalShows = BOOKED_SHOWS + EMPTY_SHOWS;
+        // Ids are assigned in insertion order, which the id helpers above rely on
+        execute(conn, "INSERT INTO users (username, password_hash, email, full_name) " +
+                "SELECT 'user' || r.n, 'password', 'user' || r.n || '@example.com', 'User ' || r.n " +
+                "FROM SYSTEM_RANGE(1, ?) r(n) ORDER BY r.n", USERS);
+        execute(conn, "INSERT INTO movies (title, description, duration_minutes, genre, release_date, poster_url) " +
+                "SELECT 'Movie ' || r.n, 'Benchmark movie', 90 + MOD(r.n, 90), " +
+                "CASE MOD(r.n, 4) WHEN 0 THEN 'Action' WHEN 1 THEN 'Drama' WHEN 2 THEN 'Comedy' ELSE 'Thriller' END, " +
+                "DATE '2024-01-01', NULL FROM SYSTEM_RANGE(1, ?) r(n) ORDER BY r.n", MOVIES);
+        execute(conn, "INSERT INTO theaters (name, location, total_seats) " +
+                "SELECT 'Theater ' || r.n, 'Location ' || r.n, " + SEATS_PER_THEATER + " " +
+                "FROM SYSTEM_RANGE(1, ?) r(n) ORDER BY r.n", THEATERS);
+        execute(conn, "INSERT INTO seats (theater_id, row_name, seat_number) " +
+                "SELECT t.n, CHAR(65 + (s.n - 1) / " + SEATS_PER_ROW + "), MOD(s.n - 1, " + SEATS_PER_ROW + ") + 1 " +
+                "FROM SYSTEM_RANGE(1, " + THEATERS + ") t(n), SYSTEM_RANGE(1, ?) s(n) ORDER BY t.n, s.n", SEATS_PER_THEATER);
+        execute(conn, "INSERT INTO shows (movie_id, theater_id, show_date, show_time, price_regular) " +
+                "SELECT MOD(r.n - 1, " + MOVIES + ") + 1, MOD(r.n - 1, " + THEATERS + ") + 1, " +
+                "DATEADD(DAY, r.n / 100, DATE '2025-01-01'), " +
+                "CASE MOD(r.n, 4) WHEN 0 THEN TIME '10:00:00' WHEN 1 THEN TIME '13:00:00' " +
+                "WHEN 2 THEN TIME '16:00:00' ELSE TIME '19:00:00' END, 150.00 " +
+                "FROM SYSTEM_RANGE(1, ?) r(n) ORDER BY r.n", totalShows);
+        // Same predicate as isSeededBooking
+        execute(conn, "INSERT INTO bookings (user_id, show_id, seat_id, total_amount, payment_status, status) " +
+                "SELECT MOD(sh.n * " + SEATS_PER_THEATER + " + s.n, " + USERS + ") + 1, sh.n, " +
+                "MOD(sh.n - 1, " + THEATERS + ") * " + SEATS_PER_THEATER + " + s.n + 1, 150.00, 'COMPLETED', 'CONFIRMED' " +
+                "FROM SYSTEM_RANGE(1, ?) sh(n), SYSTEM_RANGE(0, " + (SEATS_PER_THEATER - 1) + ") s(n) " +
+                "WHERE MOD(s.n * 7 + sh.n, 100) < " + FILL_PERCENT, BOOKED_SHOWS);
+        System.out.printf("Seeded benchmark database in %d ms: %d shows, %d bookings%n",
+                (System.nanoTime() - start) / 1_000_000, totalShows, count(conn, "bookings"));
+    }
+
+    // The row count is inlined: H2 cannot infer the column type of SYSTEM_RANGE(1, ?)
+    private static void execute(Connection conn, String sql, int rows) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate(sql.replace("?", Integer.toString(rows)));
+        }
+    }
+
+    private static long count(Connection conn, String table) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
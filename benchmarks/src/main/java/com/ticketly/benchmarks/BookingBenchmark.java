@@ -0,0 +1,102 @@
+package com.ticketly.benchmarks;
+
+import com.ticketly.dao.SeatInventory;
+import com.ticketly.dao.SeatRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Booking write path. Operations book seats of the seeded empty shows, taking the next slot from
+ * a shared counter, and the empty shows are cleared before every iteration. Once an iteration has
+ * used up every empty seat the counter wraps and further bookings are rejected, so raise
+ * {@code bench.emptyShows} if the error counts show that happening.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-Dlogback.configurationFile=benchmark-logback.xml"})
+public class BookingBenchmark {
+    // Shows that contending threads book into at the same time
+    private static final int HOT_SHOWS = 4;
+    private static final double PRICE = 150.0;
+
+    private final AtomicLong nextSlot = new AtomicLong();
+    private SeatRepository seatRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkDatabase.initialize();
+        seatRepository = new SeatRepository();
+    }
+
+    @Setup(Level.Iteration)
+    public void clearBookings() throws SQLException {
+        BenchmarkDatabase.clearEmptyShows();
+        SeatInventory inventory = SeatInventory.getInstance();
+        for (int i = 0; i < BenchmarkDatabase.EMPTY_SHOWS; i++) {
+            inventory.evict(BenchmarkDatabase.emptyShowId(i));
+        }
+        nextSlot.set(0);
+    }
+
+    /**
+     * One thread booking free seats, show after show.
+     */
+    @Benchmark
+    @Threads(1)
+    public boolean bookSeat() {
+        long slot = nextSlot.getAndIncrement();
+        long showId = BenchmarkDatabase.emptyShowId((int) (slot / BenchmarkDatabase.SEATS_PER_THEATER % BenchmarkDatabase.EMPTY_SHOWS));
+        long seatId = BenchmarkDatabase.seatId(showId, (int) (slot % BenchmarkDatabase.SEATS_PER_THEATER));
+        return seatRepository.bookSeat(seatId, userId(slot), showId, PRICE);
+    }
+
+    /**
+     * Eight threads booking different seats of the same few shows, so they contend on the show
+     * row lock and on the in-memory inventory.
+     */
+    @Benchmark
+    @Threads(8)
+    public boolean bookSeatHotShows() {
+        return bookHotSlot(nextSlot.getAndIncrement());
+    }
+
+    /**
+     * Eight threads where every seat is requested twice at about the same time, so half of the
+     * requests lose the race and must be rejected.
+     */
+    @Benchmark
+    @Threads(8)
+    public boolean bookSameSeatRace() {
+        return bookHotSlot(nextSlot.getAndIncrement() / 2);
+    }
+
+    private boolean bookHotSlot(long slot) {
+        // The hot shows move on once all of their seats are taken
+        long round = slot / ((long) HOT_SHOWS * BenchmarkDatabase.SEATS_PER_THEATER);
+        int showIndex = (int) ((round * HOT_SHOWS + slot % HOT_SHOWS) % BenchmarkDatabase.EMPTY_SHOWS);
+        long showId = BenchmarkDatabase.emptyShowId(showIndex);
+        long seatId = BenchmarkDatabase.seatId(showId, (int) (slot / HOT_SHOWS % BenchmarkDatabase.SEATS_PER_THEATER));
+        return seatRepository.bookSeat(seatId, userId(slot), showId, PRICE);
+    }
+
+    private static long userId(long slot) {
+        return BenchmarkDatabase.userId((int) (slot % BenchmarkDatabase.USERS));
+    }
+}
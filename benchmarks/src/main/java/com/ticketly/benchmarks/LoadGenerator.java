@@ -0,0 +1,369 @@
+package com.ticketly.benchmarks;
+
+import com.ticketly.dao.CatalogCache;
+import com.ticketly.dao.SeatRepository;
+import com.ticketly.dao.UserRepository;
+import com.ticketly.model.BookingOrder;
+import com.ticketly.model.SeatAvailability;
+import com.ticketly.model.SeatLayout;
+import com.ticketly.model.Show;
+import com.ticketly.model.User;
+import com.ticketly.service.PasswordService;
+import com.ticketly.service.SeatHold;
+import com.ticketly.service.SeatHoldService;
+import com.ticketly.service.SeatLayoutService;
+import com.ticketly.util.DatabaseUtil;
+import com.ticketly.util.LatencyHistogram;
+import com.ticketly.util.Metrics;
+import com.ticketly.util.OperationMetrics;
+import com.ticketly.util.PoolMetrics;
+import com.ticketly.util.Threads;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Headless booking load test against the embedded benchmark database.
+ *
+ * Every client runs the flow of the booking screens in a loop: log in, browse the movies and the
+ * showtimes of a show's movie, load the seat map and availability, hold a few free seats, "pay"
+ * and confirm. Clients pause for an exponentially distributed think time between steps. A share
+ * of the clients go for a handful of hot shows, as on a blockbuster's opening night; the rest
+ * spread over the other empty shows.
+ *
+ * Clients run one per virtual thread on JDK 21+, or one platform thread each on older runtimes.
+ * The report has throughput, per-step latency percentiles, outcomes, the connection pool's wait
+ * times and timeouts, and two double-booking checks: seats confirmed twice as seen by the
+ * clients, and duplicate confirmed bookings in the database after the run.
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar -Dbench.shows=1000 -Dload.clients=2000 \
+ *     com.ticketly.benchmarks.LoadGenerator
+ * </pre>
+ *
+ * Settings are {@code load.*} system properties, see the constants below; the database scale is
+ * set with the {@code bench.*} properties of {@link BenchmarkDatabase} and the pool with
+ * {@code db.connection.pool.max} and {@code db.connection.timeout}.
+ */
+public final class LoadGenerator {
+    public static final int CLIENTS = Integer.getInteger("load.clients", 2_000);
+    public static final int DURATION_SECONDS = Integer.getInteger("load.durationSeconds", 60);
+    public static final int RAMP_UP_SECONDS = Integer.getInteger("load.rampUpSeconds", 10);
+    // Mean think time between steps; 0 runs the clients flat out
+    public static final int THINK_MILLIS = Integer.getInteger("load.thinkMillis", 500);
+    public static final int HOT_SHOWS = Integer.getInteger("load.hotShows", 4);
+    // Percentage of bookings that target one of the hot shows
+    public static final int HOT_PERCENT = Integer.getInteger("load.hotPercent", 80);
+    public static final int MAX_SEATS_PER_BOOKING = Integer.getInteger("load.maxSeatsPerBooking", 4);
+    public static final int REPORT_SECONDS = Integer.getInteger("load.reportSeconds", 10);
+
+    private static final String PASSWORD = "password";
+    private static final double PRICE = 150.0;
+    private static final String[] STEPS = {"login", "browse", "seat map", "hold", "confirm", "flow"};
+    private static final int LOGIN = 0;
+    private static final int BROWSE = 1;
+    private static final int SEAT_MAP = 2;
+    private static final int HOLD = 3;
+    private static final int CONFIRM = 4;
+    private static final int FLOW = 5;
+
+    private final UserRepository userRepository = new UserRepository();
+    private final SeatRepository seatRepository = new SeatRepository();
+    private final CatalogCache catalog = CatalogCache.getInstance();
+    private final SeatLayoutService layouts = SeatLayoutService.getInstance();
+    private final SeatHoldService holds = SeatHoldService.getInstance();
+    private final PasswordService passwords = PasswordService.getInstance();
+
+    private final LatencyHistogram[] latencies = new LatencyHistogram[STEPS.length];
+    private final LongAdder bookings = new LongAdder();
+    private final LongAdder bookedSeats = new LongAdder();
+    private final LongAdder failedLogins = new LongAdder();
+    private final LongAdder soldOut = new LongAdder();
+    private final LongAdder lostHolds = new LongAdder();
+    private final LongAdder failedConfirms = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final AtomicInteger activeClients = new AtomicInteger();
+    private final AtomicInteger maxPendingThreads = new AtomicInteger();
+    // (show, seat) pairs confirmed so far; a second confirmation of a pair is a double booking
+    private final Set<Long> confirmedSeats = ConcurrentHashMap.newKeySet();
+    private final LongAdder doubleBookings = new LongAdder();
+
+    private volatile long deadline;
+
+    private LoadGenerator() {
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new LatencyHistogram();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (System.getProperty("logback.configurationFile") == null) {
+            System.setProperty("logback.configurationFile", "benchmark-logback.xml");
+        }
+        BenchmarkDatabase.initialize();
+        boolean passed = new LoadGenerator().run();
+        // Non-zero so a CI step running the generator fails on a correctness problem
+        System.exit(passed ? 0 : 1);
+    }
+
+    private boolean run() throws InterruptedException, SQLException {
+        System.out.printf("Load: %d clients for %d s (ramp-up %d s), think %d ms, %d%% on %d hot shows, up to %d seats per booking%n",
+                CLIENTS, DURATION_SECONDS, RAMP_UP_SECONDS, THINK_MILLIS, HOT_PERCENT, HOT_SHOWS, MAX_SEATS_PER_BOOKING);
+        for (PoolMetrics pool : Metrics.getPools()) {
+            pool.reset();
+        }
+        for (OperationMetrics operation : Metrics.getOperations()) {
+            operation.reset();
+        }
+
+        long start = System.nanoTime();
+        deadline = start + TimeUnit.SECONDS.toNanos(DURATION_SECONDS);
+        ExecutorService clients = Threads.newPerTaskExecutor("load-client", CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            long startDelay = (long) i * TimeUnit.SECONDS.toNanos(RAMP_UP_SECONDS) / CLIENTS;
+            int client = i;
+            clients.execute(() -> runClient(client, start + startDelay));
+        }
+        clients.shutdown();
+
+        long lastBookings = 0;
+        long lastReport = start;
+        while (!clients.awaitTermination(200, TimeUnit.MILLISECONDS)) {
+            samplePool();
+            long now = System.nanoTime();
+            if (now - lastReport >= TimeUnit.SECONDS.toNanos(REPORT_SECONDS)) {
+                long total = bookings.sum();
+                System.out.printf("%4d s: %d clients active, %.1f bookings/s, %d pending for a connection%n",
+                        TimeUnit.NANOSECONDS.toSeconds(now - start), activeClients.get(),
+                        (total - lastBookings) * 1e9 / (now - lastReport), pendingThreads());
+                lastBookings = total;
+                lastReport = now;
+            }
+        }
+        return report((System.nanoTime() - start) / 1e9);
+    }
+
+    private void runClient(int client, long startAt) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int userIndex = client % BenchmarkDatabase.USERS;
+        try {
+            sleepNanos(startAt - System.nanoTime());
+            activeClients.incrementAndGet();
+            while (System.nanoTime() < deadline) {
+                try {
+                    bookOnce(userIndex, random);
+                } catch (InterruptedException e) {
+                    throw e;
+                } catch (Exception e) {
+                    errors.increment();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            activeClients.decrementAndGet();
+        }
+    }
+
+    // One pass through the booking screens; think time is excluded from the step latencies
+    private void bookOnce(int userIndex, ThreadLocalRandom random) throws InterruptedException {
+        long flow = 0;
+
+        long t = System.nanoTime();
+        Optional<User> user = userRepository.findByUsername(BenchmarkDatabase.username(userIndex));
+        boolean loggedIn = user.isPresent() && passwords.verify(PASSWORD, user.get().getPassword()).join().matches();
+        flow += record(LOGIN, t);
+        if (!loggedIn) {
+            failedLogins.increment();
+            return;
+        }
+        long userId = user.get().getId();
+        think(random);
+
+        long showId = pickShow(random);
+        t = System.nanoTime();
+        catalog.findAllMovies();
+        Show show = catalog.findShowById(showId);
+        if (show != null) {
+            catalog.findShowsByMovieId(show.getMovieId());
+        }
+        flow += record(BROWSE, t);
+        if (show == null) {
+            errors.increment();
+            return;
+        }
+        think(random);
+
+        t = System.nanoTime();
+        SeatLayout layout = layouts.getLayout(show.getTheaterId());
+        SeatAvailability availability = seatRepository.findSeatAvailability(showId);
+        flow += record(SEAT_MAP, t);
+        List<Long> seatIds = pickSeats(layout, availability, random);
+        if (seatIds.isEmpty()) {
+            soldOut.increment();
+            return;
+        }
+        think(random);
+
+        t = System.nanoTime();
+        SeatHold hold = holds.hold(showId, userId, seatIds);
+        flow += record(HOLD, t);
+        if (hold == null) {
+            lostHolds.increment();
+            return;
+        }
+        think(random);
+
+        t = System.nanoTime();
+        BookingOrder order = holds.confirm(hold.getId(), PRICE);
+        flow += record(CONFIRM, t);
+        if (order == null) {
+            failedConfirms.increment();
+            return;
+        }
+        latencies[FLOW].recordNanos(flow);
+        bookings.increment();
+        bookedSeats.add(order.getSeatCount());
+        for (Long seatId : order.getSeatIds()) {
+            if (!confirmedSeats.add(seatKey(showId, seatId))) {
+                doubleBookings.increment();
+            }
+        }
+    }
+
+    private long pickShow(ThreadLocalRandom random) {
+        int hotShows = Math.min(HOT_SHOWS, BenchmarkDatabase.EMPTY_SHOWS);
+        if (hotShows > 0 && (hotShows == BenchmarkDatabase.EMPTY_SHOWS || random.nextInt(100) < HOT_PERCENT)) {
+            return BenchmarkDatabase.emptyShowId(random.nextInt(hotShows));
+        }
+        return BenchmarkDatabase.emptyShowId(hotShows + random.nextInt(BenchmarkDatabase.EMPTY_SHOWS - hotShows));
+    }
+
+    // Adjacent free seats from a random starting point, as a user picking a group of seats would
+    private static List<Long> pickSeats(SeatLayout layout, SeatAvailability availability, ThreadLocalRandom random) {
+        int wanted = 1 + random.nextInt(Math.max(1, MAX_SEATS_PER_BOOKING));
+        List<Long> seatIds = new ArrayList<>(wanted);
+        int size = layout.size();
+        if (size == 0) {
+            return seatIds;
+        }
+        int first = random.nextInt(size);
+        for (int i = 0; i < size && seatIds.size() < wanted; i++) {
+            int index = (first + i) % size;
+            long seatId = layout.getSeatId(index);
+            if (layout.isActive(index) && !availability.isBooked(seatId)) {
+                seatIds.add(seatId);
+            }
+        }
+        return seatIds;
+    }
+
+    private long record(int step, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        latencies[step].recordNanos(elapsed);
+        return elapsed;
+    }
+
+    private static void think(ThreadLocalRandom random) throws InterruptedException {
+        if (THINK_MILLIS > 0) {
+            // Exponentially distributed, capped at ten times the mean
+            double millis = Math.min(-Math.log(1 - random.nextDouble()) * THINK_MILLIS, THINK_MILLIS * 10.0);
+            sleepNanos((long) (millis * 1_000_000));
+        }
+    }
+
+    private static void sleepNanos(long nanos) throws InterruptedException {
+        if (nanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        }
+    }
+
+    private static long seatKey(long showId, long seatId) {
+        return showId * (BenchmarkDatabase.THEATERS * (long) BenchmarkDatabase.SEATS_PER_THEATER + 1) + seatId;
+    }
+
+    private void samplePool() {
+        maxPendingThreads.accumulateAndGet(pendingThreads(), Math::max);
+    }
+
+    private static int pendingThreads() {
+        int pending = 0;
+        for (PoolMetrics pool : Metrics.getPools()) {
+            pending += pool.getPendingThreads();
+        }
+        return pending;
+    }
+
+    /**
+     * Print the results. Returns false if any seat was sold twice or a client hit an error.
+     */
+    private boolean report(double seconds) throws SQLException {
+        long completed = bookings.sum();
+        System.out.println();
+        System.out.printf("Ran %.1f s with %d clients%n", seconds, CLIENTS);
+        System.out.printf("Throughput: %.1f bookings/s, %.1f seats/s (%d bookings, %d seats)%n",
+                completed / seconds, bookedSeats.sum() / seconds, completed, bookedSeats.sum());
+        System.out.printf("Outcomes: %d booked, %d sold out, %d lost the hold race, %d failed to confirm, %d failed logins, %d errors%n",
+                completed, soldOut.sum(), lostHolds.sum(), failedConfirms.sum(), failedLogins.sum(), errors.sum());
+
+        System.out.println();
+        System.out.printf("%-10s %10s %10s %10s %10s %10s %10s%n", "step", "count", "mean ms", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (int i = 0; i < STEPS.length; i++) {
+            LatencyHistogram histogram = latencies[i];
+            System.out.printf("%-10s %10d %10.2f %10.2f %10.2f %10.2f %10.2f%n", STEPS[i], histogram.getCount(),
+                    histogram.getMeanMicros() / 1000, histogram.getPercentileMicros(50) / 1000.0,
+                    histogram.getPercentileMicros(99) / 1000.0, histogram.getPercentileMicros(99.9) / 1000.0,
+                    histogram.getMaxMicros() / 1000.0);
+        }
+
+        System.out.println();
+        for (PoolMetrics pool : Metrics.getPools()) {
+            System.out.printf("Pool %s: %d max connections, %d acquisitions, wait p99 %.2f ms, max %.2f ms, %d timeouts, up to %d threads waiting%n",
+                    pool.getPoolName(), pool.getMaxConnections(), pool.getAcquisitions(), pool.getWaitP99Millis(),
+                    pool.getWaitMaxMillis(), pool.getTimeouts(), maxPendingThreads.get());
+        }
+        long repositoryErrors = 0;
+        for (OperationMetrics operation : Metrics.getOperations()) {
+            repositoryErrors += operation.getErrors();
+        }
+        System.out.printf("Repository errors: %d%n", repositoryErrors);
+
+        System.out.println();
+        long duplicates = countDuplicateBookings();
+        System.out.printf("Double bookings: %d seen by clients, %d (show, seat) pairs confirmed more than once in the database%n",
+                doubleBookings.sum(), duplicates);
+        boolean passed = true;
+        if (doubleBookings.sum() > 0 || duplicates > 0) {
+            System.out.println("FAILED: seats were sold twice");
+            passed = false;
+        }
+        if (errors.sum() > 0) {
+            System.out.printf("FAILED: %d client errors%n", errors.sum());
+            passed = false;
+        }
+        return passed;
+    }
+
+    private static long countDuplicateBookings() throws SQLException {
+        String sql = "SELECT COUNT(*) FROM (SELECT show_id, seat_id FROM bookings WHERE status = 'CONFIRMED' " +
+                "AND show_id > " + BenchmarkDatabase.BOOKED_SHOWS + " GROUP BY show_id, seat_id HAVING COUNT(*) > 1) d";
+        try (Connection conn = DatabaseUtil.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.ticketly.benchmarks;
+
+import com.ticketly.dao.BookingRepository;
+import com.ticketly.dao.SeatRepository;
+import com.ticketly.dao.ShowRepository;
+import com.ticketly.dao.UserRepository;
+import com.ticketly.model.Booking;
+import com.ticketly.model.Show;
+import com.ticketly.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read paths of the repositories, each against a randomly chosen row of the seeded database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-Dlogback.configurationFile=benchmark-logback.xml"})
+public class RepositoryBenchmark {
+    private ShowRepository showRepository;
+    private SeatRepository seatRepository;
+    private BookingRepository bookingRepository;
+    private UserRepository userRepository;
+
+    @Setup
+    public void setUp() {
+        BenchmarkDatabase.initialize();
+        showRepository = new ShowRepository();
+        seatRepository = new SeatRepository();
+        bookingRepository = new BookingRepository();
+        userRepository = new UserRepository();
+    }
+
+    @Benchmark
+    public List<Show> findShowsByMovieId() {
+        return showRepository.findByMovieId(BenchmarkDatabase.movieId(random(BenchmarkDatabase.MOVIES)));
+    }
+
+    @Benchmark
+    public boolean isSeatBooked() {
+        long showId = BenchmarkDatabase.bookedShowId(random(BenchmarkDatabase.BOOKED_SHOWS));
+        return seatRepository.isSeatBooked(showId, BenchmarkDatabase.seatId(showId, random(BenchmarkDatabase.SEATS_PER_THEATER)));
+    }
+
+    @Benchmark
+    public List<Booking> findBookingsByUserId() {
+        return bookingRepository.findByUserId(BenchmarkDatabase.userId(random(BenchmarkDatabase.USERS)));
+    }
+
+    @Benchmark
+    public List<Booking> findRecentBookingsByUserId() {
+        return bookingRepository.findRecentByUserId(BenchmarkDatabase.userId(random(BenchmarkDatabase.USERS)), 20);
+    }
+
+    @Benchmark
+    public Optional<User> findUserByUsername() {
+        return userRepository.findByUsername(BenchmarkDatabase.username(random(BenchmarkDatabase.USERS)));
+    }
+
+    @Benchmark
+    @Threads(8)
+    public List<Show> findShowsByMovieIdConcurrent() {
+        return findShowsByMovieId();
+    }
+
+    private static int random(int bound) {
+        return ThreadLocalRandom.current().nextInt(bound);
+    }
+}
@@ -0,0 +1,35 @@
+package com.ticketly;
+
+import com.ticketly.service.ShowScheduleImporter;
+
+import java.nio.file.Path;
+
+/**
+ * Command line show schedule import: {@code ImportShows <schedule.csv|schedule.jsonl> [chunkSize]}.
+ * Prints progress after every committed chunk and each rejected row with its line number.
+ */
+public class ImportShows {
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: ImportShows <schedule.csv|schedule.jsonl> [chunkSize]");
+            System.exit(2);
+        }
+        Path file = Path.of(args[0]);
+        int chunkSize = args.length > 1 ? Integer.parseInt(args[1]) : ShowScheduleImporter.DEFAULT_CHUNK_SIZE;
+
+        ShowScheduleImporter.Result result = new ShowScheduleImporter(chunkSize).importFile(file, new ShowScheduleImporter.Listener() {
+            @Override
+            public void onProgress(long read, long imported, long rejected) {
+                System.out.println("Read " + read + ", imported " + imported + ", rejected " + rejected);
+            }
+
+            @Override
+            public void onRejected(ShowScheduleImporter.Reject reject) {
+                System.err.println("Rejected " + reject);
+            }
+        });
+
+        System.out.println("Done: " + result);
+        System.exit(result.isComplete() ? 0 : 1);
+    }
+}
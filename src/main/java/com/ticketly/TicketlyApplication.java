@@ -2,6 +2,8 @@ package com.ticketly;
 
 import com.ticketly.util.DatabaseUtil;
 import com.ticketly.util.SceneManager;
+import com.ticketly.util.Startup;
+import javafx.animation.AnimationTimer;
 import javafx.application.Application;
 import javafx.stage.Stage;
 import org.slf4j.Logger;
@@ -19,11 +21,16 @@ public class TicketlyApplication extends Application {
         try {
             logger.info("Starting Ticketly Application...");
 
-            // Test database connection
-            if (DatabaseUtil.testConnection()) {
-                logger.info("Database connection is working");
-            } else {
-                logger.error("Database connection failed!");
+            // Connect to the database and warm the caches in the background
+            Startup startup = Startup.getInstance();
+            startup.begin();
+            if (!Boolean.parseBoolean(System.getProperty("app.startup.async", "true"))) {
+                // Blocking mode: no window until the database has answered
+                if (startup.awaitDatabase()) {
+                    logger.info("Database connection is working");
+                } else {
+                    logger.error("Database connection failed!");
+                }
             }
 
             // Initialize scene manager
@@ -32,6 +39,15 @@ public class TicketlyApplication extends Application {
             // Show login screen
             SceneManager.showLoginScreen();
 
+            // Runs on the pulse that renders the login screen
+            new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    stop();
+                    startup.firstFrameShown();
+                }
+            }.start();
+
             logger.info("Ticketly Application started successfully");
 
         } catch (Exception e) {
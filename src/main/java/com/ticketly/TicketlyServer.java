@@ -0,0 +1,30 @@
+package com.ticketly;
+
+import com.ticketly.http.BookingHttpServer;
+import com.ticketly.util.DatabaseUtil;
+
+/**
+ * Headless launch of the HTTP booking endpoint, without the JavaFX toolkit:
+ * {@code TicketlyServer [port]}. The port defaults to {@code http.port} (8080); {@code http.threads}
+ * and {@code http.backlog} size the request pool and the accept queue.
+ */
+public class TicketlyServer {
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : Integer.getInteger("http.port", 8080);
+        int threads = Integer.getInteger("http.threads", 200);
+        int backlog = Integer.getInteger("http.backlog", 1024);
+
+        if (!DatabaseUtil.testConnection()) {
+            System.err.println("Database connection failed");
+            System.exit(1);
+        }
+
+        BookingHttpServer server = new BookingHttpServer(port, threads, backlog);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop(2);
+            DatabaseUtil.closeDataSource();
+        }, "ticketly-server-shutdown"));
+        server.start();
+        System.out.println("Ticketly HTTP server listening on port " + server.getPort());
+    }
+}
@@ -2,6 +2,8 @@ package com.ticketly.dao;
 
 import com.ticketly.model.Booking;
 import com.ticketly.util.DatabaseUtil;
+import com.ticketly.util.Metrics;
+import com.ticketly.util.OperationMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -11,38 +13,86 @@ import java.util.List;
 
 public class BookingRepository {
     private static final Logger logger = LoggerFactory.getLogger(BookingRepository.class);
+    private static final OperationMetrics FIND_BY_USER_ID = Metrics.operation(BookingRepository.class, "findByUserId");
+    private static final OperationMetrics FIND_BY_ID = Metrics.operation(BookingRepository.class, "findById");
+    private static final OperationMetrics FIND_PAGE_BY_USER_ID = Metrics.operation(BookingRepository.class, "findPageByUserId");
 
     public List<Booking> findByUserId(long userId) {
+        long start = FIND_BY_USER_ID.start();
         List<Booking> bookings = new ArrayList<>();
-        String sql = "SELECT * FROM bookings WHERE user_id = ? ORDER BY booking_date DESC";
+        String sql = "SELECT " + RowMappers.BOOKING_COLUMNS + " FROM bookings WHERE user_id = ? ORDER BY booking_date DESC";
 
-        try (Connection conn = DatabaseUtil.getConnection();
+        try (Connection conn = DatabaseUtil.getReadConnection(userId);
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setLong(1, userId);
             try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    Booking booking = new Booking();
-                    booking.setId(rs.getLong("id"));
-                    booking.setUserId(rs.getLong("user_id"));
-                    booking.setShowId(rs.getLong("show_id"));
-                    booking.setBookingDate(rs.getTimestamp("booking_date").toLocalDateTime());
-                    booking.setTotalAmount(rs.getBigDecimal("total_amount"));
-                    booking.setStatus(rs.getString("status"));
-                    booking.setPaymentStatus(rs.getString("payment_status"));
-                    bookings.add(booking);
-                }
+                bookings = RowMappers.mapAll(rs, RowMappers.BOOKING);
             }
 
         } catch (SQLException e) {
+            FIND_BY_USER_ID.recordError();
             logger.error("Error fetching bookings by user id", e);
         }
 
-        return bookings;
+        return FIND_BY_USER_ID.record(start, bookings);
+    }
+
+    /**
+     * First page of a user's booking history, most recent first.
+     */
+    public List<Booking> findRecentByUserId(long userId, int limit) {
+        return findPageByUserId(userId, null, limit);
+    }
+
+    /**
+     * Next page of a user's booking history: up to {@code limit} bookings older than
+     * {@code last}, the final booking of the previous page. Uses keyset pagination on
+     * (booking_date, id), so every page costs the same however deep the history is. Bookings
+     * without a date come last, as NULL sorts lowest in MySQL, ordered by id among themselves.
+     */
+    public List<Booking> findByUserIdBefore(long userId, Booking last, int limit) {
+        return findPageByUserId(userId, last, limit);
+    }
+
+    private List<Booking> findPageByUserId(long userId, Booking last, int limit) {
+        long start = FIND_PAGE_BY_USER_ID.start();
+        List<Booking> bookings = new ArrayList<>();
+        Timestamp lastDate = last != null && last.getBookingDate() != null ? Timestamp.valueOf(last.getBookingDate()) : null;
+        String after = last == null ? ""
+                : lastDate != null ? "AND (booking_date < ? OR (booking_date = ? AND id < ?) OR booking_date IS NULL) "
+                : "AND booking_date IS NULL AND id < ? ";
+        String sql = "SELECT " + RowMappers.BOOKING_COLUMNS + " FROM bookings WHERE user_id = ? " + after +
+                     "ORDER BY booking_date DESC, id DESC LIMIT ?";
+
+        try (Connection conn = DatabaseUtil.getReadConnection(userId);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            stmt.setLong(index++, userId);
+            if (lastDate != null) {
+                stmt.setTimestamp(index++, lastDate);
+                stmt.setTimestamp(index++, lastDate);
+            }
+            if (last != null) {
+                stmt.setLong(index++, last.getId());
+            }
+            stmt.setInt(index, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                bookings = RowMappers.mapAll(rs, RowMappers.BOOKING);
+            }
+
+        } catch (SQLException e) {
+            FIND_PAGE_BY_USER_ID.recordError();
+            logger.error("Error fetching booking page by user id: {}", userId, e);
+        }
+
+        return FIND_PAGE_BY_USER_ID.record(start, bookings);
     }
 
     public Booking findById(long id) {
-        String sql = "SELECT * FROM bookings WHERE id = ?";
+        long start = FIND_BY_ID.start();
+        String sql = "SELECT " + RowMappers.BOOKING_COLUMNS + " FROM bookings WHERE id = ?";
 
         try (Connection conn = DatabaseUtil.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -50,22 +100,15 @@ public class BookingRepository {
             stmt.setLong(1, id);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    Booking booking = new Booking();
-                    booking.setId(rs.getLong("id"));
-                    booking.setUserId(rs.getLong("user_id"));
-                    booking.setShowId(rs.getLong("show_id"));
-                    booking.setBookingDate(rs.getTimestamp("booking_date").toLocalDateTime());
-                    booking.setTotalAmount(rs.getBigDecimal("total_amount"));
-                    booking.setStatus(rs.getString("status"));
-                    booking.setPaymentStatus(rs.getString("payment_status"));
-                    return booking;
+                    return FIND_BY_ID.record(start, RowMappers.BOOKING.map(rs));
                 }
             }
 
         } catch (SQLException e) {
+            FIND_BY_ID.recordError();
             logger.error("Error fetching booking by id", e);
         }
 
-        return null;
+        return FIND_BY_ID.record(start, null);
     }
 }
@@ -0,0 +1,205 @@
+package com.ticketly.dao;
+
+import com.ticketly.model.Movie;
+import com.ticketly.model.Show;
+import com.ticketly.model.Theater;
+import com.ticketly.util.TtlCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-through cache for the movie, theater and show catalog, which changes a few times a day.
+ *
+ * Only static metadata is cached. The available seat count of every returned {@link Show} is
+ * filled in live: from the {@link SeatInventory} when the show is loaded there and was read from
+ * the bookings table in the last few seconds, otherwise with a single count query for all shows
+ * of the result that are not. Returned shows are copies; movie and theater lists are shared and
+ * must be treated as read-only.
+ *
+ * Code that changes the catalog should call the matching invalidate method.
+ */
+public class CatalogCache {
+    private static final long TTL_MINUTES = 10;
+    // Older inventory counts may miss bookings made by other application instances
+    private static final long LIVE_COUNT_MAX_AGE_SECONDS = 5;
+    private static final String ALL = "all";
+    private static final CatalogCache instance = new CatalogCache(
+            new MovieRepository(), new TheaterRepository(), new ShowRepository(), SeatInventory.getInstance());
+
+    private final MovieRepository movieRepository;
+    private final TheaterRepository theaterRepository;
+    private final ShowRepository showRepository;
+    private final SeatInventory inventory;
+
+    private final TtlCache<String, List<Movie>> movieLists = new TtlCache<>("movie-lists", 4, TTL_MINUTES, TimeUnit.MINUTES);
+    private final TtlCache<Integer, Movie> movies = new TtlCache<>("movies", 512, TTL_MINUTES, TimeUnit.MINUTES);
+    private final TtlCache<String, List<Theater>> theaterLists = new TtlCache<>("theater-lists", 256, TTL_MINUTES, TimeUnit.MINUTES);
+    private final TtlCache<String, List<Show>> showLists = new TtlCache<>("show-lists", 1024, TTL_MINUTES, TimeUnit.MINUTES);
+    private final TtlCache<Long, Show> shows = new TtlCache<>("shows", 4096, TTL_MINUTES, TimeUnit.MINUTES);
+
+    CatalogCache(MovieRepository movieRepository, TheaterRepository theaterRepository,
+                 ShowRepository showRepository, SeatInventory inventory) {
+        this.movieRepository = movieRepository;
+        this.theaterRepository = theaterRepository;
+        this.showRepository = showRepository;
+        this.inventory = inventory;
+    }
+
+    public static CatalogCache getInstance() {
+        return instance;
+    }
+
+    public List<Movie> findAllMovies() {
+        return orEmpty(movieLists.get(ALL, key -> cacheable(movieRepository.findAll())));
+    }
+
+    public Movie findMovieById(int id) {
+        return movies.get(id, movieRepository::findById);
+    }
+
+    public List<Theater> findAllTheaters() {
+        return orEmpty(theaterLists.get(ALL, key -> cacheable(theaterRepository.findAll())));
+    }
+
+    public List<Theater> findTheatersByMovieId(long movieId) {
+        return orEmpty(theaterLists.get(movieKey(movieId), key -> cacheable(theaterRepository.findByMovieId(movieId))));
+    }
+
+    public List<Show> findShowsByMovieId(long movieId) {
+        String key = movieKey(movieId);
+        List<Show> cached = showLists.getIfPresent(key);
+        if (cached != null) {
+            return withLiveAvailability(cached);
+        }
+        return cacheShows(key, showRepository.findByMovieId(movieId));
+    }
+
+    public List<Show> findShowsByMovieIdAndTheaterId(long movieId, long theaterId) {
+        String key = movieKey(movieId) + ":" + theaterId;
+        List<Show> cached = showLists.getIfPresent(key);
+        if (cached != null) {
+            return withLiveAvailability(cached);
+        }
+        return cacheShows(key, showRepository.findByMovieIdAndTheaterId(movieId, theaterId));
+    }
+
+    public Show findShowById(long showId) {
+        Show cached = shows.getIfPresent(showId);
+        if (cached != null) {
+            return withLiveAvailability(List.of(cached)).get(0);
+        }
+        Show show = showRepository.findById(showId);
+        if (show == null) {
+            return null;
+        }
+        shows.put(showId, show);
+        return copyOf(show, show.getAvailableSeats());
+    }
+
+    public void invalidateMovies() {
+        movieLists.invalidateAll();
+        movies.invalidateAll();
+    }
+
+    public void invalidateTheaters() {
+        theaterLists.invalidateAll();
+        // Show rows carry the theater name
+        invalidateShows();
+    }
+
+    public void invalidateShowsForMovie(long movieId) {
+        String prefix = movieKey(movieId);
+        showLists.invalidateIf((key, list) -> key.equals(prefix) || key.startsWith(prefix + ":"));
+        theaterLists.invalidate(prefix);
+        shows.invalidateIf((showId, show) -> show.getMovieId() == movieId);
+    }
+
+    public void invalidateShows() {
+        showLists.invalidateAll();
+        shows.invalidateAll();
+        theaterLists.invalidateIf((key, list) -> !ALL.equals(key));
+    }
+
+    public void invalidateAll() {
+        movieLists.invalidateAll();
+        movies.invalidateAll();
+        theaterLists.invalidateAll();
+        showLists.invalidateAll();
+        shows.invalidateAll();
+    }
+
+    /**
+     * The underlying caches, for reporting hit and miss statistics.
+     */
+    public List<TtlCache<?, ?>> getCaches() {
+        return List.of(movieLists, movies, theaterLists, showLists, shows);
+    }
+
+    @Override
+    public String toString() {
+        return "CatalogCache" + getCaches();
+    }
+
+    private List<Show> cacheShows(String key, List<Show> loaded) {
+        if (!loaded.isEmpty()) {
+            showLists.put(key, List.copyOf(loaded));
+            for (Show show : loaded) {
+                shows.put(show.getId(), show);
+            }
+        }
+        // Freshly loaded rows already carry a live count
+        List<Show> result = new ArrayList<>(loaded.size());
+        for (Show show : loaded) {
+            result.add(copyOf(show, show.getAvailableSeats()));
+        }
+        return result;
+    }
+
+    private List<Show> withLiveAvailability(List<Show> cached) {
+        List<Long> unloaded = new ArrayList<>();
+        int[] available = new int[cached.size()];
+        for (int i = 0; i < cached.size(); i++) {
+            available[i] = inventory.availableSeats(cached.get(i).getId(), LIVE_COUNT_MAX_AGE_SECONDS, TimeUnit.SECONDS);
+            if (available[i] < 0) {
+                unloaded.add(cached.get(i).getId());
+            }
+        }
+        Map<Long, Integer> counts = unloaded.isEmpty() ? Map.of() : showRepository.countAvailableSeats(unloaded);
+
+        List<Show> result = new ArrayList<>(cached.size());
+        for (int i = 0; i < cached.size(); i++) {
+            Show show = cached.get(i);
+            int seats = available[i] >= 0 ? available[i] : counts.getOrDefault(show.getId(), show.getAvailableSeats());
+            result.add(copyOf(show, seats));
+        }
+        return result;
+    }
+
+    private static Show copyOf(Show show, int availableSeats) {
+        Show copy = new Show();
+        copy.setId(show.getId());
+        copy.setMovieId(show.getMovieId());
+        copy.setTheaterId(show.getTheaterId());
+        copy.setShowTime(show.getShowTime());
+        copy.setTheaterName(show.getTheaterName());
+        copy.setPrice(show.getPrice());
+        copy.setAvailableSeats(availableSeats);
+        return copy;
+    }
+
+    private static String movieKey(long movieId) {
+        return "movie:" + movieId;
+    }
+
+    // Repositories return an empty list on database errors, so empty results are not cached
+    private static <T> List<T> cacheable(List<T> list) {
+        return list.isEmpty() ? null : List.copyOf(list);
+    }
+
+    private static <T> List<T> orEmpty(List<T> list) {
+        return list != null ? list : List.of();
+    }
+}
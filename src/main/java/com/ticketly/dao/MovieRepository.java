@@ -2,6 +2,8 @@ package com.ticketly.dao;
 
 import com.ticketly.model.Movie;
 import com.ticketly.util.DatabaseUtil;
+import com.ticketly.util.Metrics;
+import com.ticketly.util.OperationMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -14,59 +16,47 @@ import java.util.List;
 
 public class MovieRepository {
     private static final Logger logger = LoggerFactory.getLogger(MovieRepository.class);
+    private static final OperationMetrics FIND_ALL = Metrics.operation(MovieRepository.class, "findAll");
+    private static final OperationMetrics FIND_BY_ID = Metrics.operation(MovieRepository.class, "findById");
 
     public List<Movie> findAll() {
+        long start = FIND_ALL.start();
         List<Movie> movies = new ArrayList<>();
-        String sql = "SELECT * FROM movies ORDER BY title";
+        String sql = "SELECT " + RowMappers.MOVIE_COLUMNS + " FROM movies ORDER BY title";
 
-        try (Connection conn = DatabaseUtil.getConnection();
+        try (Connection conn = DatabaseUtil.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
 
-            while (rs.next()) {
-                Movie movie = new Movie();
-                movie.setId(rs.getInt("id"));
-                movie.setTitle(rs.getString("title"));
-                movie.setDescription(rs.getString("description"));
-                movie.setDurationMinutes(rs.getInt("duration_minutes"));
-                movie.setGenre(rs.getString("genre"));
-                movie.setReleaseDate(rs.getDate("release_date").toLocalDate());
-                movie.setPosterUrl(rs.getString("poster_url"));
-                movies.add(movie);
-            }
+            movies = RowMappers.mapAll(rs, RowMappers.MOVIE);
 
         } catch (SQLException e) {
+            FIND_ALL.recordError();
             logger.error("Error fetching movies", e);
         }
 
-        return movies;
+        return FIND_ALL.record(start, movies);
     }
 
     public Movie findById(int id) {
-        String sql = "SELECT * FROM movies WHERE id = ?";
+        long start = FIND_BY_ID.start();
+        String sql = "SELECT " + RowMappers.MOVIE_COLUMNS + " FROM movies WHERE id = ?";
 
-        try (Connection conn = DatabaseUtil.getConnection();
+        try (Connection conn = DatabaseUtil.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setInt(1, id);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    Movie movie = new Movie();
-                    movie.setId(rs.getInt("id"));
-                    movie.setTitle(rs.getString("title"));
-                    movie.setDescription(rs.getString("description"));
-                    movie.setDurationMinutes(rs.getInt("duration_minutes"));
-                    movie.setGenre(rs.getString("genre"));
-                    movie.setReleaseDate(rs.getDate("release_date").toLocalDate());
-                    movie.setPosterUrl(rs.getString("poster_url"));
-                    return movie;
+                    return FIND_BY_ID.record(start, RowMappers.MOVIE.map(rs));
                 }
             }
 
         } catch (SQLException e) {
+            FIND_BY_ID.recordError();
             logger.error("Error fetching movie by id", e);
         }
 
-        return null;
+        return FIND_BY_ID.record(start, null);
     }
 }
@@ -0,0 +1,138 @@
+package com.ticketly.dao;
+
+import com.ticketly.model.Booking;
+import com.ticketly.model.Movie;
+import com.ticketly.model.Seat;
+import com.ticketly.model.Show;
+import com.ticketly.model.Theater;
+import com.ticketly.model.User;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Column lists and row mappers shared by the repositories.
+ *
+ * Each mapper reads its columns by position, in the order of the matching column list, so
+ * there is no per-row column name lookup. Queries must select exactly that list, optionally
+ * qualified with a table alias via {@link #qualified(String, String)}; extra columns can
+ * only follow it.
+ */
+final class RowMappers {
+    static final String MOVIE_COLUMNS = "id, title, description, duration_minutes, genre, release_date, poster_url";
+    static final String THEATER_COLUMNS = "id, name, location, total_seats, created_at";
+    static final String SEAT_COLUMNS = "id, theater_id, row_name, seat_number, seat_type, is_active, created_at";
+    static final String BOOKING_COLUMNS = "id, user_id, show_id, booking_date, total_amount, status, payment_status, seat_id";
+    static final String USER_COLUMNS = "id, username, email, password_hash, full_name, phone, role, is_active, created_at, updated_at";
+    // Shows are always read together with the theater name and the number of available seats
+    static final String SHOW_COLUMNS = "id, movie_id, theater_id, show_date, show_time, price_regular";
+
+    static final RowMapper<Movie> MOVIE = rs -> {
+        Movie movie = new Movie();
+        movie.setId(rs.getInt(1));
+        movie.setTitle(rs.getString(2));
+        movie.setDescription(rs.getString(3));
+        movie.setDurationMinutes(rs.getInt(4));
+        movie.setGenre(rs.getString(5));
+        movie.setReleaseDate(toLocalDate(rs.getDate(6)));
+        movie.setPosterUrl(rs.getString(7));
+        return movie;
+    };
+
+    static final RowMapper<Theater> THEATER = rs -> {
+        Theater theater = new Theater();
+        theater.setId(rs.getLong(1));
+        theater.setName(rs.getString(2));
+        theater.setLocation(rs.getString(3));
+        theater.setTotalSeats(rs.getInt(4));
+        theater.setCreatedAt(toLocalDateTime(rs.getTimestamp(5)));
+        return theater;
+    };
+
+    static final RowMapper<Seat> SEAT = rs -> {
+        Seat seat = new Seat();
+        seat.setId(rs.getLong(1));
+        seat.setTheaterId(rs.getLong(2));
+        seat.setSeatRow(rs.getString(3));
+        seat.setSeatNumber(rs.getInt(4));
+        seat.setSeatType(rs.getString(5));
+        seat.setActive(rs.getBoolean(6));
+        seat.setCreatedAt(toLocalDateTime(rs.getTimestamp(7)));
+        return seat;
+    };
+
+    static final RowMapper<Booking> BOOKING = rs -> {
+        Booking booking = new Booking();
+        booking.setId(rs.getLong(1));
+        booking.setUserId(rs.getLong(2));
+        booking.setShowId(rs.getLong(3));
+        booking.setBookingDate(toLocalDateTime(rs.getTimestamp(4)));
+        booking.setTotalAmount(rs.getBigDecimal(5));
+        booking.setStatus(rs.getString(6));
+        booking.setPaymentStatus(rs.getString(7));
+        booking.setSeatId(rs.getLong(8));
+        return booking;
+    };
+
+    static final RowMapper<User> USER = rs -> {
+        User user = new User();
+        user.setId(rs.getLong(1));
+        user.setUsername(rs.getString(2));
+        user.setEmail(rs.getString(3));
+        user.setPassword(rs.getString(4));
+        user.setFullName(rs.getString(5));
+        user.setPhone(rs.getString(6));
+        user.setRole(rs.getString(7));
+        user.setIsActive(rs.getBoolean(8));
+        user.setCreatedAt(toLocalDateTime(rs.getTimestamp(9)));
+        user.setUpdatedAt(toLocalDateTime(rs.getTimestamp(10)));
+        return user;
+    };
+
+    /**
+     * Expects {@link #SHOW_COLUMNS} followed by the theater name and the available seat count.
+     */
+    static final RowMapper<Show> SHOW = rs -> {
+        Show show = new Show();
+        show.setId(rs.getLong(1));
+        show.setMovieId(rs.getLong(2));
+        show.setTheaterId(rs.getLong(3));
+        show.setShowTime(LocalDateTime.of(rs.getDate(4).toLocalDate(), rs.getTime(5).toLocalTime()));
+        show.setPrice(rs.getBigDecimal(6));
+        show.setTheaterName(rs.getString(7));
+        show.setAvailableSeats(rs.getInt(8));
+        return show;
+    };
+
+    private RowMappers() {
+    }
+
+    /**
+     * Prefix every column of the list with the table alias, e.g. for joins.
+     */
+    static String qualified(String alias, String columns) {
+        return alias + "." + columns.replace(", ", ", " + alias + ".");
+    }
+
+    static <T> List<T> mapAll(ResultSet rs, RowMapper<T> mapper) throws SQLException {
+        List<T> rows = new ArrayList<>();
+        while (rs.next()) {
+            rows.add(mapper.map(rs));
+        }
+        return rows;
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date != null ? date.toLocalDate() : null;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
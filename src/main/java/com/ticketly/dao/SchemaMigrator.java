@@ -0,0 +1,476 @@
+package com.ticketly.dao;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Versioned schema migrations, run in order by {@code DatabaseUtil} before it hands out the first
+ * connection.
+ *
+ * Applied versions are recorded in {@code schema_version}. Every step looks at the live schema
+ * before changing it (table, column or index already present), because MySQL commits DDL
+ * implicitly and a migration cannot be rolled back as a whole. A migration that failed half way,
+ * or a database created by hand from SETUP_MYSQL.md, is brought up to date by running again.
+ * On MySQL, instances starting at the same time take turns through a named lock.
+ *
+ * {@link #verify()} then checks that every table has the columns the repositories select and
+ * that the indexes the hot queries rely on exist.
+ */
+public class SchemaMigrator {
+    private static final Logger logger = LoggerFactory.getLogger(SchemaMigrator.class);
+
+    private static final String LOCK_NAME = "ticketly_schema_migration";
+    private static final int LOCK_TIMEOUT_SECONDS = 60;
+    // Seats listed in the error when version 4 finds double bookings; the log has all of them
+    private static final int MAX_REPORTED_DUPLICATES = 10;
+
+    private interface Step {
+        void apply(Schema schema) throws SQLException;
+    }
+
+    private static final class Migration {
+        private final int version;
+        private final String description;
+        private final Step step;
+
+        Migration(int version, String description, Step step) {
+            this.version = version;
+            this.description = description;
+            this.step = step;
+        }
+    }
+
+    private static final List<Migration> MIGRATIONS = List.of(
+            new Migration(1, "Create tables", SchemaMigrator::createTables),
+            new Migration(2, "Rename documented columns to the names the repositories query", SchemaMigrator::alignColumns),
+            new Migration(3, "Indexes for show listings, seat availability and booking history", SchemaMigrator::addIndexes),
+            new Migration(4, "At most one confirmed booking per seat and show", SchemaMigrator::uniqueConfirmedSeat),
+            new Migration(5, "Replication heartbeat for read replica routing", SchemaMigrator::createHeartbeat));
+
+    // Columns each table must have: everything the repositories select, insert or filter on
+    private static final Map<String, String> EXPECTED_COLUMNS = new LinkedHashMap<>();
+    static {
+        EXPECTED_COLUMNS.put("users", RowMappers.USER_COLUMNS);
+        EXPECTED_COLUMNS.put("theaters", RowMappers.THEATER_COLUMNS);
+        EXPECTED_COLUMNS.put("movies", RowMappers.MOVIE_COLUMNS);
+        EXPECTED_COLUMNS.put("shows", RowMappers.SHOW_COLUMNS + ", price_premium, price_vip, is_active");
+        EXPECTED_COLUMNS.put("seats", RowMappers.SEAT_COLUMNS);
+        EXPECTED_COLUMNS.put("bookings", RowMappers.BOOKING_COLUMNS + ", confirmed_seat_id");
+        EXPECTED_COLUMNS.put("replica_heartbeat", "id, beat_at");
+    }
+
+    // Leading columns of the indexes the queries need, as "table: columns"
+    private static final List<String> EXPECTED_INDEXES = List.of(
+            "shows: movie_id, show_date, show_time",
+            "shows: theater_id, show_date, show_time",
+            "seats: theater_id, row_name, seat_number",
+            "bookings: show_id, status, seat_id",
+            "bookings: user_id, booking_date, id",
+            "bookings: seat_id");
+
+    private final DataSource dataSource;
+
+    public SchemaMigrator(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public static int getLatestVersion() {
+        return MIGRATIONS.get(MIGRATIONS.size() - 1).version;
+    }
+
+    /**
+     * Apply every migration that has not been applied yet and return how many ran. Stops at the
+     * first failure; the versions before it stay recorded.
+     */
+    public int migrate() throws SQLException {
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(true);
+            Schema schema = new Schema(conn);
+            boolean locked = schema.isMySql() && lock(conn);
+            try {
+                schema.execute("CREATE TABLE IF NOT EXISTS schema_version (" +
+                        "version INT PRIMARY KEY, " +
+                        "description VARCHAR(200) NOT NULL, " +
+                        "execution_ms BIGINT NOT NULL, " +
+                        "installed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+                Set<Integer> applied = appliedVersions(conn);
+                int count = 0;
+                for (Migration migration : MIGRATIONS) {
+                    if (applied.contains(migration.version)) {
+                        continue;
+                    }
+                    long start = System.nanoTime();
+                    migration.step.apply(schema);
+                    long millis = (System.nanoTime() - start) / 1_000_000;
+                    record(conn, migration, millis);
+                    logger.info("Applied schema migration {}: {} ({} ms)", migration.version, migration.description, millis);
+                    count++;
+                }
+                if (count == 0) {
+                    logger.debug("Schema is up to date at version {}", getLatestVersion());
+                }
+                return count;
+            } finally {
+                if (locked) {
+                    unlock(conn);
+                }
+            }
+        }
+    }
+
+    /**
+     * Compare the live schema with what the repositories expect. Returns one message per
+     * problem: missing migrations, tables, columns or indexes. Empty when everything matches.
+     */
+    public List<String> verify() throws SQLException {
+        List<String> problems = new ArrayList<>();
+        try (Connection conn = dataSource.getConnection()) {
+            Schema schema = new Schema(conn);
+            if (!schema.hasTable("schema_version")) {
+                problems.add("Schema has not been migrated (no schema_version table)");
+            } else {
+                Set<Integer> applied = appliedVersions(conn);
+                for (Migration migration : MIGRATIONS) {
+                    if (!applied.contains(migration.version)) {
+                        problems.add("Migration " + migration.version + " not applied: " + migration.description);
+                    }
+                }
+                for (Integer version : applied) {
+                    if (version > getLatestVersion()) {
+                        problems.add("Schema version " + version + " is newer than this build (" + getLatestVersion() + ")");
+                    }
+                }
+            }
+            for (Map.Entry<String, String> table : EXPECTED_COLUMNS.entrySet()) {
+                if (!schema.hasTable(table.getKey())) {
+                    problems.add("Missing table " + table.getKey());
+                    continue;
+                }
+                Set<String> columns = schema.columns(table.getKey());
+                for (String column : table.getValue().split(",\\s*")) {
+                    if (!columns.contains(column)) {
+                        problems.add("Missing column " + table.getKey() + "." + column);
+                    }
+                }
+            }
+            for (String index : EXPECTED_INDEXES) {
+                String table = index.substring(0, index.indexOf(':'));
+                String[] columns = index.substring(index.indexOf(':') + 1).trim().split(",\\s*");
+                if (schema.hasTable(table) && !schema.hasIndexOn(table, false, columns)) {
+                    problems.add("Missing index on " + table + " (" + String.join(", ", columns) + ")");
+                }
+            }
+            if (schema.hasTable("bookings") && !schema.hasIndexOn("bookings", true, "show_id", "confirmed_seat_id")) {
+                problems.add("Missing unique index on bookings (show_id, confirmed_seat_id)");
+            }
+        }
+        return problems;
+    }
+
+    // Version 1: the schema from SETUP_MYSQL.md, with the column names the repositories use
+    private static void createTables(Schema schema) throws SQLException {
+        schema.execute("CREATE TABLE IF NOT EXISTS users (" +
+                "id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "username VARCHAR(50) UNIQUE NOT NULL, " +
+                "password_hash VARCHAR(255) NOT NULL, " +
+                "email VARCHAR(100) NOT NULL, " +
+                "full_name VARCHAR(100) NOT NULL, " +
+                "phone VARCHAR(20), " +
+                "role VARCHAR(20) DEFAULT 'USER', " +
+                "is_active BOOLEAN DEFAULT TRUE, " +
+                "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+        schema.execute("CREATE TABLE IF NOT EXISTS theaters (" +
+                "id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "name VARCHAR(100) NOT NULL, " +
+                "location VARCHAR(255), " +
+                "total_seats INT, " +
+                "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+        schema.execute("CREATE TABLE IF NOT EXISTS movies (" +
+                "id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "title VARCHAR(255) NOT NULL, " +
+                "description TEXT, " +
+                "duration_minutes INT NOT NULL, " +
+                "genre VARCHAR(50), " +
+                "release_date DATE, " +
+                "poster_url VARCHAR(500), " +
+                "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+        schema.execute("CREATE TABLE IF NOT EXISTS shows (" +
+                "id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "movie_id BIGINT NOT NULL, " +
+                "theater_id BIGINT NOT NULL, " +
+                "show_date DATE NOT NULL, " +
+                "show_time TIME NOT NULL, " +
+                "price_regular DECIMAL(10,2) NOT NULL, " +
+                "price_premium DECIMAL(10,2), " +
+                "price_vip DECIMAL(10,2), " +
+                "is_active BOOLEAN DEFAULT TRUE, " +
+                "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                "FOREIGN KEY (movie_id) REFERENCES movies(id), " +
+                "FOREIGN KEY (theater_id) REFERENCES theaters(id))");
+        schema.execute("CREATE TABLE IF NOT EXISTS seats (" +
+                "id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "theater_id BIGINT NOT NULL, " +
+                "row_name VARCHAR(5) NOT NULL, " +
+                "seat_number INT NOT NULL, " +
+                "seat_type ENUM('REGULAR', 'PREMIUM', 'VIP') DEFAULT 'REGULAR', " +
+                "is_active BOOLEAN DEFAULT TRUE, " +
+                "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                "FOREIGN KEY (theater_id) REFERENCES theaters(id), " +
+                "UNIQUE KEY unique_seat_theater (theater_id, row_name, seat_number))");
+        schema.execute("CREATE TABLE IF NOT EXISTS bookings (" +
+                "id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "user_id BIGINT NOT NULL, " +
+                "show_id BIGINT NOT NULL, " +
+                "seat_id BIGINT NOT NULL, " +
+                "booking_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                "total_amount DECIMAL(10,2) NOT NULL, " +
+                "payment_status ENUM('PENDING', 'COMPLETED', 'FAILED') DEFAULT 'PENDING', " +
+                "status ENUM('CONFIRMED', 'CANCELLED') DEFAULT 'CONFIRMED', " +
+                "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                "FOREIGN KEY (user_id) REFERENCES users(id), " +
+                "FOREIGN KEY (show_id) REFERENCES shows(id), " +
+                "FOREIGN KEY (seat_id) REFERENCES seats(id))");
+    }
+
+    // Version 2: databases set up from older copies of SETUP_MYSQL.md use different column names
+    private static void alignColumns(Schema schema) throws SQLException {
+        schema.renameColumn("seats", "seat_row", "row_name", "VARCHAR(5) NOT NULL");
+        schema.renameColumn("theaters", "capacity", "total_seats", "INT");
+        schema.addColumn("users", "phone", "VARCHAR(20)");
+        schema.addColumn("users", "is_active", "BOOLEAN DEFAULT TRUE");
+    }
+
+    // Version 3: show listings sort by date and time, seat availability filters bookings by
+    // (show_id, status) and reads seat_id from the index, booking history pages by date
+    private static void addIndexes(Schema schema) throws SQLException {
+        schema.createIndex("shows", "idx_shows_movie_time", false, "movie_id", "show_date", "show_time");
+        schema.createIndex("shows", "idx_shows_theater_time", false, "theater_id", "show_date", "show_time");
+        schema.createIndex("seats", "idx_seats_theater_row", false, "theater_id", "row_name", "seat_number");
+        schema.createIndex("bookings", "idx_bookings_show_status_seat", false, "show_id", "status", "seat_id");
+        schema.createIndex("bookings", "idx_bookings_user_date", false, "user_id", "booking_date", "id");
+        schema.createIndex("bookings", "idx_bookings_seat", false, "seat_id");
+    }
+
+    // Version 4: cancelled bookings keep their row, so the unique key is on a generated column
+    // that holds the seat id only while the booking is confirmed (NULLs never collide)
+    private static void uniqueConfirmedSeat(Schema schema) throws SQLException {
+        schema.addColumn("bookings", "confirmed_seat_id",
+                "BIGINT GENERATED ALWAYS AS (CASE WHEN status = 'CONFIRMED' THEN seat_id END)");
+        if (!schema.hasIndexOn("bookings", true, "show_id", "confirmed_seat_id")) {
+            checkNoDoubleBookings(schema);
+        }
+        schema.createIndex("bookings", "uk_bookings_confirmed_seat", true, "show_id", "confirmed_seat_id");
+    }
+
+    /**
+     * Seats sold twice before the unique key existed would make creating it fail with a bare
+     * duplicate key error. Name the bookings instead, so they can be cancelled by hand (see
+     * SETUP_MYSQL.md) and the migration run again.
+     */
+    private static void checkNoDoubleBookings(Schema schema) throws SQLException {
+        String sql = "SELECT b.show_id, b.seat_id, b.id FROM bookings b " +
+                "JOIN (SELECT show_id, seat_id FROM bookings WHERE status = 'CONFIRMED' " +
+                "GROUP BY show_id, seat_id HAVING COUNT(*) > 1) d ON b.show_id = d.show_id AND b.seat_id = d.seat_id " +
+                "WHERE b.status = 'CONFIRMED' ORDER BY b.show_id, b.seat_id, b.id";
+        Map<String, List<Long>> duplicates = new LinkedHashMap<>();
+        try (Statement stmt = schema.conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                duplicates.computeIfAbsent("show " + rs.getLong(1) + ", seat " + rs.getLong(2), key -> new ArrayList<>())
+                        .add(rs.getLong(3));
+            }
+        }
+        if (duplicates.isEmpty()) {
+            return;
+        }
+        List<String> seats = new ArrayList<>();
+        for (Map.Entry<String, List<Long>> seat : duplicates.entrySet()) {
+            String line = seat.getKey() + ": bookings " + seat.getValue();
+            logger.error("Seat confirmed more than once, {}", line);
+            if (seats.size() < MAX_REPORTED_DUPLICATES) {
+                seats.add(line);
+            }
+        }
+        throw new SQLException(duplicates.size() + " seats are confirmed more than once, so the unique key cannot be " +
+                "created. Cancel all but one booking of each seat and restart (see SETUP_MYSQL.md): " +
+                String.join("; ", seats) + (duplicates.size() > seats.size() ? "; ..." : ""));
+    }
+
+    // Version 5: written on the primary and read back from the replica to measure its lag
+    private static void createHeartbeat(Schema schema) throws SQLException {
+        schema.execute("CREATE TABLE IF NOT EXISTS replica_heartbeat (" +
+                "id INT PRIMARY KEY, " +
+                "beat_at BIGINT NOT NULL)");
+    }
+
+    private static Set<Integer> appliedVersions(Connection conn) throws SQLException {
+        Set<Integer> versions = new TreeSet<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version FROM schema_version")) {
+            while (rs.next()) {
+                versions.add(rs.getInt(1));
+            }
+        }
+        return versions;
+    }
+
+    private static void record(Connection conn, Migration migration, long millis) throws SQLException {
+        String sql = "INSERT INTO schema_version (version, description, execution_ms) VALUES (?, ?, ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, migration.version);
+            stmt.setString(2, migration.description);
+            stmt.setLong(3, millis);
+            stmt.executeUpdate();
+        }
+    }
+
+    private static boolean lock(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            stmt.setString(1, LOCK_NAME);
+            stmt.setInt(2, LOCK_TIMEOUT_SECONDS);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next() && rs.getInt(1) == 1) {
+                    return true;
+                }
+            }
+        }
+        throw new SQLException("Timed out waiting for another instance to finish migrating the schema");
+    }
+
+    private static void unlock(Connection conn) {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            stmt.setString(1, LOCK_NAME);
+            stmt.executeQuery().close();
+        } catch (SQLException e) {
+            logger.warn("Failed to release schema migration lock", e);
+        }
+    }
+
+    // The live schema as seen through JDBC metadata; names are compared in lower case
+    private static final class Schema {
+        private final Connection conn;
+        private final DatabaseMetaData meta;
+        private final String catalog;
+        private final String schemaName;
+
+        Schema(Connection conn) throws SQLException {
+            this.conn = conn;
+            this.meta = conn.getMetaData();
+            this.catalog = conn.getCatalog();
+            this.schemaName = conn.getSchema();
+        }
+
+        boolean isMySql() throws SQLException {
+            return "MySQL".equalsIgnoreCase(meta.getDatabaseProductName());
+        }
+
+        void execute(String sql) throws SQLException {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute(sql);
+            }
+        }
+
+        boolean hasTable(String table) throws SQLException {
+            try (ResultSet rs = meta.getTables(catalog, schemaName, identifier(table), new String[]{"TABLE"})) {
+                return rs.next();
+            }
+        }
+
+        Set<String> columns(String table) throws SQLException {
+            Set<String> columns = new HashSet<>();
+            try (ResultSet rs = meta.getColumns(catalog, schemaName, identifier(table), null)) {
+                while (rs.next()) {
+                    columns.add(rs.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+                }
+            }
+            return columns;
+        }
+
+        /**
+         * Whether some index starts with exactly these columns. Foreign keys and hand-made
+         * indexes count, so a migration never adds a second index for the same prefix.
+         */
+        boolean hasIndexOn(String table, boolean unique, String... columns) throws SQLException {
+            Map<String, List<String>> indexes = new LinkedHashMap<>();
+            Set<String> uniqueIndexes = new HashSet<>();
+            try (ResultSet rs = meta.getIndexInfo(catalog, schemaName, identifier(table), unique, false)) {
+                while (rs.next()) {
+                    String name = rs.getString("INDEX_NAME");
+                    String column = rs.getString("COLUMN_NAME");
+                    if (name == null || column == null) {
+                        continue;
+                    }
+                    List<String> indexColumns = indexes.computeIfAbsent(name, key -> new ArrayList<>());
+                    int position = rs.getShort("ORDINAL_POSITION");
+                    while (indexColumns.size() < position) {
+                        indexColumns.add(null);
+                    }
+                    indexColumns.set(position - 1, column.toLowerCase(Locale.ROOT));
+                    if (!rs.getBoolean("NON_UNIQUE")) {
+                        uniqueIndexes.add(name);
+                    }
+                }
+            }
+            List<String> wanted = Arrays.asList(columns);
+            for (Map.Entry<String, List<String>> index : indexes.entrySet()) {
+                List<String> indexColumns = index.getValue();
+                if (unique) {
+                    // A unique index only enforces the constraint if it has no extra columns
+                    if (uniqueIndexes.contains(index.getKey()) && indexColumns.equals(wanted)) {
+                        return true;
+                    }
+                } else if (indexColumns.size() >= wanted.size() && indexColumns.subList(0, wanted.size()).equals(wanted)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void createIndex(String table, String name, boolean unique, String... columns) throws SQLException {
+            if (hasIndexOn(table, unique, columns)) {
+                return;
+            }
+            execute("CREATE " + (unique ? "UNIQUE " : "") + "INDEX " + name + " ON " + table +
+                    " (" + String.join(", ", columns) + ")");
+        }
+
+        void addColumn(String table, String column, String definition) throws SQLException {
+            if (!columns(table).contains(column)) {
+                execute("ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition);
+            }
+        }
+
+        // CHANGE COLUMN rather than RENAME COLUMN, which MySQL only has since 8.0
+        void renameColumn(String table, String from, String to, String definition) throws SQLException {
+            Set<String> columns = columns(table);
+            if (columns.contains(from) && !columns.contains(to)) {
+                execute("ALTER TABLE " + table + " CHANGE COLUMN " + from + " " + to + " " + definition);
+            }
+        }
+
+        private String identifier(String name) throws SQLException {
+            if (meta.storesUpperCaseIdentifiers()) {
+                return name.toUpperCase(Locale.ROOT);
+            }
+            return meta.storesLowerCaseIdentifiers() ? name.toLowerCase(Locale.ROOT) : name;
+        }
+    }
+}
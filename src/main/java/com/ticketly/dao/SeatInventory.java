@@ -0,0 +1,371 @@
+package com.ticketly.dao;
+
+import com.ticketly.model.SeatAvailability;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-process seat inventory keyed by show id.
+ *
+ * Each show is loaded lazily from the bookings table into a compact bitmap holding two bits per
+ * seat (free, booked, or claimed locally but not yet persisted). Seats are claimed and released
+ * with compare-and-set on the bitmap words, so a double claim inside this JVM is rejected without
+ * a database round trip. The bookings table remains the source of truth: {@link #reconcile(long)}
+ * rebuilds the booked state from it, keeping local claims. Shows that go unused, typically
+ * because they have started, are dropped by {@link #evictIdle(long, TimeUnit)} and loaded again
+ * if they are needed after all; a claim that lands on a show while it is being dropped is moved
+ * to the reloaded one.
+ */
+public class SeatInventory {
+    private static final Logger logger = LoggerFactory.getLogger(SeatInventory.class);
+    private static final SeatInventory instance = new SeatInventory(new SeatRepository());
+
+    private static final long FREE = 0L;
+    private static final long BOOKED = 1L;
+    private static final long PENDING = 2L;
+    private static final long STATE_MASK = 3L;
+    private static final long HIGH_BITS = 0xAAAAAAAAAAAAAAAAL;
+    private static final long LOW_BITS = 0x5555555555555555L;
+
+    private final SeatRepository seatRepository;
+    private final ConcurrentMap<Long, ShowSeats> shows = new ConcurrentHashMap<>();
+
+    SeatInventory(SeatRepository seatRepository) {
+        this.seatRepository = seatRepository;
+    }
+
+    public static SeatInventory getInstance() {
+        return instance;
+    }
+
+    /**
+     * Claim every seat for the show or none of them. Claimed seats stay unavailable until they
+     * are either confirmed after persisting or released.
+     */
+    public boolean claim(long showId, Collection<Long> seatIds) {
+        while (true) {
+            ShowSeats seats = seatsFor(showId);
+            if (seats == null) {
+                return false;
+            }
+            List<Integer> claimed = new ArrayList<>(seatIds.size());
+            boolean complete = true;
+            for (Long seatId : seatIds) {
+                int index = seats.indexOf(seatId);
+                if (index < 0 || !seats.transition(index, FREE, PENDING)) {
+                    complete = false;
+                    break;
+                }
+                claimed.add(index);
+            }
+            // Read after the transitions: evictIdle marks a show before its last look for claims,
+            // so either it sees this claim and keeps the show, or this sees the mark
+            if (complete && !seats.evicted) {
+                return true;
+            }
+            for (int claimedIndex : claimed) {
+                seats.transition(claimedIndex, PENDING, FREE);
+            }
+            if (!seats.evicted) {
+                logger.debug("Seat claim rejected: showId={}, seats={}", showId, seatIds);
+                return false;
+            }
+            // The reloaded show would not know about a claim on the dropped one; claim there instead
+        }
+    }
+
+    /**
+     * Mark previously claimed seats as booked once they have been persisted.
+     */
+    public void confirm(long showId, Collection<Long> seatIds) {
+        ShowSeats seats = shows.get(showId);
+        if (seats == null) {
+            return;
+        }
+        // Before the transitions, so a reconcile that sees a seat booked also sees the new version
+        seats.version.incrementAndGet();
+        for (Long seatId : seatIds) {
+            int index = seats.indexOf(seatId);
+            if (index >= 0) {
+                seats.transition(index, PENDING, BOOKED);
+            }
+        }
+    }
+
+    /**
+     * Return previously claimed seats to the free pool.
+     */
+    public void release(long showId, Collection<Long> seatIds) {
+        ShowSeats seats = shows.get(showId);
+        if (seats == null) {
+            return;
+        }
+        for (Long seatId : seatIds) {
+            int index = seats.indexOf(seatId);
+            if (index >= 0) {
+                seats.transition(index, PENDING, FREE);
+            }
+        }
+    }
+
+    /**
+     * Return booked seats to the free pool once their bookings have been cancelled.
+     */
+    public void cancel(long showId, Collection<Long> seatIds) {
+        ShowSeats seats = shows.get(showId);
+        if (seats == null) {
+            return;
+        }
+        // A reconcile racing with the cancel merges, so the seat at worst stays booked until the next one
+        seats.version.incrementAndGet();
+        for (Long seatId : seatIds) {
+            int index = seats.indexOf(seatId);
+            if (index >= 0) {
+                seats.transition(index, BOOKED, FREE);
+            }
+        }
+    }
+
+    public boolean isTaken(long showId, long seatId) {
+        ShowSeats seats = seatsFor(showId);
+        if (seats == null) {
+            return false;
+        }
+        int index = seats.indexOf(seatId);
+        return index >= 0 && seats.state(index) != FREE;
+    }
+
+    /**
+     * Number of seats that are neither booked nor claimed, or -1 if the show is not loaded or was
+     * last read from the bookings table longer than {@code maxAge} ago: bookings made by other
+     * processes only show up here once the show is reconciled. Never touches the database.
+     */
+    public int availableSeats(long showId, long maxAge, TimeUnit unit) {
+        ShowSeats seats = shows.get(showId);
+        if (seats == null || System.nanoTime() - seats.syncedAt > unit.toNanos(maxAge)) {
+            return -1;
+        }
+        seats.touch();
+        int taken = 0;
+        for (int word = 0; word < seats.words.length(); word++) {
+            long current = seats.words.get(word);
+            taken += Long.bitCount((current | (current >>> 1)) & LOW_BITS);
+        }
+        return seats.seatIds.length - taken;
+    }
+
+    /**
+     * Refresh the show from the bookings table and return every seat that is booked or claimed.
+     * A show that is not loaded yet is loaded instead, so this is one query once the show is warm.
+     */
+    public SeatAvailability refresh(long showId) {
+        ShowSeats seats = shows.get(showId);
+        if (seats == null) {
+            seats = seatsFor(showId);
+        } else {
+            seats.touch();
+            reconcile(showId);
+        }
+        return seats == null ? SeatAvailability.empty(showId) : seats.snapshot(showId);
+    }
+
+    /**
+     * Rebuild the booked state of a loaded show from the bookings table, keeping local claims.
+     */
+    public void reconcile(long showId) {
+        ShowSeats seats = shows.get(showId);
+        if (seats == null) {
+            return;
+        }
+        try {
+            long version = seats.version.get();
+            long[] booked = seats.encode(seatRepository.loadBookedSeatIds(showId));
+            // A confirm that raced with the query may not be visible in its result, so only
+            // overwrite booked seats when no confirm happened in between; otherwise merge.
+            // Checked after reading each word: confirm bumps the version before it books.
+            boolean merge = false;
+            for (int word = 0; word < booked.length; word++) {
+                long current;
+                long next;
+                do {
+                    current = seats.words.get(word);
+                    merge = merge || seats.version.get() != version;
+                    long pendingSlots = pendingSlots(current);
+                    long base = merge ? (current | booked[word]) : booked[word];
+                    next = (current & pendingSlots) | (base & ~pendingSlots);
+                } while (!seats.words.compareAndSet(word, current, next));
+            }
+            seats.syncedAt = System.nanoTime();
+            logger.debug("Seat inventory reconciled: showId={}, merged={}", showId, merge);
+        } catch (SQLException e) {
+            logger.error("Error reconciling seat inventory: showId={}", showId, e);
+        }
+    }
+
+    /**
+     * Reconcile every loaded show, picking up bookings made by other processes.
+     */
+    public void reconcileAll() {
+        for (Long showId : shows.keySet()) {
+            reconcile(showId);
+        }
+    }
+
+    /**
+     * Drop the show, including any claims on it; for use when no holds are open, e.g. between
+     * benchmark runs.
+     */
+    public void evict(long showId) {
+        shows.computeIfPresent(showId, (id, seats) -> {
+            seats.evicted = true;
+            return null;
+        });
+    }
+
+    /**
+     * Drop every show that has not been used for the given time and has no claimed seats.
+     * Returns the number of shows dropped.
+     */
+    public int evictIdle(long idle, TimeUnit unit) {
+        long cutoff = System.nanoTime() - unit.toNanos(idle);
+        int[] evicted = new int[1];
+        for (Long showId : shows.keySet()) {
+            // Inside compute, so the show cannot be reloaded until the decision is made
+            shows.computeIfPresent(showId, (id, seats) -> {
+                if (seats.lastUsed - cutoff >= 0 || seats.hasPending()) {
+                    return seats;
+                }
+                seats.evicted = true;
+                if (seats.hasPending()) {
+                    // Claimed after the first look; keep the show so the claim stays visible
+                    seats.evicted = false;
+                    return seats;
+                }
+                evicted[0]++;
+                return null;
+            });
+        }
+        if (evicted[0] > 0) {
+            logger.debug("Idle shows evicted from seat inventory: {}", evicted[0]);
+        }
+        return evicted[0];
+    }
+
+    private ShowSeats seatsFor(long showId) {
+        ShowSeats seats = shows.get(showId);
+        if (seats != null) {
+            seats.touch();
+            return seats;
+        }
+        try {
+            ShowSeats loaded = new ShowSeats(seatRepository.loadSeatIdsForShow(showId));
+            loaded.load(seatRepository.loadBookedSeatIds(showId));
+            ShowSeats existing = shows.putIfAbsent(showId, loaded);
+            logger.debug("Seat inventory loaded: showId={}, seats={}", showId, loaded.seatIds.length);
+            return existing != null ? existing : loaded;
+        } catch (SQLException e) {
+            logger.error("Error loading seat inventory: showId={}", showId, e);
+            return null;
+        }
+    }
+
+    // Every slot whose state is PENDING, expanded to cover both of its bits
+    private static long pendingSlots(long word) {
+        long high = word & HIGH_BITS;
+        return high | (high >>> 1);
+    }
+
+    private static final class ShowSeats {
+        private final long[] seatIds;
+        private final AtomicLongArray words;
+        private final AtomicLong version = new AtomicLong();
+        private volatile long lastUsed = System.nanoTime();
+        // When the booked state was last read from the bookings table
+        private volatile long syncedAt = System.nanoTime();
+        // Set once the show is dropped from the inventory; claims on it must move to the reloaded one
+        private volatile boolean evicted;
+
+        ShowSeats(long[] seatIds) {
+            this.seatIds = seatIds.clone();
+            Arrays.sort(this.seatIds);
+            this.words = new AtomicLongArray((this.seatIds.length + 31) / 32);
+        }
+
+        void touch() {
+            lastUsed = System.nanoTime();
+        }
+
+        boolean hasPending() {
+            for (int word = 0; word < words.length(); word++) {
+                if ((words.get(word) & HIGH_BITS) != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        int indexOf(long seatId) {
+            int index = Arrays.binarySearch(seatIds, seatId);
+            return index >= 0 ? index : -1;
+        }
+
+        long state(int index) {
+            return (words.get(index >>> 5) >>> ((index & 31) * 2)) & STATE_MASK;
+        }
+
+        boolean transition(int index, long from, long to) {
+            int word = index >>> 5;
+            int shift = (index & 31) * 2;
+            while (true) {
+                long current = words.get(word);
+                if (((current >>> shift) & STATE_MASK) != from) {
+                    return false;
+                }
+                long next = (current & ~(STATE_MASK << shift)) | (to << shift);
+                if (words.compareAndSet(word, current, next)) {
+                    return true;
+                }
+            }
+        }
+
+        long[] encode(long[] bookedSeatIds) {
+            long[] encoded = new long[words.length()];
+            for (long seatId : bookedSeatIds) {
+                int index = indexOf(seatId);
+                if (index >= 0) {
+                    encoded[index >>> 5] |= BOOKED << ((index & 31) * 2);
+                }
+            }
+            return encoded;
+        }
+
+        void load(long[] bookedSeatIds) {
+            long[] encoded = encode(bookedSeatIds);
+            for (int word = 0; word < encoded.length; word++) {
+                words.set(word, encoded[word]);
+            }
+        }
+
+        SeatAvailability snapshot(long showId) {
+            long[] taken = new long[seatIds.length];
+            int count = 0;
+            for (int index = 0; index < seatIds.length; index++) {
+                if (state(index) != FREE) {
+                    taken[count++] = seatIds[index];
+                }
+            }
+            return new SeatAvailability(showId, Arrays.copyOf(taken, count));
+        }
+    }
+}
@@ -1,101 +1,328 @@
 package com.ticketly.dao;
 
+import com.ticketly.model.Booking;
+import com.ticketly.model.BookingOrder;
 import com.ticketly.model.Seat;
+import com.ticketly.model.SeatAvailability;
 import com.ticketly.util.DatabaseUtil;
+import com.ticketly.util.Metrics;
+import com.ticketly.util.OperationMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.math.BigDecimal;
 import java.sql.*;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 public class SeatRepository {
     private static final Logger logger = LoggerFactory.getLogger(SeatRepository.class);
+    private static final OperationMetrics FIND_BY_THEATER_ID = Metrics.operation(SeatRepository.class, "findByTheaterId");
+    private static final OperationMetrics IS_SEAT_BOOKED = Metrics.operation(SeatRepository.class, "isSeatBooked");
+    private static final OperationMetrics LOAD_BOOKED_SEAT_IDS = Metrics.operation(SeatRepository.class, "loadBookedSeatIds");
+    private static final OperationMetrics LOAD_SEAT_IDS_FOR_SHOW = Metrics.operation(SeatRepository.class, "loadSeatIdsForShow");
+    private static final OperationMetrics BOOK_SEATS = Metrics.operation(SeatRepository.class, "bookSeats");
+    private static final OperationMetrics BOOK_CLAIMED_SEATS = Metrics.operation(SeatRepository.class, "bookClaimedSeats");
+    private static final OperationMetrics CANCEL_BOOKINGS = Metrics.operation(SeatRepository.class, "cancelBookings");
 
     // Fetch all seats of a theater (or show if you join bookings)
     public List<Seat> findByTheaterId(long theaterId) {
+        long start = FIND_BY_THEATER_ID.start();
         List<Seat> seats = new ArrayList<>();
-        String sql = "SELECT * FROM seats WHERE theater_id = ? ORDER BY row_name, seat_number";
+        String sql = "SELECT " + RowMappers.SEAT_COLUMNS + " FROM seats WHERE theater_id = ? ORDER BY row_name, seat_number";
 
-        try (Connection conn = DatabaseUtil.getConnection();
+        try (Connection conn = DatabaseUtil.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setLong(1, theaterId);
             try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    Seat seat = new Seat();
-                    seat.setId(rs.getLong("id"));
-                    seat.setTheaterId(rs.getLong("theater_id"));
-                    seat.setSeatRow(rs.getString("row_name"));
-                    seat.setSeatNumber(rs.getInt("seat_number"));
-                    seat.setSeatType(rs.getString("seat_type"));
-                    seat.setActive(rs.getBoolean("is_active"));
-                    seat.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
-                    seats.add(seat);
-                }
+                seats = RowMappers.mapAll(rs, RowMappers.SEAT);
             }
 
         } catch (SQLException e) {
+            FIND_BY_THEATER_ID.recordError();
             logger.error("Error fetching seats by theater id", e);
         }
 
-        return seats;
+        return FIND_BY_THEATER_ID.record(start, seats);
     }
 
     // Check if seat is already booked for the show
     public boolean isSeatBooked(long showId, long seatId) {
         String sql = "SELECT COUNT(*) FROM bookings WHERE show_id = ? AND seat_id = ? AND status = 'CONFIRMED'";
+        long start = IS_SEAT_BOOKED.start();
         try (Connection conn = DatabaseUtil.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setLong(1, showId);
             stmt.setLong(2, seatId);
-            logger.info("Checking if seat is booked: showId={}, seatId={}", showId, seatId);
+            logger.debug("Checking if seat is booked: showId={}, seatId={}", showId, seatId);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
                     int count = rs.getInt(1);
-                    logger.info("Seat booking count: {}", count);
-                    return count > 0;
+                    logger.debug("Seat booking count: {}", count);
+                    return IS_SEAT_BOOKED.record(start, count > 0);
                 }
             }
         } catch (SQLException e) {
+            IS_SEAT_BOOKED.recordError();
             logger.error("Error checking if seat is booked: showId={}, seatId={}", showId, seatId, e);
         }
-        return false;
+        return IS_SEAT_BOOKED.record(start, false);
+    }
+
+    // Fetch the booked/free state of every seat for the show in a single round trip
+    public SeatAvailability findSeatAvailability(long showId) {
+        return SeatInventory.getInstance().refresh(showId);
+    }
+
+    // Ids of every seat with a confirmed booking for the show, straight from the bookings table
+    long[] loadBookedSeatIds(long showId) throws SQLException {
+        String sql = "SELECT seat_id FROM bookings WHERE show_id = ? AND status = 'CONFIRMED' ORDER BY seat_id";
+        return queryIds(LOAD_BOOKED_SEAT_IDS, sql, showId);
+    }
+
+    // Ids of every active seat in the theater the show is playing in
+    long[] loadSeatIdsForShow(long showId) throws SQLException {
+        String sql = "SELECT st.id FROM seats st JOIN shows s ON st.theater_id = s.theater_id " +
+                     "WHERE s.id = ? AND st.is_active = true ORDER BY st.id";
+        return queryIds(LOAD_SEAT_IDS_FOR_SHOW, sql, showId);
+    }
+
+    private long[] queryIds(OperationMetrics metrics, String sql, long showId) throws SQLException {
+        long start = metrics.start();
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, showId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                long[] ids = new long[32];
+                int count = 0;
+                while (rs.next()) {
+                    if (count == ids.length) {
+                        ids = Arrays.copyOf(ids, count * 2);
+                    }
+                    ids[count++] = rs.getLong(1);
+                }
+                return metrics.record(start, Arrays.copyOf(ids, count));
+            }
+        } catch (SQLException e) {
+            metrics.recordError();
+            throw e;
+        }
     }
 
-    // Booking a seat: simplified version
+    // Booking a single seat
     public boolean bookSeat(long seatId, long userId, long showId, double price) {
-        if (isSeatBooked(showId, seatId)) {
-            logger.warn("Attempt to book already booked seat: seatId={}, showId={}", seatId, showId);
-            return false; // Seat already booked
+        return bookSeats(showId, userId, List.of(seatId), price) != null;
+    }
+
+    /**
+     * Book all requested seats for a show atomically: either every seat is booked or none is.
+     * Seats are claimed in the in-memory {@link SeatInventory} first, so conflicting requests in
+     * this process are rejected without touching the database, and then persisted.
+     * Returns the created bookings, or null if nothing was booked.
+     */
+    public BookingOrder bookSeats(long showId, long userId, Collection<Long> seatIds, double price) {
+        if (seatIds.isEmpty()) {
+            return null;
+        }
+
+        long start = BOOK_SEATS.start();
+        SeatInventory inventory = SeatInventory.getInstance();
+        if (!inventory.claim(showId, seatIds)) {
+            logger.warn("Attempt to book unavailable seats: showId={}, seats={}", showId, seatIds);
+            return BOOK_SEATS.record(start, null);
         }
 
-        String insertBookingSql = "INSERT INTO bookings (user_id, show_id, seat_id, total_amount, payment_status, status) " +
-                                  "VALUES (?, ?, ?, ?, 'COMPLETED', 'CONFIRMED')";
+        return BOOK_SEATS.record(start, bookClaimedSeats(showId, userId, seatIds, price));
+    }
+
+    /**
+     * Persist seats that the caller has already claimed in the {@link SeatInventory}, for example
+     * through a seat hold. The claim is confirmed on success and released on failure.
+     * Returns the created bookings, or null if nothing was booked.
+     */
+    public BookingOrder bookClaimedSeats(long showId, long userId, Collection<Long> seatIds, double price) {
+        long start = BOOK_CLAIMED_SEATS.start();
+        SeatInventory inventory = SeatInventory.getInstance();
+        BookingOrder order = insertBookings(showId, userId, seatIds, price);
+        if (order != null) {
+            inventory.confirm(showId, seatIds);
+            return BOOK_CLAIMED_SEATS.record(start, order);
+        }
+        // The database may know about bookings made elsewhere, so resync the show after a failure
+        inventory.release(showId, seatIds);
+        inventory.reconcile(showId);
+        return BOOK_CLAIMED_SEATS.record(start, null);
+    }
 
-        logger.info("Booking seat: seatId={}, userId={}, showId={}, price={}", seatId, userId, showId, price);
+    /**
+     * Persist the bookings in one transaction. The show row is locked for the duration of the
+     * transaction so concurrent bookings for the same show serialize on the conflict check, and
+     * the inserts go out as a single JDBC batch whose generated keys make up the returned order.
+     */
+    private BookingOrder insertBookings(long showId, long userId, Collection<Long> seatIds, double price) {
+        String lockShowSql = "SELECT id FROM shows WHERE id = ? FOR UPDATE";
+        String conflictSql = "SELECT seat_id FROM bookings WHERE show_id = ? AND status = 'CONFIRMED' AND seat_id IN (" +
+                             String.join(", ", Collections.nCopies(seatIds.size(), "?")) + ")";
+        String insertBookingSql = "INSERT INTO bookings (user_id, show_id, seat_id, booking_date, total_amount, payment_status, status) " +
+                                  "VALUES (?, ?, ?, ?, ?, 'COMPLETED', 'CONFIRMED')";
+        // Whole seconds, as stored by a TIMESTAMP column, so the order matches what is read back later
+        LocalDateTime bookingDate = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
 
-        try (Connection conn = DatabaseUtil.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(insertBookingSql)) {
+        logger.info("Booking seats: showId={}, userId={}, seats={}, price={}", showId, userId, seatIds, price);
+
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                try (PreparedStatement stmt = conn.prepareStatement(lockShowSql)) {
+                    stmt.setLong(1, showId);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        if (!rs.next()) {
+                            logger.warn("Attempt to book seats for unknown show: showId={}", showId);
+                            conn.rollback();
+                            return null;
+                        }
+                    }
+                }
+
+                try (PreparedStatement stmt = conn.prepareStatement(conflictSql)) {
+                    stmt.setLong(1, showId);
+                    int index = 2;
+                    for (Long seatId : seatIds) {
+                        stmt.setLong(index++, seatId);
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        if (rs.next()) {
+                            logger.warn("Attempt to book already booked seat: seatId={}, showId={}", rs.getLong(1), showId);
+                            conn.rollback();
+                            return null; // Seat already booked
+                        }
+                    }
+                }
 
-            stmt.setLong(1, userId);
-            stmt.setLong(2, showId);
-            stmt.setLong(3, seatId);
-            stmt.setDouble(4, price);
-            int affectedRows = stmt.executeUpdate();
+                List<Booking> bookings = new ArrayList<>(seatIds.size());
+                try (PreparedStatement stmt = conn.prepareStatement(insertBookingSql, Statement.RETURN_GENERATED_KEYS)) {
+                    for (Long seatId : seatIds) {
+                        stmt.setLong(1, userId);
+                        stmt.setLong(2, showId);
+                        stmt.setLong(3, seatId);
+                        stmt.setTimestamp(4, Timestamp.valueOf(bookingDate));
+                        stmt.setDouble(5, price);
+                        stmt.addBatch();
+                    }
+                    int[] results = stmt.executeBatch();
+                    for (int result : results) {
+                        if (result == 0) {
+                            logger.warn("No rows affected when booking seats: showId={}, userId={}", showId, userId);
+                            conn.rollback();
+                            return null;
+                        }
+                    }
+                    // Keys come back in batch order, i.e. in the order of seatIds
+                    try (ResultSet keys = stmt.getGeneratedKeys()) {
+                        for (Long seatId : seatIds) {
+                            if (!keys.next()) {
+                                throw new SQLException("Missing generated key for booking of seat " + seatId);
+                            }
+                            bookings.add(newBooking(keys.getLong(1), userId, showId, seatId, bookingDate, price));
+                        }
+                    }
+                }
+
+                conn.commit();
+                DatabaseUtil.recordWrite(userId);
+                logger.info("Seats booked successfully: showId={}, userId={}, seats={}", showId, userId, seatIds);
+                return new BookingOrder(userId, showId, bookingDate, bookings);
 
-            if (affectedRows == 0) {
-                logger.warn("No rows affected when booking seat: seatId={}, userId={}, showId={}", seatId, userId, showId);
-                return false;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
 
-            logger.info("Seat booked successfully: seatId={}, userId={}, showId={}", seatId, userId, showId);
-            return true;
+        } catch (SQLException e) {
+            BOOK_CLAIMED_SEATS.recordError();
+            logger.error("Error booking seats: showId={}, userId={}, seats={}", showId, userId, seatIds, e);
+        }
+
+        return null;
+    }
+
+    /**
+     * Cancel the user's confirmed bookings among the given ids in one transaction and return the
+     * bookings that were cancelled. Bookings of other users or already cancelled ones are skipped.
+     * Returns an empty list on failure.
+     */
+    public List<Booking> cancelBookings(long userId, Collection<Long> bookingIds) {
+        if (bookingIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        long start = CANCEL_BOOKINGS.start();
+        String placeholders = String.join(", ", Collections.nCopies(bookingIds.size(), "?"));
+        String selectSql = "SELECT " + RowMappers.BOOKING_COLUMNS + " FROM bookings " +
+                "WHERE id IN (" + placeholders + ") AND user_id = ? AND status = 'CONFIRMED' FOR UPDATE";
+        String updateSql = "UPDATE bookings SET status = 'CANCELLED' WHERE id = ?";
+
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                List<Booking> bookings;
+                try (PreparedStatement stmt = conn.prepareStatement(selectSql)) {
+                    int index = 1;
+                    for (Long bookingId : bookingIds) {
+                        stmt.setLong(index++, bookingId);
+                    }
+                    stmt.setLong(index, userId);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        bookings = RowMappers.mapAll(rs, RowMappers.BOOKING);
+                    }
+                }
+                if (!bookings.isEmpty()) {
+                    try (PreparedStatement stmt = conn.prepareStatement(updateSql)) {
+                        for (Booking booking : bookings) {
+                            stmt.setLong(1, booking.getId());
+                            stmt.addBatch();
+                            booking.setStatus("CANCELLED");
+                        }
+                        stmt.executeBatch();
+                    }
+                }
+                conn.commit();
+                DatabaseUtil.recordWrite(userId);
+                logger.info("Bookings cancelled: userId={}, bookings={}", userId, bookings.size());
+                return CANCEL_BOOKINGS.record(start, bookings);
+
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
 
         } catch (SQLException e) {
-            logger.error("Error booking seat: seatId={}, userId={}, showId={}", seatId, userId, showId, e);
+            CANCEL_BOOKINGS.recordError();
+            logger.error("Error cancelling bookings: userId={}, bookings={}", userId, bookingIds, e);
         }
 
-        return false;
+        return CANCEL_BOOKINGS.record(start, Collections.emptyList());
+    }
+
+    private static Booking newBooking(long id, long userId, long showId, long seatId, LocalDateTime bookingDate, double price) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setUserId(userId);
+        booking.setShowId(showId);
+        booking.setSeatId(seatId);
+        booking.setBookingDate(bookingDate);
+        booking.setTotalAmount(BigDecimal.valueOf(price));
+        booking.setStatus("CONFIRMED");
+        booking.setPaymentStatus("COMPLETED");
+        return booking;
     }
 }
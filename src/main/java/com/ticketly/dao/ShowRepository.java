@@ -1,7 +1,10 @@
 package com.ticketly.dao;
 
+import com.ticketly.model.ScheduledShow;
 import com.ticketly.model.Show;
 import com.ticketly.util.DatabaseUtil;
+import com.ticketly.util.Metrics;
+import com.ticketly.util.OperationMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -9,144 +12,235 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.LongConsumer;
 
 public class ShowRepository {
     private static final Logger logger = LoggerFactory.getLogger(ShowRepository.class);
+    private static final OperationMetrics FIND_BY_MOVIE_ID = Metrics.operation(ShowRepository.class, "findByMovieId");
+    private static final OperationMetrics FIND_BY_MOVIE_ID_AND_THEATER_ID = Metrics.operation(ShowRepository.class, "findByMovieIdAndTheaterId");
+    private static final OperationMetrics FIND_BY_ID = Metrics.operation(ShowRepository.class, "findById");
+    private static final OperationMetrics COUNT_AVAILABLE_SEATS = Metrics.operation(ShowRepository.class, "countAvailableSeats");
+    private static final OperationMetrics FIND_SHOW_TIMES = Metrics.operation(ShowRepository.class, "findShowTimes");
+    private static final OperationMetrics INSERT_ALL = Metrics.operation(ShowRepository.class, "insertAll");
+
+    // Rows per executeBatch; with rewriteBatchedStatements the MySQL driver sends each as one multi-row INSERT
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    // Available seats are computed in the same statement so a showtime list is a single round trip
+    private static final String SELECT_SHOWS_WITH_AVAILABILITY =
+            "SELECT " + RowMappers.qualified("s", RowMappers.SHOW_COLUMNS) + ", t.name AS theater_name, " +
+            "(SELECT COUNT(*) FROM seats st WHERE st.theater_id = s.theater_id AND st.is_active = true) - " +
+            "(SELECT COUNT(*) FROM bookings b WHERE b.show_id = s.id AND b.status = 'CONFIRMED') AS available_seats " +
+            "FROM shows s JOIN theaters t ON s.theater_id = t.id ";
 
     public List<Show> findByMovieId(long movieId) {
+        long start = FIND_BY_MOVIE_ID.start();
         List<Show> shows = new ArrayList<>();
-        String sql = "SELECT s.*, t.name as theater_name FROM shows s JOIN theaters t ON s.theater_id = t.id WHERE s.movie_id = ? ORDER BY s.show_date, s.show_time";
+        String sql = SELECT_SHOWS_WITH_AVAILABILITY + "WHERE s.movie_id = ? ORDER BY s.show_date, s.show_time";
 
-        try (Connection conn = DatabaseUtil.getConnection();
+        try (Connection conn = DatabaseUtil.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setLong(1, movieId);
             try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    Show show = new Show();
-                    show.setId(rs.getLong("id"));
-                    show.setMovieId(rs.getLong("movie_id"));
-                    show.setTheaterId(rs.getLong("theater_id"));
-                    // Combine show_date and show_time into LocalDateTime
-                    java.time.LocalDate date = rs.getDate("show_date").toLocalDate();
-                    java.time.LocalTime time = rs.getTime("show_time").toLocalTime();
-                    show.setShowTime(java.time.LocalDateTime.of(date, time));
-                    show.setTheaterName(rs.getString("theater_name"));
-                    show.setPrice(rs.getBigDecimal("price_regular")); // assuming regular price
-                    // Calculate available seats: total seats - booked seats
-                    int totalSeats = getTotalSeatsForTheater(rs.getLong("theater_id"));
-                    int bookedSeats = getBookedSeatsForShow(rs.getLong("id"));
-                    show.setAvailableSeats(totalSeats - bookedSeats);
-                    shows.add(show);
-                }
+                shows = RowMappers.mapAll(rs, RowMappers.SHOW);
             }
 
         } catch (SQLException e) {
+            FIND_BY_MOVIE_ID.recordError();
             logger.error("Error fetching shows by movie id", e);
         }
 
-        return shows;
+        return FIND_BY_MOVIE_ID.record(start, shows);
     }
 
     public List<Show> findByMovieIdAndTheaterId(long movieId, long theaterId) {
+        long start = FIND_BY_MOVIE_ID_AND_THEATER_ID.start();
         List<Show> shows = new ArrayList<>();
-        String sql = "SELECT s.*, t.name as theater_name FROM shows s JOIN theaters t ON s.theater_id = t.id WHERE s.movie_id = ? AND s.theater_id = ? ORDER BY s.show_date, s.show_time";
+        String sql = SELECT_SHOWS_WITH_AVAILABILITY + "WHERE s.movie_id = ? AND s.theater_id = ? ORDER BY s.show_date, s.show_time";
 
-        try (Connection conn = DatabaseUtil.getConnection();
+        try (Connection conn = DatabaseUtil.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setLong(1, movieId);
             stmt.setLong(2, theaterId);
             try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    Show show = new Show();
-                    show.setId(rs.getLong("id"));
-                    show.setMovieId(rs.getLong("movie_id"));
-                    show.setTheaterId(rs.getLong("theater_id"));
-                    // Combine show_date and show_time into LocalDateTime
-                    java.time.LocalDate date = rs.getDate("show_date").toLocalDate();
-                    java.time.LocalTime time = rs.getTime("show_time").toLocalTime();
-                    show.setShowTime(java.time.LocalDateTime.of(date, time));
-                    show.setTheaterName(rs.getString("theater_name"));
-                    show.setPrice(rs.getBigDecimal("price_regular")); // assuming regular price
-                    // Calculate available seats: total seats - booked seats
-                    int totalSeats = getTotalSeatsForTheater(rs.getLong("theater_id"));
-                    int bookedSeats = getBookedSeatsForShow(rs.getLong("id"));
-                    show.setAvailableSeats(totalSeats - bookedSeats);
-                    shows.add(show);
-                }
+                shows = RowMappers.mapAll(rs, RowMappers.SHOW);
             }
 
         } catch (SQLException e) {
+            FIND_BY_MOVIE_ID_AND_THEATER_ID.recordError();
             logger.error("Error fetching shows by movie and theater id", e);
         }
 
-        return shows;
+        return FIND_BY_MOVIE_ID_AND_THEATER_ID.record(start, shows);
     }
 
     public Show findById(long id) {
-        String sql = "SELECT s.*, t.name as theater_name FROM shows s JOIN theaters t ON s.theater_id = t.id WHERE s.id = ?";
+        long start = FIND_BY_ID.start();
+        String sql = SELECT_SHOWS_WITH_AVAILABILITY + "WHERE s.id = ?";
 
-        try (Connection conn = DatabaseUtil.getConnection();
+        try (Connection conn = DatabaseUtil.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setLong(1, id);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    Show show = new Show();
-                    show.setId(rs.getLong("id"));
-                    show.setMovieId(rs.getLong("movie_id"));
-                    show.setTheaterId(rs.getLong("theater_id"));
-                    java.time.LocalDate date = rs.getDate("show_date").toLocalDate();
-                    java.time.LocalTime time = rs.getTime("show_time").toLocalTime();
-                    show.setShowTime(java.time.LocalDateTime.of(date, time));
-                    show.setTheaterName(rs.getString("theater_name"));
-                    show.setPrice(rs.getBigDecimal("price_regular"));
-                    int totalSeats = getTotalSeatsForTheater(rs.getLong("theater_id"));
-                    int bookedSeats = getBookedSeatsForShow(rs.getLong("id"));
-                    show.setAvailableSeats(totalSeats - bookedSeats);
-                    return show;
+                    return FIND_BY_ID.record(start, RowMappers.SHOW.map(rs));
                 }
             }
 
         } catch (SQLException e) {
+            FIND_BY_ID.recordError();
             logger.error("Error fetching show by id", e);
         }
 
-        return null;
+        return FIND_BY_ID.record(start, null);
     }
 
-    private int getTotalSeatsForTheater(long theaterId) {
-        String sql = "SELECT COUNT(*) FROM seats WHERE theater_id = ? AND is_active = true";
-        try (Connection conn = DatabaseUtil.getConnection();
+    /**
+     * Current number of available seats for each of the given shows, in one query.
+     * Shows that do not exist are missing from the result.
+     */
+    public Map<Long, Integer> countAvailableSeats(Collection<Long> showIds) {
+        Map<Long, Integer> counts = new HashMap<>();
+        if (showIds.isEmpty()) {
+            return counts;
+        }
+        long start = COUNT_AVAILABLE_SEATS.start();
+        String placeholders = String.join(", ", Collections.nCopies(showIds.size(), "?"));
+        String sql = "SELECT s.id, " +
+                "(SELECT COUNT(*) FROM seats st WHERE st.theater_id = s.theater_id AND st.is_active = true) - " +
+                "(SELECT COUNT(*) FROM bookings b WHERE b.show_id = s.id AND b.status = 'CONFIRMED') AS available_seats " +
+                "FROM shows s WHERE s.id IN (" + placeholders + ")";
+
+        try (Connection conn = DatabaseUtil.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setLong(1, theaterId);
+
+            int index = 1;
+            for (Long showId : showIds) {
+                stmt.setLong(index++, showId);
+            }
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt(1);
+                while (rs.next()) {
+                    counts.put(rs.getLong(1), rs.getInt(2));
                 }
             }
+
         } catch (SQLException e) {
-            logger.error("Error counting seats for theater", e);
+            COUNT_AVAILABLE_SEATS.recordError();
+            logger.error("Error counting available seats for shows {}", showIds, e);
         }
-        return 0;
+
+        return COUNT_AVAILABLE_SEATS.record(start, counts);
     }
 
-    private int getBookedSeatsForShow(long showId) {
-        String sql = "SELECT COUNT(*) FROM bookings WHERE show_id = ? AND status = 'CONFIRMED'";
+    /**
+     * Start times of the theater's shows on or after the given date, or null if they could not be
+     * read: an empty list would claim the theater is free.
+     */
+    public List<LocalDateTime> findShowTimes(long theaterId, LocalDate from) {
+        long start = FIND_SHOW_TIMES.start();
+        List<LocalDateTime> times = new ArrayList<>();
+        String sql = "SELECT show_date, show_time FROM shows WHERE theater_id = ? AND show_date >= ?";
+
         try (Connection conn = DatabaseUtil.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setLong(1, showId);
+
+            stmt.setLong(1, theaterId);
+            stmt.setDate(2, java.sql.Date.valueOf(from));
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt(1);
+                while (rs.next()) {
+                    times.add(LocalDateTime.of(rs.getDate(1).toLocalDate(), rs.getTime(2).toLocalTime()));
+                }
+            }
+
+        } catch (SQLException e) {
+            FIND_SHOW_TIMES.recordError();
+            logger.error("Error fetching show times for theater {}", theaterId, e);
+            return null;
+        }
+
+        return FIND_SHOW_TIMES.record(start, times);
+    }
+
+    /**
+     * Insert the shows with batched statements on one connection, committing every
+     * {@code chunkSize} rows and passing the running total of committed rows to {@code onCommitted}.
+     *
+     * The input is consumed lazily, so it can be streamed. Returns the number of rows committed.
+     * On a database error the current chunk is rolled back and the rest of the input is not read;
+     * earlier chunks stay committed.
+     */
+    public long insertAll(Iterator<ScheduledShow> shows, int chunkSize, LongConsumer onCommitted) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        long start = INSERT_ALL.start();
+        String sql = "INSERT INTO shows (movie_id, theater_id, show_date, show_time, price_regular, price_premium, price_vip, is_active) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        int batchSize = Math.min(INSERT_BATCH_SIZE, chunkSize);
+        long committed = 0;
+
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                int batched = 0;
+                int inChunk = 0;
+                while (shows.hasNext()) {
+                    ScheduledShow show = shows.next();
+                    stmt.setLong(1, show.getMovieId());
+                    stmt.setLong(2, show.getTheaterId());
+                    stmt.setDate(3, java.sql.Date.valueOf(show.getShowDate()));
+                    stmt.setTime(4, java.sql.Time.valueOf(show.getShowTime()));
+                    stmt.setBigDecimal(5, show.getPriceRegular());
+                    stmt.setBigDecimal(6, show.getPricePremium());
+                    stmt.setBigDecimal(7, show.getPriceVip());
+                    stmt.setBoolean(8, show.isActive());
+                    stmt.addBatch();
+                    batched++;
+                    inChunk++;
+                    if (batched == batchSize || inChunk == chunkSize) {
+                        stmt.executeBatch();
+                        batched = 0;
+                    }
+                    if (inChunk == chunkSize) {
+                        conn.commit();
+                        committed += inChunk;
+                        inChunk = 0;
+                        onCommitted.accept(committed);
+                    }
+                }
+                if (inChunk > 0) {
+                    stmt.executeBatch();
+                    conn.commit();
+                    committed += inChunk;
+                    onCommitted.accept(committed);
                 }
+            } catch (SQLException | RuntimeException e) {
+                // Also when reading the input fails, so the partial chunk is not committed below
+                conn.rollback();
+                throw e;
+            } finally {
+                // Committed chunks must show up in the catalog reload that follows the import
+                DatabaseUtil.recordWrite();
+                conn.setAutoCommit(true);
             }
+
         } catch (SQLException e) {
-            logger.error("Error counting booked seats for show", e);
+            INSERT_ALL.recordError();
+            logger.error("Error inserting shows after {} committed rows", committed, e);
         }
-        return 0;
+
+        return INSERT_ALL.record(start, committed);
     }
 }
@@ -2,6 +2,8 @@ package com.ticketly.dao;
 
 import com.ticketly.model.Theater;
 import com.ticketly.util.DatabaseUtil;
+import com.ticketly.util.Metrics;
+import com.ticketly.util.OperationMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -14,87 +16,74 @@ import java.util.List;
 
 public class TheaterRepository {
     private static final Logger logger = LoggerFactory.getLogger(TheaterRepository.class);
+    private static final OperationMetrics FIND_ALL = Metrics.operation(TheaterRepository.class, "findAll");
+    private static final OperationMetrics FIND_BY_ID = Metrics.operation(TheaterRepository.class, "findById");
+    private static final OperationMetrics FIND_BY_MOVIE_ID = Metrics.operation(TheaterRepository.class, "findByMovieId");
 
     public List<Theater> findAll() {
+        long start = FIND_ALL.start();
         List<Theater> theaters = new ArrayList<>();
-        String sql = "SELECT id, name, location, total_seats, created_at FROM theaters ORDER BY name";
+        String sql = "SELECT " + RowMappers.THEATER_COLUMNS + " FROM theaters ORDER BY name";
 
-        try (Connection conn = DatabaseUtil.getConnection();
+        try (Connection conn = DatabaseUtil.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
 
-            while (rs.next()) {
-                Theater theater = new Theater();
-                theater.setId(rs.getLong("id"));
-                theater.setName(rs.getString("name"));
-                theater.setLocation(rs.getString("location"));
-                theater.setTotalSeats(rs.getInt("total_seats"));
-                theater.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
-                theaters.add(theater);
-            }
+            theaters = RowMappers.mapAll(rs, RowMappers.THEATER);
 
             logger.info("Found {} theaters", theaters.size());
         } catch (SQLException e) {
+            FIND_ALL.recordError();
             logger.error("Error fetching theaters", e);
         }
 
-        return theaters;
+        return FIND_ALL.record(start, theaters);
     }
 
     public Theater findById(long id) {
-        String sql = "SELECT id, name, location, total_seats, created_at FROM theaters WHERE id = ?";
+        long start = FIND_BY_ID.start();
+        String sql = "SELECT " + RowMappers.THEATER_COLUMNS + " FROM theaters WHERE id = ?";
 
-        try (Connection conn = DatabaseUtil.getConnection();
+        try (Connection conn = DatabaseUtil.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setLong(1, id);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    Theater theater = new Theater();
-                    theater.setId(rs.getLong("id"));
-                    theater.setName(rs.getString("name"));
-                    theater.setLocation(rs.getString("location"));
-                    theater.setTotalSeats(rs.getInt("total_seats"));
-                    theater.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
-                    return theater;
+                    return FIND_BY_ID.record(start, RowMappers.THEATER.map(rs));
                 }
             }
         } catch (SQLException e) {
+            FIND_BY_ID.recordError();
             logger.error("Error fetching theater by id: {}", id, e);
         }
 
-        return null;
+        return FIND_BY_ID.record(start, null);
     }
 
     public List<Theater> findByMovieId(long movieId) {
+        long start = FIND_BY_MOVIE_ID.start();
         List<Theater> theaters = new ArrayList<>();
-        String sql = "SELECT DISTINCT t.id, t.name, t.location, t.total_seats, t.created_at " +
+        String sql = "SELECT DISTINCT " + RowMappers.qualified("t", RowMappers.THEATER_COLUMNS) + " " +
                      "FROM theaters t " +
                      "JOIN shows s ON t.id = s.theater_id " +
                      "WHERE s.movie_id = ? " +
                      "ORDER BY t.name";
 
-        try (Connection conn = DatabaseUtil.getConnection();
+        try (Connection conn = DatabaseUtil.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setLong(1, movieId);
             try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    Theater theater = new Theater();
-                    theater.setId(rs.getLong("id"));
-                    theater.setName(rs.getString("name"));
-                    theater.setLocation(rs.getString("location"));
-                    theater.setTotalSeats(rs.getInt("total_seats"));
-                    theater.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
-                    theaters.add(theater);
-                }
+                theaters = RowMappers.mapAll(rs, RowMappers.THEATER);
             }
 
             logger.info("Found {} theaters for movie {}", theaters.size(), movieId);
         } catch (SQLException e) {
+            FIND_BY_MOVIE_ID.recordError();
             logger.error("Error fetching theaters by movie id: {}", movieId, e);
         }
 
-        return theaters;
+        return FIND_BY_MOVIE_ID.record(start, theaters);
     }
 }
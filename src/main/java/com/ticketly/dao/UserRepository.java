@@ -2,6 +2,8 @@ package com.ticketly.dao;
 
 import com.ticketly.model.User;
 import com.ticketly.util.DatabaseUtil;
+import com.ticketly.util.Metrics;
+import com.ticketly.util.OperationMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -13,36 +15,54 @@ import java.util.Optional;
  */
 public class UserRepository {
     private static final Logger logger = LoggerFactory.getLogger(UserRepository.class);
+    private static final OperationMetrics FIND_BY_USERNAME = Metrics.operation(UserRepository.class, "findByUsername");
+    private static final OperationMetrics FIND_BY_ID = Metrics.operation(UserRepository.class, "findById");
+    private static final OperationMetrics SAVE = Metrics.operation(UserRepository.class, "save");
+    private static final OperationMetrics UPDATE_PASSWORD_HASH = Metrics.operation(UserRepository.class, "updatePasswordHash");
+    private static final OperationMetrics EXISTS_BY_USERNAME = Metrics.operation(UserRepository.class, "existsByUsername");
 
     /**
      * Find user by username.
      */
     public Optional<User> findByUsername(String username) {
-        String sql = "SELECT id, username, email, password_hash, full_name, phone, role, is_active, created_at, updated_at FROM users WHERE username = ?";
+        long start = FIND_BY_USERNAME.start();
+        String sql = "SELECT " + RowMappers.USER_COLUMNS + " FROM users WHERE username = ?";
         try (Connection conn = DatabaseUtil.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setString(1, username);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                User user = new User();
-                user.setId(rs.getLong("id"));
-                user.setUsername(rs.getString("username"));
-                user.setEmail(rs.getString("email"));
-                user.setPassword(rs.getString("password_hash"));
-                user.setFullName(rs.getString("full_name"));
-                user.setPhone(rs.getString("phone"));
-                user.setRole(rs.getString("role"));
-                user.setIsActive(rs.getBoolean("is_active"));
-                user.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
-                user.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
-                return Optional.of(user);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return FIND_BY_USERNAME.record(start, Optional.of(RowMappers.USER.map(rs)));
+                }
             }
         } catch (SQLException e) {
+            FIND_BY_USERNAME.recordError();
             logger.error("Error finding user by username: {}", username, e);
         }
-        return Optional.empty();
+        return FIND_BY_USERNAME.record(start, Optional.empty());
+    }
+
+    /**
+     * Find user by id.
+     */
+    public Optional<User> findById(long id) {
+        long start = FIND_BY_ID.start();
+        String sql = "SELECT " + RowMappers.USER_COLUMNS + " FROM users WHERE id = ?";
+        try (Connection conn = DatabaseUtil.getReadConnection(id);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setLong(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return FIND_BY_ID.record(start, Optional.of(RowMappers.USER.map(rs)));
+                }
+            }
+        } catch (SQLException e) {
+            FIND_BY_ID.recordError();
+            logger.error("Error finding user by id: {}", id, e);
+        }
+        return FIND_BY_ID.record(start, Optional.empty());
     }
 
     /**
@@ -51,6 +71,7 @@ public class UserRepository {
     public User save(User user) {
         String sql = "INSERT INTO users (username, email, password_hash, full_name, phone, role, is_active, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
         logger.debug("Attempting to save user: {}", user.getUsername());
+        long start = SAVE.start();
         try (Connection conn = DatabaseUtil.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
@@ -69,18 +90,43 @@ public class UserRepository {
             logger.debug("INSERT affected {} rows", affectedRows);
 
             if (affectedRows > 0) {
-                ResultSet generatedKeys = stmt.getGeneratedKeys();
-                if (generatedKeys.next()) {
-                    user.setId(generatedKeys.getLong(1));
-                    logger.debug("Generated user ID: {}", user.getId());
+                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        user.setId(generatedKeys.getLong(1));
+                        DatabaseUtil.recordWrite(user.getId());
+                        logger.debug("Generated user ID: {}", user.getId());
+                    }
                 }
             }
             logger.info("User saved successfully: {}", user.getUsername());
         } catch (SQLException e) {
+            SAVE.recordError();
             logger.error("Error saving user: {}", user.getUsername(), e);
             throw new RuntimeException("Failed to save user", e);
         }
-        return user;
+        return SAVE.record(start, user);
+    }
+
+    /**
+     * Replace the stored password hash of a user.
+     */
+    public boolean updatePasswordHash(long id, String passwordHash) {
+        String sql = "UPDATE users SET password_hash = ?, updated_at = ? WHERE id = ?";
+        long start = UPDATE_PASSWORD_HASH.start();
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, passwordHash);
+            stmt.setTimestamp(2, Timestamp.valueOf(java.time.LocalDateTime.now()));
+            stmt.setLong(3, id);
+            boolean updated = stmt.executeUpdate() > 0;
+            DatabaseUtil.recordWrite(id);
+            return UPDATE_PASSWORD_HASH.record(start, updated);
+        } catch (SQLException e) {
+            UPDATE_PASSWORD_HASH.recordError();
+            logger.error("Error updating password hash for user id: {}", id, e);
+        }
+        return UPDATE_PASSWORD_HASH.record(start, false);
     }
 
     /**
@@ -88,15 +134,18 @@ public class UserRepository {
      */
     public boolean existsByUsername(String username) {
         String sql = "SELECT COUNT(*) FROM users WHERE username = ?";
+        long start = EXISTS_BY_USERNAME.start();
         try (Connection conn = DatabaseUtil.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setString(1, username);
-            ResultSet rs = stmt.executeQuery();
-            return rs.next() && rs.getInt(1) > 0;
+            try (ResultSet rs = stmt.executeQuery()) {
+                return EXISTS_BY_USERNAME.record(start, rs.next() && rs.getInt(1) > 0);
+            }
         } catch (SQLException e) {
+            EXISTS_BY_USERNAME.recordError();
             logger.error("Error checking if username exists: {}", username, e);
         }
-        return false;
+        return EXISTS_BY_USERNAME.record(start, false);
     }
 }
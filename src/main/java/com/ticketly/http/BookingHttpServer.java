@@ -0,0 +1,597 @@
+package com.ticketly.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.ticketly.dao.CatalogCache;
+import com.ticketly.dao.SeatRepository;
+import com.ticketly.model.Booking;
+import com.ticketly.model.BookingOrder;
+import com.ticketly.model.Movie;
+import com.ticketly.model.SeatAvailability;
+import com.ticketly.model.SeatLayout;
+import com.ticketly.model.Show;
+import com.ticketly.model.User;
+import com.ticketly.service.BookingService;
+import com.ticketly.service.SeatHold;
+import com.ticketly.service.SeatLayoutService;
+import com.ticketly.util.AuthService;
+import com.ticketly.util.Json;
+import com.ticketly.util.Metrics;
+import com.ticketly.util.OperationMetrics;
+import com.ticketly.util.Threads;
+import com.ticketly.util.TtlCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON over HTTP front end for kiosks and web clients, on the JDK's built-in server.
+ *
+ * Catalog and seat map reads go through the same caches as the desktop app, and holds and
+ * bookings through {@link BookingService}, so both front ends claim seats from one inventory.
+ * Each request runs on its own virtual thread where the runtime has them (see
+ * {@link Threads#newPerTaskExecutor}). Responses are written field by field with
+ * {@link Json.Writer}; the movie list and seat layouts are encoded once per cache entry.
+ *
+ * Endpoints, all under {@code /api}:
+ * <pre>
+ * GET    /health                    liveness
+ * GET    /movies                    movies now showing
+ * GET    /movies/{id}/shows         shows of a movie
+ * GET    /shows/{id}                one show with its available seat count
+ * GET    /shows/{id}/seats          seats that are booked or held
+ * GET    /theaters/{id}/layout      seat layout of a theater
+ * POST   /login                     {"username", "password"} -> {"token", "userId"}
+ * POST   /quotes                    {"showId", "seatIds"}
+ * POST   /holds                     {"showId", "seatIds"}, needs a token
+ * DELETE /holds/{id}                needs a token
+ * POST   /bookings                  {"holdId"}, needs a token
+ * DELETE /bookings/{id}             needs a token
+ * </pre>
+ * Tokens from {@code /login} go in an {@code Authorization: Bearer} header. Failures come back
+ * as {@code {"status", "message"}} with a matching HTTP status.
+ */
+public class BookingHttpServer {
+    private static final Logger logger = LoggerFactory.getLogger(BookingHttpServer.class);
+
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+    private static final int MAX_SESSIONS = 100_000;
+    private static final long SESSION_HOURS = 12;
+    private static final String JSON_TYPE = "application/json; charset=utf-8";
+    private static final byte[] HEALTH = "{\"status\":\"UP\"}".getBytes(StandardCharsets.UTF_8);
+
+    private enum Route {
+        HEALTH("health"),
+        MOVIES("movies"),
+        MOVIE_SHOWS("movieShows"),
+        SHOW("show"),
+        SHOW_SEATS("showSeats"),
+        THEATER_LAYOUT("theaterLayout"),
+        LOGIN("login"),
+        QUOTE("quote"),
+        HOLD("hold"),
+        RELEASE("release"),
+        BOOK("book"),
+        CANCEL("cancel");
+
+        private final OperationMetrics metrics;
+
+        Route(String name) {
+            this.metrics = Metrics.operation(BookingHttpServer.class, name);
+        }
+    }
+
+    private static final class Response {
+        private final int status;
+        private final byte[] body;
+
+        Response(int status, byte[] body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+
+    // JSON of a cached value, valid while the cache still hands out the same instance
+    private static final class Encoded {
+        private final Object source;
+        private final byte[] json;
+
+        Encoded(Object source, byte[] json) {
+            this.source = source;
+            this.json = json;
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final BookingService bookings;
+    private final CatalogCache catalog;
+    private final SeatLayoutService layouts;
+    private final SeatRepository seatRepository;
+    private final TtlCache<String, Long> sessions =
+            new TtlCache<>("http-sessions", MAX_SESSIONS, SESSION_HOURS, TimeUnit.HOURS);
+    private final SecureRandom random = new SecureRandom();
+    private final ConcurrentMap<Long, Encoded> layoutJson = new ConcurrentHashMap<>();
+    private volatile Encoded movieJson;
+
+    /**
+     * Bind to the port; {@code threads} sizes the fallback pool on runtimes without virtual
+     * threads, and {@code backlog} the queue of connections not yet accepted.
+     */
+    public BookingHttpServer(int port, int threads, int backlog) throws IOException {
+        this(port, threads, backlog, BookingService.getInstance(), CatalogCache.getInstance(),
+                SeatLayoutService.getInstance(), new SeatRepository());
+    }
+
+    public BookingHttpServer(int port, int threads, int backlog, BookingService bookings, CatalogCache catalog,
+                             SeatLayoutService layouts, SeatRepository seatRepository) throws IOException {
+        this.bookings = bookings;
+        this.catalog = catalog;
+        this.layouts = layouts;
+        this.seatRepository = seatRepository;
+        this.executor = Threads.newPerTaskExecutor("ticketly-http", threads);
+        this.server = HttpServer.create(new InetSocketAddress(port), backlog);
+        server.createContext("/api/", this::handle);
+        server.setExecutor(executor);
+    }
+
+    public void start() {
+        server.start();
+        logger.info("HTTP server listening on port {}", getPort());
+    }
+
+    /**
+     * Stop accepting connections, give open exchanges up to {@code delaySeconds} to finish, then
+     * stop the request threads.
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+        logger.info("HTTP server stopped");
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) {
+        Route route = null;
+        try {
+            String[] path = exchange.getRequestURI().getPath().substring("/api/".length()).split("/");
+            route = route(exchange.getRequestMethod(), path);
+            if (route == null) {
+                send(exchange, error(404, "NOT_FOUND", "No such endpoint."));
+                return;
+            }
+            long start = route.metrics.start();
+            Response response = dispatch(route, exchange, path);
+            if (response.status >= 500) {
+                route.metrics.recordError();
+            }
+            send(exchange, response);
+            route.metrics.record(start, response.body);
+        } catch (IOException e) {
+            logger.debug("HTTP exchange aborted: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            logger.error("Error handling {} {}", exchange.getRequestMethod(), exchange.getRequestURI(), e);
+            if (route != null) {
+                route.metrics.recordError();
+            }
+            try {
+                send(exchange, error(500, "FAILED", "Internal error."));
+            } catch (IOException | RuntimeException ignored) {
+                // Response already started or connection gone
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static Route route(String method, String[] path) {
+        boolean get = "GET".equals(method);
+        boolean post = "POST".equals(method);
+        boolean delete = "DELETE".equals(method);
+        switch (path[0]) {
+            case "health":
+                return get && path.length == 1 ? Route.HEALTH : null;
+            case "movies":
+                if (get && path.length == 1) {
+                    return Route.MOVIES;
+                }
+                return get && path.length == 3 && "shows".equals(path[2]) ? Route.MOVIE_SHOWS : null;
+            case "shows":
+                if (get && path.length == 2) {
+                    return Route.SHOW;
+                }
+                return get && path.length == 3 && "seats".equals(path[2]) ? Route.SHOW_SEATS : null;
+            case "theaters":
+                return get && path.length == 3 && "layout".equals(path[2]) ? Route.THEATER_LAYOUT : null;
+            case "login":
+                return post && path.length == 1 ? Route.LOGIN : null;
+            case "quotes":
+                return post && path.length == 1 ? Route.QUOTE : null;
+            case "holds":
+                if (post && path.length == 1) {
+                    return Route.HOLD;
+                }
+                return delete && path.length == 2 ? Route.RELEASE : null;
+            case "bookings":
+                if (post && path.length == 1) {
+                    return Route.BOOK;
+                }
+                return delete && path.length == 2 ? Route.CANCEL : null;
+            default:
+                return null;
+        }
+    }
+
+    private Response dispatch(Route route, HttpExchange exchange, String[] path) throws IOException {
+        try {
+            switch (route) {
+                case HEALTH:
+                    return new Response(200, HEALTH);
+                case MOVIES:
+                    return new Response(200, movieList());
+                case MOVIE_SHOWS:
+                    return shows(catalog.findShowsByMovieId(parseId(path[1])));
+                case SHOW:
+                    return show(parseId(path[1]));
+                case SHOW_SEATS:
+                    return seats(parseId(path[1]));
+                case THEATER_LAYOUT:
+                    return layout(parseId(path[1]));
+                case LOGIN:
+                    return login(readBody(exchange));
+                case QUOTE:
+                    return quote(readBody(exchange));
+                default:
+                    break;
+            }
+            Long userId = authenticate(exchange);
+            if (userId == null) {
+                return error(401, "UNAUTHORIZED", "Please log in.");
+            }
+            switch (route) {
+                case HOLD:
+                    return hold(userId, readBody(exchange));
+                case RELEASE:
+                    return release(userId, path[1]);
+                case BOOK:
+                    return book(userId, readBody(exchange));
+                case CANCEL:
+                    return cancel(userId, parseId(path[1]));
+                default:
+                    throw new IllegalStateException("Unhandled route " + route);
+            }
+        } catch (IllegalArgumentException | ClassCastException e) {
+            return error(400, "INVALID", e.getMessage());
+        } catch (RejectedExecutionException e) {
+            return error(503, "BUSY", "Server is busy, please retry.");
+        }
+    }
+
+    private byte[] movieList() {
+        List<Movie> movies = catalog.findAllMovies();
+        Encoded cached = movieJson;
+        if (cached == null || cached.source != movies) {
+            Json.Writer json = new Json.Writer(movies.size() * 256).beginArray();
+            for (Movie movie : movies) {
+                json.beginObject()
+                        .field("id", movie.getId())
+                        .field("title", movie.getTitle())
+                        .field("description", movie.getDescription())
+                        .field("durationMinutes", movie.getDurationMinutes())
+                        .field("genre", movie.getGenre())
+                        .field("releaseDate", movie.getReleaseDate())
+                        .field("posterUrl", movie.getPosterUrl())
+                        .endObject();
+            }
+            cached = new Encoded(movies, json.endArray().toBytes());
+            movieJson = cached;
+        }
+        return cached.json;
+    }
+
+    private Response shows(List<Show> shows) {
+        Json.Writer json = new Json.Writer(shows.size() * 160).beginArray();
+        for (Show show : shows) {
+            writeShow(json, show);
+        }
+        return new Response(200, json.endArray().toBytes());
+    }
+
+    private Response show(long showId) {
+        Show show = catalog.findShowById(showId);
+        if (show == null) {
+            return error(404, "NOT_FOUND", "Show not found.");
+        }
+        Json.Writer json = new Json.Writer();
+        writeShow(json, show);
+        return new Response(200, json.toBytes());
+    }
+
+    private Response seats(long showId) {
+        Show show = catalog.findShowById(showId);
+        if (show == null) {
+            return error(404, "NOT_FOUND", "Show not found.");
+        }
+        SeatAvailability availability = seatRepository.findSeatAvailability(showId);
+        Json.Writer json = new Json.Writer().beginObject()
+                .field("showId", showId)
+                .field("theaterId", show.getTheaterId())
+                .name("unavailableSeatIds").beginArray();
+        for (long seatId : availability.getBookedSeatIds()) {
+            json.value(seatId);
+        }
+        return new Response(200, json.endArray().endObject().toBytes());
+    }
+
+    private Response layout(long theaterId) {
+        SeatLayout layout = layouts.getLayout(theaterId);
+        if (layout == null || layout.size() == 0) {
+            return error(404, "NOT_FOUND", "Theater not found.");
+        }
+        Encoded cached = layoutJson.get(theaterId);
+        if (cached == null || cached.source != layout) {
+            Json.Writer json = new Json.Writer(layout.size() * 80).beginObject()
+                    .field("theaterId", theaterId)
+                    .name("rows").beginArray();
+            for (int row = 0; row < layout.getRowCount(); row++) {
+                json.value(layout.getRowNameAt(row));
+            }
+            json.endArray().name("seats").beginArray();
+            for (int i = 0; i < layout.size(); i++) {
+                json.beginObject()
+                        .field("id", layout.getSeatId(i))
+                        .field("row", layout.getRowName(i))
+                        .field("number", layout.getSeatNumber(i))
+                        .field("label", layout.getLabel(i))
+                        .field("type", layout.getSeatType(i))
+                        .field("active", layout.isActive(i))
+                        .endObject();
+            }
+            cached = new Encoded(layout, json.endArray().endObject().toBytes());
+            layoutJson.put(theaterId, cached);
+        }
+        return new Response(200, cached.json);
+    }
+
+    private Response login(Map<String, Object> body) {
+        String username = stringField(body, "username");
+        String password = stringField(body, "password");
+        Optional<User> user = AuthService.authenticate(username, password);
+        if (user.isEmpty()) {
+            return error(401, "UNAUTHORIZED", "Invalid username or password.");
+        }
+        byte[] bytes = new byte[24];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        sessions.put(token, user.get().getId());
+        return new Response(200, new Json.Writer().beginObject()
+                .field("token", token)
+                .field("userId", user.get().getId())
+                .endObject().toBytes());
+    }
+
+    private Response quote(Map<String, Object> body) {
+        BookingService.Result<BookingService.Quote> result =
+                bookings.quote(longField(body, "showId"), idsField(body, "seatIds"));
+        if (!result.isOk()) {
+            return failure(result);
+        }
+        BookingService.Quote quote = result.getValue();
+        Json.Writer json = new Json.Writer().beginObject()
+                .field("showId", quote.getShowId());
+        writeIds(json.name("seatIds"), quote.getSeatIds());
+        json.name("seatLabels").beginArray();
+        for (String label : quote.getSeatLabels()) {
+            json.value(label);
+        }
+        json.endArray()
+                .field("unitPrice", quote.getUnitPrice())
+                .field("totalAmount", quote.getTotalAmount())
+                .field("available", quote.isAvailable());
+        writeIds(json.name("unavailableSeatIds"), quote.getUnavailableSeatIds());
+        return new Response(200, json.endObject().toBytes());
+    }
+
+    private Response hold(long userId, Map<String, Object> body) {
+        BookingService.Result<SeatHold> result =
+                bookings.hold(userId, longField(body, "showId"), idsField(body, "seatIds"));
+        if (!result.isOk()) {
+            return failure(result);
+        }
+        SeatHold hold = result.getValue();
+        Json.Writer json = new Json.Writer().beginObject()
+                .field("id", hold.getId())
+                .field("showId", hold.getShowId());
+        writeIds(json.name("seatIds"), hold.getSeatIds());
+        return new Response(201, json.field("expiresAt", hold.getExpiresAt()).endObject().toBytes());
+    }
+
+    private Response release(long userId, String holdId) {
+        BookingService.Result<Void> result = bookings.release(userId, holdId);
+        return result.isOk() ? new Response(204, null) : failure(result);
+    }
+
+    private Response book(long userId, Map<String, Object> body) {
+        BookingService.Result<BookingOrder> result = bookings.confirm(userId, stringField(body, "holdId"));
+        if (!result.isOk()) {
+            return failure(result);
+        }
+        BookingOrder order = result.getValue();
+        Json.Writer json = new Json.Writer().beginObject()
+                .field("id", order.getId())
+                .field("showId", order.getShowId());
+        writeIds(json.name("bookingIds"), order.getBookingIds());
+        writeIds(json.name("seatIds"), order.getSeatIds());
+        return new Response(201, json
+                .field("totalAmount", order.getTotalAmount())
+                .field("bookingDate", order.getBookingDate())
+                .endObject().toBytes());
+    }
+
+    private Response cancel(long userId, long bookingId) {
+        BookingService.Result<List<Booking>> result = bookings.cancel(userId, List.of(bookingId));
+        if (!result.isOk()) {
+            return failure(result);
+        }
+        Json.Writer json = new Json.Writer().beginArray();
+        for (Booking booking : result.getValue()) {
+            json.beginObject()
+                    .field("id", booking.getId())
+                    .field("showId", booking.getShowId())
+                    .field("seatId", booking.getSeatId())
+                    .endObject();
+        }
+        return new Response(200, json.endArray().toBytes());
+    }
+
+    private Long authenticate(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.startsWith("Bearer ")) {
+            return null;
+        }
+        return sessions.getIfPresent(header.substring("Bearer ".length()).trim());
+    }
+
+    private static void writeShow(Json.Writer json, Show show) {
+        json.beginObject()
+                .field("id", show.getId())
+                .field("movieId", show.getMovieId())
+                .field("theaterId", show.getTheaterId())
+                .field("theaterName", show.getTheaterName())
+                .field("showTime", show.getShowTime())
+                .field("price", show.getPrice())
+                .field("availableSeats", show.getAvailableSeats())
+                .endObject();
+    }
+
+    private static void writeIds(Json.Writer json, Collection<Long> ids) {
+        json.beginArray();
+        for (Long id : ids) {
+            json.value(id);
+        }
+        json.endArray();
+    }
+
+    private static Response failure(BookingService.Result<?> result) {
+        return error(httpStatus(result.getStatus()), result.getStatus().name(), result.getMessage());
+    }
+
+    private static int httpStatus(BookingService.Status status) {
+        switch (status) {
+            case OK:
+                return 200;
+            case INVALID:
+                return 400;
+            case FORBIDDEN:
+                return 403;
+            case NOT_FOUND:
+                return 404;
+            case SEATS_UNAVAILABLE:
+                return 409;
+            case HOLD_EXPIRED:
+                return 410;
+            case LIMIT_REACHED:
+                return 429;
+            default:
+                return 500;
+        }
+    }
+
+    private static Response error(int status, String code, String message) {
+        return new Response(status, new Json.Writer().beginObject()
+                .field("status", code)
+                .field("message", message)
+                .endObject().toBytes());
+    }
+
+    private static void send(HttpExchange exchange, Response response) throws IOException {
+        if (response.body == null) {
+            exchange.sendResponseHeaders(response.status, -1);
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", JSON_TYPE);
+        exchange.sendResponseHeaders(response.status, response.body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response.body);
+        }
+    }
+
+    private static Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+            if (bytes.length > MAX_BODY_BYTES) {
+                throw new IllegalArgumentException("Request body too large");
+            }
+            return Json.parseObject(new String(bytes, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static long parseId(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid id: " + value);
+        }
+    }
+
+    private static String stringField(Map<String, Object> body, String name) {
+        Object value = body.get(name);
+        if (!(value instanceof String) || ((String) value).isEmpty()) {
+            throw new IllegalArgumentException("Missing field: " + name);
+        }
+        return (String) value;
+    }
+
+    private static long longField(Map<String, Object> body, String name) {
+        Object value = body.get(name);
+        if (!(value instanceof BigDecimal)) {
+            throw new IllegalArgumentException("Missing field: " + name);
+        }
+        return toId((BigDecimal) value, name);
+    }
+
+    private static List<Long> idsField(Map<String, Object> body, String name) {
+        Object value = body.get(name);
+        if (!(value instanceof List)) {
+            throw new IllegalArgumentException("Missing field: " + name);
+        }
+        List<?> values = (List<?>) value;
+        List<Long> ids = new ArrayList<>(values.size());
+        for (Object id : values) {
+            if (!(id instanceof BigDecimal)) {
+                throw new IllegalArgumentException("Invalid id in " + name);
+            }
+            ids.add(toId((BigDecimal) id, name));
+        }
+        return ids;
+    }
+
+    private static long toId(BigDecimal value, String name) {
+        try {
+            return value.longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Invalid id in " + name);
+        }
+    }
+}
@@ -7,6 +7,7 @@ public class Booking {
     private long id;
     private long userId;
     private long showId;
+    private long seatId;
     private LocalDateTime bookingDate;
     private BigDecimal totalAmount;
     private String status;
@@ -38,6 +39,14 @@ public class Booking {
         this.showId = showId;
     }
 
+    public long getSeatId() {
+        return seatId;
+    }
+
+    public void setSeatId(long seatId) {
+        this.seatId = seatId;
+    }
+
     public LocalDateTime getBookingDate() {
         return bookingDate;
     }
@@ -0,0 +1,79 @@
+package com.ticketly.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The bookings created together in one checkout: one booking row per seat, all for the same
+ * user and show and with the same booking date. Built from the generated keys of the insert,
+ * so no query is needed to find out what was just booked.
+ */
+public final class BookingOrder {
+    private final long userId;
+    private final long showId;
+    private final LocalDateTime bookingDate;
+    private final List<Booking> bookings;
+
+    public BookingOrder(long userId, long showId, LocalDateTime bookingDate, List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            throw new IllegalArgumentException("An order needs at least one booking");
+        }
+        this.userId = userId;
+        this.showId = showId;
+        this.bookingDate = bookingDate;
+        this.bookings = List.copyOf(bookings);
+    }
+
+    /**
+     * Id of the first booking of the order, used as the ticket id.
+     */
+    public long getId() {
+        return bookings.get(0).getId();
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public long getShowId() {
+        return showId;
+    }
+
+    public LocalDateTime getBookingDate() {
+        return bookingDate;
+    }
+
+    public List<Booking> getBookings() {
+        return bookings;
+    }
+
+    public List<Long> getBookingIds() {
+        List<Long> ids = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            ids.add(booking.getId());
+        }
+        return ids;
+    }
+
+    public List<Long> getSeatIds() {
+        List<Long> ids = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            ids.add(booking.getSeatId());
+        }
+        return ids;
+    }
+
+    public int getSeatCount() {
+        return bookings.size();
+    }
+
+    public BigDecimal getTotalAmount() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Booking booking : bookings) {
+            total = total.add(booking.getTotalAmount());
+        }
+        return total;
+    }
+}
@@ -0,0 +1,63 @@
+package com.ticketly.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * A new row for the shows table, as read from a schedule import.
+ */
+public final class ScheduledShow {
+    private final long movieId;
+    private final long theaterId;
+    private final LocalDate showDate;
+    private final LocalTime showTime;
+    private final BigDecimal priceRegular;
+    private final BigDecimal pricePremium;
+    private final BigDecimal priceVip;
+    private final boolean active;
+
+    public ScheduledShow(long movieId, long theaterId, LocalDate showDate, LocalTime showTime,
+                         BigDecimal priceRegular, BigDecimal pricePremium, BigDecimal priceVip, boolean active) {
+        this.movieId = movieId;
+        this.theaterId = theaterId;
+        this.showDate = showDate;
+        this.showTime = showTime;
+        this.priceRegular = priceRegular;
+        this.pricePremium = pricePremium;
+        this.priceVip = priceVip;
+        this.active = active;
+    }
+
+    public long getMovieId() {
+        return movieId;
+    }
+
+    public long getTheaterId() {
+        return theaterId;
+    }
+
+    public LocalDate getShowDate() {
+        return showDate;
+    }
+
+    public LocalTime getShowTime() {
+        return showTime;
+    }
+
+    public BigDecimal getPriceRegular() {
+        return priceRegular;
+    }
+
+    public BigDecimal getPricePremium() {
+        return pricePremium;
+    }
+
+    public BigDecimal getPriceVip() {
+        return priceVip;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+}
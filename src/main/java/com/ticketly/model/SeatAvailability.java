@@ -0,0 +1,39 @@
+package com.ticketly.model;
+
+import java.util.Arrays;
+
+/**
+ * Immutable booked/free state of every seat for a single show.
+ * Backed by a sorted array of unavailable seat ids, so lookups are a binary search
+ * and no boxing happens regardless of auditorium size.
+ */
+public final class SeatAvailability {
+    private final long showId;
+    private final long[] unavailableSeatIds;
+
+    public SeatAvailability(long showId, long[] unavailableSeatIds) {
+        this.showId = showId;
+        this.unavailableSeatIds = unavailableSeatIds.clone();
+        Arrays.sort(this.unavailableSeatIds);
+    }
+
+    public static SeatAvailability empty(long showId) {
+        return new SeatAvailability(showId, new long[0]);
+    }
+
+    public long getShowId() {
+        return showId;
+    }
+
+    public boolean isBooked(long seatId) {
+        return Arrays.binarySearch(unavailableSeatIds, seatId) >= 0;
+    }
+
+    public int getBookedCount() {
+        return unavailableSeatIds.length;
+    }
+
+    public long[] getBookedSeatIds() {
+        return unavailableSeatIds.clone();
+    }
+}
@@ -0,0 +1,187 @@
+package com.ticketly.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable seat layout of one theater: every seat's id, row, number, type and label.
+ *
+ * Seats are stored in parallel arrays in layout order (row by row, as loaded) and addressed by
+ * index. An open-addressing table maps seat ids to indexes, so finding a seat or its label is
+ * O(1) with no boxing; row names and seat types are interned into small lookup tables.
+ */
+public final class SeatLayout {
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final long theaterId;
+    private final long[] seatIds;
+    private final int[] rowIndexes;
+    private final int[] seatNumbers;
+    private final byte[] typeCodes;
+    private final boolean[] active;
+    private final String[] labels;
+    private final String[] rowNames;
+    private final String[] seatTypes;
+    private final int maxSeatNumber;
+
+    // id -> index, linear probing over a power-of-two table at most half full
+    private final long[] slotIds;
+    private final int[] slotIndexes;
+
+    private SeatLayout(long theaterId, List<Seat> seats) {
+        int size = seats.size();
+        this.theaterId = theaterId;
+        this.seatIds = new long[size];
+        this.rowIndexes = new int[size];
+        this.seatNumbers = new int[size];
+        this.typeCodes = new byte[size];
+        this.active = new boolean[size];
+        this.labels = new String[size];
+
+        Map<String, Integer> rows = new LinkedHashMap<>();
+        Map<String, Integer> types = new LinkedHashMap<>();
+        int maxNumber = 0;
+        for (int i = 0; i < size; i++) {
+            Seat seat = seats.get(i);
+            String row = seat.getSeatRow() != null ? seat.getSeatRow() : "";
+            String type = seat.getSeatType() != null ? seat.getSeatType() : "REGULAR";
+            seatIds[i] = seat.getId();
+            rowIndexes[i] = rows.computeIfAbsent(row, key -> rows.size());
+            seatNumbers[i] = seat.getSeatNumber();
+            typeCodes[i] = (byte) (int) types.computeIfAbsent(type, key -> types.size());
+            active[i] = seat.isActive();
+            labels[i] = row + seat.getSeatNumber();
+            maxNumber = Math.max(maxNumber, seat.getSeatNumber());
+        }
+        if (types.size() > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many seat types: " + types.size());
+        }
+        this.rowNames = rows.keySet().toArray(new String[0]);
+        this.seatTypes = types.keySet().toArray(new String[0]);
+        this.maxSeatNumber = maxNumber;
+
+        int capacity = Integer.highestOneBit(Math.max(size, 1) * 2 - 1) << 1;
+        this.slotIds = new long[capacity];
+        this.slotIndexes = new int[capacity];
+        Arrays.fill(slotIds, EMPTY);
+        for (int i = 0; i < size; i++) {
+            int slot = slot(seatIds[i]);
+            while (slotIds[slot] != EMPTY && slotIds[slot] != seatIds[i]) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            slotIds[slot] = seatIds[i];
+            slotIndexes[slot] = i;
+        }
+    }
+
+    /**
+     * Build the layout from the theater's seats, which should be ordered by row and number.
+     */
+    public static SeatLayout of(long theaterId, List<Seat> seats) {
+        return new SeatLayout(theaterId, seats);
+    }
+
+    public long getTheaterId() {
+        return theaterId;
+    }
+
+    public int size() {
+        return seatIds.length;
+    }
+
+    /**
+     * Index of the seat in this layout, or -1 if it does not belong to the theater.
+     */
+    public int indexOf(long seatId) {
+        int mask = slotIds.length - 1;
+        int slot = slot(seatId);
+        while (slotIds[slot] != EMPTY) {
+            if (slotIds[slot] == seatId) {
+                return slotIndexes[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    public boolean contains(long seatId) {
+        return indexOf(seatId) >= 0;
+    }
+
+    public long getSeatId(int index) {
+        return seatIds[index];
+    }
+
+    /**
+     * Position of the seat's row among all rows of the layout, starting at 0.
+     */
+    public int getRowIndex(int index) {
+        return rowIndexes[index];
+    }
+
+    public String getRowName(int index) {
+        return rowNames[rowIndexes[index]];
+    }
+
+    public int getSeatNumber(int index) {
+        return seatNumbers[index];
+    }
+
+    public String getSeatType(int index) {
+        return seatTypes[typeCodes[index]];
+    }
+
+    public boolean isActive(int index) {
+        return active[index];
+    }
+
+    /**
+     * Row name followed by seat number, e.g. "C12".
+     */
+    public String getLabel(int index) {
+        return labels[index];
+    }
+
+    /**
+     * Label of the seat, or null if it does not belong to the theater.
+     */
+    public String labelOf(long seatId) {
+        int index = indexOf(seatId);
+        return index >= 0 ? labels[index] : null;
+    }
+
+    /**
+     * Labels of the given seats in the same order, skipping seats of other theaters.
+     */
+    public List<String> labelsOf(Collection<Long> seatIds) {
+        List<String> result = new ArrayList<>(seatIds.size());
+        for (Long seatId : seatIds) {
+            String label = labelOf(seatId);
+            if (label != null) {
+                result.add(label);
+            }
+        }
+        return result;
+    }
+
+    public int getRowCount() {
+        return rowNames.length;
+    }
+
+    public String getRowNameAt(int rowIndex) {
+        return rowNames[rowIndex];
+    }
+
+    public int getMaxSeatNumber() {
+        return maxSeatNumber;
+    }
+
+    private int slot(long seatId) {
+        long hash = seatId * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & (slotIds.length - 1);
+    }
+}
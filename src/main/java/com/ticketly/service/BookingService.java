@@ -0,0 +1,331 @@
+package com.ticketly.service;
+
+import com.ticketly.dao.CatalogCache;
+import com.ticketly.dao.SeatInventory;
+import com.ticketly.dao.SeatRepository;
+import com.ticketly.model.Booking;
+import com.ticketly.model.BookingOrder;
+import com.ticketly.model.Movie;
+import com.ticketly.model.SeatLayout;
+import com.ticketly.model.Show;
+import com.ticketly.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The booking flow as a plain API: quote, hold, confirm, release, cancel and ticket view.
+ *
+ * Every call names the user it acts for and keeps no per-caller state, so one instance serves
+ * any number of concurrent sessions: the desktop UI, kiosks, batch jobs and load tests. Seat
+ * claims go through the shared {@link SeatHoldService} and {@link SeatInventory}, and catalog
+ * and layout lookups through their caches. Calls block on the database, so UI code must make
+ * them off the FX thread.
+ *
+ * Outcomes come back as a {@link Result} with a {@link Status} and a message fit for the user,
+ * rather than as null or an exception.
+ */
+public class BookingService {
+    private static final Logger logger = LoggerFactory.getLogger(BookingService.class);
+    private static final BookingService instance = new BookingService(CatalogCache.getInstance(),
+            SeatLayoutService.getInstance(), SeatHoldService.getInstance(), SeatInventory.getInstance(),
+            new SeatRepository());
+
+    public enum Status {
+        OK,
+        INVALID,
+        NOT_FOUND,
+        FORBIDDEN,
+        SEATS_UNAVAILABLE,
+        HOLD_EXPIRED,
+        // Too many seats in one hold, or too many holds open for the user
+        LIMIT_REACHED,
+        FAILED
+    }
+
+    public static final class Result<T> {
+        private final Status status;
+        private final T value;
+        private final String message;
+
+        private Result(Status status, T value, String message) {
+            this.status = status;
+            this.value = value;
+            this.message = message;
+        }
+
+        static <T> Result<T> ok(T value) {
+            return new Result<>(Status.OK, value, null);
+        }
+
+        static <T> Result<T> failure(Status status, String message) {
+            return new Result<>(status, null, message);
+        }
+
+        public boolean isOk() {
+            return status == Status.OK;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        /**
+         * The value of a successful call, null otherwise.
+         */
+        public T getValue() {
+            return value;
+        }
+
+        /**
+         * Why the call failed, null on success.
+         */
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return isOk() ? "OK" : status + ": " + message;
+        }
+    }
+
+    /**
+     * Price of a set of seats for a show, and which of them are currently taken.
+     */
+    public static final class Quote {
+        private final long showId;
+        private final List<Long> seatIds;
+        private final List<String> seatLabels;
+        private final BigDecimal unitPrice;
+        private final BigDecimal totalAmount;
+        private final List<Long> unavailableSeatIds;
+
+        Quote(long showId, List<Long> seatIds, List<String> seatLabels, BigDecimal unitPrice,
+              List<Long> unavailableSeatIds) {
+            this.showId = showId;
+            this.seatIds = List.copyOf(seatIds);
+            this.seatLabels = List.copyOf(seatLabels);
+            this.unitPrice = unitPrice;
+            this.totalAmount = unitPrice.multiply(BigDecimal.valueOf(seatIds.size()));
+            this.unavailableSeatIds = List.copyOf(unavailableSeatIds);
+        }
+
+        public long getShowId() {
+            return showId;
+        }
+
+        public List<Long> getSeatIds() {
+            return seatIds;
+        }
+
+        public List<String> getSeatLabels() {
+            return seatLabels;
+        }
+
+        public BigDecimal getUnitPrice() {
+            return unitPrice;
+        }
+
+        public BigDecimal getTotalAmount() {
+            return totalAmount;
+        }
+
+        /**
+         * Seats that are booked or held by someone else right now.
+         */
+        public List<Long> getUnavailableSeatIds() {
+            return unavailableSeatIds;
+        }
+
+        public boolean isAvailable() {
+            return unavailableSeatIds.isEmpty();
+        }
+    }
+
+    /**
+     * Ticket for a confirmed order: one for the whole order and one per seat for printing.
+     */
+    public static final class TicketView {
+        private final TicketDetails ticket;
+        private final List<TicketDetails> seatTickets;
+
+        TicketView(TicketDetails ticket, List<TicketDetails> seatTickets) {
+            this.ticket = ticket;
+            this.seatTickets = List.copyOf(seatTickets);
+        }
+
+        public TicketDetails getTicket() {
+            return ticket;
+        }
+
+        public List<TicketDetails> getSeatTickets() {
+            return seatTickets;
+        }
+    }
+
+    private final CatalogCache catalog;
+    private final SeatLayoutService layouts;
+    private final SeatHoldService holds;
+    private final SeatInventory inventory;
+    private final SeatRepository seatRepository;
+
+    public BookingService(CatalogCache catalog, SeatLayoutService layouts, SeatHoldService holds,
+                          SeatInventory inventory, SeatRepository seatRepository) {
+        this.catalog = catalog;
+        this.layouts = layouts;
+        this.holds = holds;
+        this.inventory = inventory;
+        this.seatRepository = seatRepository;
+    }
+
+    public static BookingService getInstance() {
+        return instance;
+    }
+
+    /**
+     * Price the seats at the show's price and report which are taken. Does not reserve anything.
+     */
+    public Result<Quote> quote(long showId, Collection<Long> seatIds) {
+        Show show = catalog.findShowById(showId);
+        Result<Quote> invalid = validate(show, seatIds);
+        if (invalid != null) {
+            return invalid;
+        }
+        SeatLayout layout = layouts.getLayout(show.getTheaterId());
+        List<Long> unavailable = new ArrayList<>();
+        for (Long seatId : seatIds) {
+            if (inventory.isTaken(showId, seatId)) {
+                unavailable.add(seatId);
+            }
+        }
+        return Result.ok(new Quote(showId, new ArrayList<>(seatIds), layout.labelsOf(seatIds), show.getPrice(), unavailable));
+    }
+
+    /**
+     * Hold every seat for the user or none of them, until the hold is confirmed, released or
+     * expires. Limited in seats per hold and in open holds per user.
+     */
+    public Result<SeatHold> hold(long userId, long showId, Collection<Long> seatIds) {
+        if (seatIds.size() > holds.getMaxSeatsPerHold()) {
+            return Result.failure(Status.LIMIT_REACHED,
+                    "You can hold at most " + holds.getMaxSeatsPerHold() + " seats at a time.");
+        }
+        Show show = catalog.findShowById(showId);
+        Result<SeatHold> invalid = validate(show, seatIds);
+        if (invalid != null) {
+            return invalid;
+        }
+        SeatHold hold = holds.hold(showId, userId, seatIds);
+        if (hold == null && holds.getActiveHoldCount(userId) >= holds.getMaxHoldsPerUser()) {
+            return Result.failure(Status.LIMIT_REACHED, "You already have " + holds.getMaxHoldsPerUser() +
+                    " seat holds open. Complete or release one first.");
+        }
+        if (hold == null) {
+            return Result.failure(Status.SEATS_UNAVAILABLE,
+                    "Some of the selected seats are no longer available. Please choose again.");
+        }
+        return Result.ok(hold);
+    }
+
+    /**
+     * Book the held seats at the show's price.
+     */
+    public Result<BookingOrder> confirm(long userId, String holdId) {
+        SeatHold hold = holds.find(holdId);
+        if (hold == null || hold.isExpired()) {
+            return Result.failure(Status.HOLD_EXPIRED, "Your seat hold has expired. Please choose your seats again.");
+        }
+        if (hold.getUserId() != userId) {
+            logger.warn("Attempt to confirm another user's hold: holdId={}, userId={}", holdId, userId);
+            return Result.failure(Status.FORBIDDEN, "This seat hold belongs to another user.");
+        }
+        Show show = catalog.findShowById(hold.getShowId());
+        if (show == null) {
+            holds.release(holdId);
+            return Result.failure(Status.NOT_FOUND, "Show not found.");
+        }
+        BookingOrder order = holds.confirm(holdId, show.getPrice().doubleValue());
+        if (order == null) {
+            return Result.failure(Status.FAILED, "Seat booking failed. Your seat hold may have expired.");
+        }
+        return Result.ok(order);
+    }
+
+    /**
+     * Give up a hold before it expires. Releasing a hold that is already gone is not an error.
+     */
+    public Result<Void> release(long userId, String holdId) {
+        SeatHold hold = holds.find(holdId);
+        if (hold != null && hold.getUserId() != userId) {
+            return Result.failure(Status.FORBIDDEN, "This seat hold belongs to another user.");
+        }
+        holds.release(holdId);
+        return Result.ok(null);
+    }
+
+    /**
+     * Cancel the user's confirmed bookings among the ids and free their seats. Returns the
+     * bookings that were cancelled; ids of other users' or already cancelled bookings are skipped.
+     */
+    public Result<List<Booking>> cancel(long userId, Collection<Long> bookingIds) {
+        if (bookingIds.isEmpty()) {
+            return Result.failure(Status.INVALID, "No bookings selected.");
+        }
+        List<Booking> cancelled = seatRepository.cancelBookings(userId, bookingIds);
+        if (cancelled.isEmpty()) {
+            return Result.failure(Status.NOT_FOUND, "No confirmed bookings to cancel.");
+        }
+        Map<Long, List<Long>> seatsByShow = new LinkedHashMap<>();
+        for (Booking booking : cancelled) {
+            seatsByShow.computeIfAbsent(booking.getShowId(), id -> new ArrayList<>()).add(booking.getSeatId());
+        }
+        seatsByShow.forEach(inventory::cancel);
+        return Result.ok(cancelled);
+    }
+
+    /**
+     * Everything needed to show or print the tickets of a confirmed order. Takes the caller's
+     * already loaded user (e.g. from the session) so the view costs no users query.
+     */
+    public Result<TicketView> ticket(User user, BookingOrder order, String paymentMethod) {
+        if (order.getUserId() != user.getId()) {
+            return Result.failure(Status.FORBIDDEN, "This booking belongs to another user.");
+        }
+        Show show = catalog.findShowById(order.getShowId());
+        if (show == null) {
+            return Result.failure(Status.NOT_FOUND, "Show not found.");
+        }
+        Movie movie = catalog.findMovieById((int) show.getMovieId());
+        if (movie == null) {
+            return Result.failure(Status.NOT_FOUND, "Movie not found.");
+        }
+        SeatLayout layout = layouts.getLayout(show.getTheaterId());
+        return Result.ok(new TicketView(
+                TicketDetails.of(order, user, show, movie, layout, paymentMethod),
+                TicketDetails.perSeat(order, user, show, movie, layout, paymentMethod)));
+    }
+
+    private <T> Result<T> validate(Show show, Collection<Long> seatIds) {
+        if (seatIds.isEmpty()) {
+            return Result.failure(Status.INVALID, "Please select at least one seat.");
+        }
+        if (show == null) {
+            return Result.failure(Status.NOT_FOUND, "Show not found.");
+        }
+        SeatLayout layout = layouts.getLayout(show.getTheaterId());
+        for (Long seatId : seatIds) {
+            int index = layout.indexOf(seatId);
+            if (index < 0 || !layout.isActive(index)) {
+                return Result.failure(Status.INVALID, "Seat " + seatId + " is not available for this show.");
+            }
+        }
+        return null;
+    }
+}
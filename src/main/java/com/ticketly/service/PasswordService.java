@@ -0,0 +1,159 @@
+package com.ticketly.service;
+
+import at.favre.lib.crypto.bcrypt.BCrypt;
+import com.ticketly.util.Threads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * BCrypt hashing and verification on a dedicated worker pool.
+ *
+ * The pool has one thread per core and a short bounded queue. When a login burst fills the
+ * queue, further requests fail fast with a {@link RejectedExecutionException} instead of
+ * queueing behind seconds of hashing work, which keeps the latency of accepted logins bounded.
+ *
+ * Stored values that are not BCrypt hashes are treated as legacy plain-text passwords and,
+ * like hashes with an outdated cost, are reported as needing a rehash after a successful match.
+ */
+public class PasswordService {
+    private static final Logger logger = LoggerFactory.getLogger(PasswordService.class);
+
+    public static final int DEFAULT_COST = 12;
+    private static final int QUEUE_PER_THREAD = 8;
+    private static final PasswordService instance =
+            new PasswordService(DEFAULT_COST, Runtime.getRuntime().availableProcessors());
+
+    private final int cost;
+    private final ThreadPoolExecutor executor;
+    // Hash of a random secret at this cost, checked for unknown users; created on first use
+    private volatile String dummyHash;
+
+    public PasswordService(int cost, int threads) {
+        this.cost = cost;
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads * QUEUE_PER_THREAD),
+                Threads.daemonThreadFactory("password-hasher"), new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public static PasswordService getInstance() {
+        return instance;
+    }
+
+    /**
+     * Result of checking a password against a stored value.
+     */
+    public static final class Verification {
+        private final boolean matches;
+        private final boolean needsRehash;
+
+        Verification(boolean matches, boolean needsRehash) {
+            this.matches = matches;
+            this.needsRehash = needsRehash;
+        }
+
+        public boolean matches() {
+            return matches;
+        }
+
+        /**
+         * True if the password matched but the stored value should be replaced with a fresh hash.
+         */
+        public boolean needsRehash() {
+            return needsRehash;
+        }
+    }
+
+    /**
+     * Hash the password with the current cost.
+     * Fails with {@link RejectedExecutionException} if the pool is saturated.
+     */
+    public CompletableFuture<String> hash(String password) {
+        return submit(() -> BCrypt.withDefaults().hashToString(cost, password.toCharArray()));
+    }
+
+    /**
+     * Check the password against a stored BCrypt hash or legacy plain-text value.
+     * Fails with {@link RejectedExecutionException} if the pool is saturated.
+     */
+    public CompletableFuture<Verification> verify(String password, String stored) {
+        if (stored == null) {
+            return CompletableFuture.completedFuture(new Verification(false, false));
+        }
+        if (!isHash(stored)) {
+            // Cheap, so no need to use the pool; compare in constant time all the same
+            boolean matches = MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8),
+                    stored.getBytes(StandardCharsets.UTF_8));
+            return CompletableFuture.completedFuture(new Verification(matches, matches));
+        }
+        return submit(() -> {
+            boolean matches = BCrypt.verifyer().verify(password.toCharArray(), stored).verified;
+            return new Verification(matches, matches && costOf(stored) != cost);
+        });
+    }
+
+    /**
+     * Do the same work as verifying a password for an existing user, against a hash nothing
+     * matches, so a login for an unknown username takes as long as a wrong password. Never
+     * matches. Fails with {@link RejectedExecutionException} if the pool is saturated.
+     */
+    public CompletableFuture<Verification> verifyUnknownUser(String password) {
+        return submit(() -> {
+            BCrypt.verifyer().verify(password.toCharArray(), dummyHash());
+            return new Verification(false, false);
+        });
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Password hashing pool saturated: active={}, queued={}", executor.getActiveCount(), executor.getQueue().size());
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private String dummyHash() {
+        String hash = dummyHash;
+        if (hash == null) {
+            hash = BCrypt.withDefaults().hashToString(cost, UUID.randomUUID().toString().toCharArray());
+            dummyHash = hash;
+        }
+        return hash;
+    }
+
+    private static boolean isHash(String stored) {
+        return stored.length() == 60 && stored.startsWith("$2");
+    }
+
+    // $2a$12$... -> 12
+    private static int costOf(String hash) {
+        try {
+            return Integer.parseInt(hash.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
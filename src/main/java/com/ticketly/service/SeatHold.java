@@ -0,0 +1,47 @@
+package com.ticketly.service;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A time-limited reservation of seats for one user between seat selection and payment.
+ */
+public class SeatHold {
+    private final String id;
+    private final long showId;
+    private final long userId;
+    private final List<Long> seatIds;
+    private final Instant expiresAt;
+
+    public SeatHold(String id, long showId, long userId, List<Long> seatIds, Instant expiresAt) {
+        this.id = id;
+        this.showId = showId;
+        this.userId = userId;
+        this.seatIds = List.copyOf(seatIds);
+        this.expiresAt = expiresAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public long getShowId() {
+        return showId;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public List<Long> getSeatIds() {
+        return seatIds;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public boolean isExpired() {
+        return !Instant.now().isBefore(expiresAt);
+    }
+}
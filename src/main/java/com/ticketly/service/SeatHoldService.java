@@ -0,0 +1,216 @@
+package com.ticketly.service;
+
+import com.ticketly.dao.SeatInventory;
+import com.ticketly.dao.SeatRepository;
+import com.ticketly.model.BookingOrder;
+import com.ticketly.model.SeatLayout;
+import com.ticketly.util.AsyncDao;
+import com.ticketly.util.HashedWheelTimer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds seats for a limited time while the user pays.
+ *
+ * Held seats are claimed in the {@link SeatInventory}, so they show as unavailable to everyone
+ * else, and are released automatically when the hold expires. Expiry runs on a single
+ * {@link HashedWheelTimer} rather than one scheduled task per hold. The same timer drops shows
+ * from the inventory once nobody has used them for {@link #INVENTORY_IDLE}, so a long-running
+ * server does not keep the seat map of every past show, and reconciles the rest with the
+ * bookings table, so bookings made by other instances are not missed for long.
+ *
+ * A hold covers at most {@code hold.maxSeats} seats (default 10) and a user has at most
+ * {@code hold.maxPerUser} holds open (default 3), so one client cannot lock up a show.
+ */
+public class SeatHoldService {
+    private static final Logger logger = LoggerFactory.getLogger(SeatHoldService.class);
+
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
+    public static final Duration INVENTORY_IDLE = Duration.ofMinutes(30);
+    private static final Duration INVENTORY_SWEEP_INTERVAL = Duration.ofMinutes(1);
+    public static final int DEFAULT_MAX_SEATS_PER_HOLD = Integer.getInteger("hold.maxSeats", 10);
+    public static final int DEFAULT_MAX_HOLDS_PER_USER = Integer.getInteger("hold.maxPerUser", 3);
+    private static final SeatHoldService instance = new SeatHoldService(DEFAULT_TTL);
+
+    private final Duration ttl;
+    private final int maxSeatsPerHold;
+    private final int maxHoldsPerUser;
+    private final SeatInventory inventory = SeatInventory.getInstance();
+    private final SeatRepository seatRepository = new SeatRepository();
+    private final SeatLayoutService layouts = SeatLayoutService.getInstance();
+    private final ConcurrentMap<String, ActiveHold> holds = new ConcurrentHashMap<>();
+    // Open holds per user id; users without one have no entry
+    private final ConcurrentMap<Long, Integer> holdsPerUser = new ConcurrentHashMap<>();
+    private final HashedWheelTimer timer = new HashedWheelTimer("seat-hold-timer", 1, TimeUnit.SECONDS, 512);
+
+    public SeatHoldService(Duration ttl) {
+        this(ttl, DEFAULT_MAX_SEATS_PER_HOLD, DEFAULT_MAX_HOLDS_PER_USER);
+    }
+
+    public SeatHoldService(Duration ttl, int maxSeatsPerHold, int maxHoldsPerUser) {
+        this.ttl = ttl;
+        this.maxSeatsPerHold = maxSeatsPerHold;
+        this.maxHoldsPerUser = maxHoldsPerUser;
+        scheduleInventorySweep();
+    }
+
+    public static SeatHoldService getInstance() {
+        return instance;
+    }
+
+    /**
+     * Hold every requested seat or none of them.
+     * Returns null if any seat is already booked or held, or is not an active seat of the show's
+     * theater, or if the hold would exceed the seat or per-user limit.
+     */
+    public SeatHold hold(long showId, long userId, Collection<Long> seatIds) {
+        if (seatIds.size() > maxSeatsPerHold || !openSlot(userId)) {
+            logger.info("Seat hold over the limit: showId={}, userId={}, seats={}", showId, userId, seatIds.size());
+            return null;
+        }
+        SeatLayout layout = layouts.getLayoutForShow(showId);
+        if (seatIds.isEmpty() || layout == null || !allActive(layout, seatIds) || !inventory.claim(showId, seatIds)) {
+            closeSlot(userId);
+            logger.info("Seat hold rejected: showId={}, userId={}, seats={}", showId, userId, seatIds);
+            return null;
+        }
+        SeatHold hold = new SeatHold(UUID.randomUUID().toString(), showId, userId,
+                new ArrayList<>(seatIds), Instant.now().plus(ttl));
+        ActiveHold active = new ActiveHold(hold);
+        // Published before the timeout exists, so an early expiry always finds it
+        holds.put(hold.getId(), active);
+        active.timeout = timer.schedule(() -> expire(active), ttl.toMillis(), TimeUnit.MILLISECONDS);
+        logger.info("Seats held: holdId={}, showId={}, userId={}, seats={}", hold.getId(), showId, userId, layout.labelsOf(seatIds));
+        return hold;
+    }
+
+    /**
+     * Convert a hold into confirmed bookings. Returns null if the hold has expired, was
+     * released, or the bookings could not be persisted.
+     */
+    public BookingOrder confirm(String holdId, double price) {
+        ActiveHold active = holds.remove(holdId);
+        if (active == null) {
+            logger.warn("Attempt to confirm unknown or expired hold: holdId={}", holdId);
+            return null;
+        }
+        active.cancelTimeout();
+        SeatHold hold = active.hold;
+        closeSlot(hold.getUserId());
+        if (hold.isExpired()) {
+            // The timer ticks once a second, so the hold may have lapsed without firing yet
+            inventory.release(hold.getShowId(), hold.getSeatIds());
+            logger.warn("Attempt to confirm expired hold: holdId={}", holdId);
+            return null;
+        }
+        return seatRepository.bookClaimedSeats(hold.getShowId(), hold.getUserId(), hold.getSeatIds(), price);
+    }
+
+    /**
+     * Give the seats back before the hold expires, e.g. when the user leaves the payment screen.
+     */
+    public void release(String holdId) {
+        ActiveHold active = holds.remove(holdId);
+        if (active != null) {
+            active.cancelTimeout();
+            closeSlot(active.hold.getUserId());
+            inventory.release(active.hold.getShowId(), active.hold.getSeatIds());
+            logger.info("Seat hold released: holdId={}", holdId);
+        }
+    }
+
+    public SeatHold find(String holdId) {
+        ActiveHold active = holds.get(holdId);
+        return active != null ? active.hold : null;
+    }
+
+    public int getActiveHoldCount() {
+        return holds.size();
+    }
+
+    public int getActiveHoldCount(long userId) {
+        return holdsPerUser.getOrDefault(userId, 0);
+    }
+
+    public int getMaxSeatsPerHold() {
+        return maxSeatsPerHold;
+    }
+
+    public int getMaxHoldsPerUser() {
+        return maxHoldsPerUser;
+    }
+
+    // Counts a new hold for the user, unless they are at the limit
+    private boolean openSlot(long userId) {
+        boolean[] opened = new boolean[1];
+        holdsPerUser.compute(userId, (id, count) -> {
+            int open = count == null ? 0 : count;
+            if (open >= maxHoldsPerUser) {
+                return count;
+            }
+            opened[0] = true;
+            return open + 1;
+        });
+        return opened[0];
+    }
+
+    private void closeSlot(long userId) {
+        holdsPerUser.computeIfPresent(userId, (id, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private static boolean allActive(SeatLayout layout, Collection<Long> seatIds) {
+        for (Long seatId : seatIds) {
+            int index = layout.indexOf(seatId);
+            if (index < 0 || !layout.isActive(index)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void scheduleInventorySweep() {
+        timer.schedule(() -> {
+            try {
+                inventory.evictIdle(INVENTORY_IDLE.toMillis(), TimeUnit.MILLISECONDS);
+                // One query per loaded show; off the timer thread so expiries are not delayed
+                AsyncDao.run(inventory::reconcileAll);
+            } finally {
+                scheduleInventorySweep();
+            }
+        }, INVENTORY_SWEEP_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void expire(ActiveHold active) {
+        if (holds.remove(active.hold.getId(), active)) {
+            closeSlot(active.hold.getUserId());
+            inventory.release(active.hold.getShowId(), active.hold.getSeatIds());
+            logger.info("Seat hold expired: holdId={}, showId={}", active.hold.getId(), active.hold.getShowId());
+        }
+    }
+
+    private static final class ActiveHold {
+        private final SeatHold hold;
+        private volatile HashedWheelTimer.Timeout timeout;
+
+        ActiveHold(SeatHold hold) {
+            this.hold = hold;
+        }
+
+        // The hold may be confirmed or released before hold() has stored its timeout
+        void cancelTimeout() {
+            HashedWheelTimer.Timeout scheduled = timeout;
+            if (scheduled != null) {
+                scheduled.cancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.ticketly.service;
+
+import com.ticketly.dao.CatalogCache;
+import com.ticketly.dao.SeatRepository;
+import com.ticketly.model.Seat;
+import com.ticketly.model.SeatLayout;
+import com.ticketly.model.Show;
+import com.ticketly.util.TtlCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared, cached {@link SeatLayout} per theater for the seat map, the e-ticket and the booking
+ * path. A theater's seats are read once and kept until {@link #invalidate(long)} is called.
+ *
+ * Code that changes the seats table must invalidate the theater; the time to live only bounds
+ * how long a change made outside the application stays invisible.
+ */
+public class SeatLayoutService {
+    private static final Logger logger = LoggerFactory.getLogger(SeatLayoutService.class);
+    private static final long TTL_MINUTES = 30;
+    private static final SeatLayoutService instance = new SeatLayoutService(new SeatRepository(), CatalogCache.getInstance());
+
+    private final SeatRepository seatRepository;
+    private final CatalogCache catalog;
+    private final TtlCache<Long, SeatLayout> layouts = new TtlCache<>("seat-layouts", 256, TTL_MINUTES, TimeUnit.MINUTES);
+
+    public SeatLayoutService(SeatRepository seatRepository, CatalogCache catalog) {
+        this.seatRepository = seatRepository;
+        this.catalog = catalog;
+    }
+
+    public static SeatLayoutService getInstance() {
+        return instance;
+    }
+
+    /**
+     * Layout of the theater. A theater without seats gets an empty layout, which is not cached.
+     */
+    public SeatLayout getLayout(long theaterId) {
+        SeatLayout layout = layouts.get(theaterId, this::load);
+        return layout != null ? layout : SeatLayout.of(theaterId, List.of());
+    }
+
+    /**
+     * Layout of the theater the show is playing in, or null if the show does not exist.
+     */
+    public SeatLayout getLayoutForShow(long showId) {
+        Show show = catalog.findShowById(showId);
+        return show != null ? getLayout(show.getTheaterId()) : null;
+    }
+
+    public void invalidate(long theaterId) {
+        layouts.invalidate(theaterId);
+    }
+
+    public void invalidateAll() {
+        layouts.invalidateAll();
+    }
+
+    public TtlCache<Long, SeatLayout> getCache() {
+        return layouts;
+    }
+
+    // An empty result may also mean the query failed, so it is not cached
+    private SeatLayout load(long theaterId) {
+        List<Seat> seats = seatRepository.findByTheaterId(theaterId);
+        if (seats.isEmpty()) {
+            return null;
+        }
+        logger.debug("Seat layout loaded: theaterId={}, seats={}", theaterId, seats.size());
+        return SeatLayout.of(theaterId, seats);
+    }
+}
@@ -0,0 +1,530 @@
+package com.ticketly.service;
+
+import com.ticketly.dao.CatalogCache;
+import com.ticketly.dao.ShowRepository;
+import com.ticketly.model.Movie;
+import com.ticketly.model.ScheduledShow;
+import com.ticketly.model.Theater;
+import com.ticketly.util.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Bulk import of show schedules from CSV or JSON Lines.
+ *
+ * The input is read line by line and handed straight to {@link ShowRepository#insertAll}, which
+ * writes batched inserts and commits every {@code chunkSize} rows, so memory does not grow with
+ * the file. Movies and theaters are resolved by id or by exact title/name against lookup tables
+ * built once from the {@link CatalogCache}; a theater's existing show times are read once, the
+ * first time the theater appears. Invalid rows are rejected with a reason and do not stop the
+ * import; so are rows whose theater's existing shows could not be read, rather than risking a
+ * clash.
+ *
+ * Columns (CSV header or JSON field names): {@code movie_id} or {@code movie},
+ * {@code theater_id} or {@code theater}, {@code show_date} (yyyy-MM-dd), {@code show_time}
+ * (HH:mm[:ss]) and {@code price_regular}; optional {@code price_premium}, {@code price_vip} and
+ * {@code is_active} (default true). Blank lines and lines starting with '#' are ignored.
+ */
+public class ShowScheduleImporter {
+    private static final Logger logger = LoggerFactory.getLogger(ShowScheduleImporter.class);
+
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+    // Rejects kept in the result; the listener sees all of them
+    private static final int MAX_KEPT_REJECTS = 100;
+    private static final long AMBIGUOUS = -1;
+
+    public enum Format {
+        CSV, JSON_LINES;
+
+        /**
+         * Format by file extension: .jsonl and .ndjson are JSON Lines, anything else CSV. A .json
+         * file is refused, since it usually holds one array that cannot be read line by line.
+         */
+        public static Format of(Path file) {
+            String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+            if (name.endsWith(".json")) {
+                throw new IllegalArgumentException("Unsupported schedule file " + file.getFileName() +
+                        ": write JSON Lines (one show object per line) to a .jsonl or .ndjson file");
+            }
+            return name.endsWith(".jsonl") || name.endsWith(".ndjson") ? JSON_LINES : CSV;
+        }
+    }
+
+    /**
+     * Progress callbacks, called on the importing thread.
+     */
+    public interface Listener {
+        /**
+         * After every committed chunk, with running totals.
+         */
+        default void onProgress(long read, long imported, long rejected) {
+        }
+
+        default void onRejected(Reject reject) {
+        }
+    }
+
+    public static final class Reject {
+        private final long line;
+        private final String reason;
+        private final String input;
+
+        Reject(long line, String reason, String input) {
+            this.line = line;
+            this.reason = reason;
+            this.input = input;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        public String getInput() {
+            return input;
+        }
+
+        @Override
+        public String toString() {
+            return "line " + line + ": " + reason;
+        }
+    }
+
+    public static final class Result {
+        private final long read;
+        private final long imported;
+        private final long rejected;
+        private final List<Reject> rejects;
+        private final boolean complete;
+        private final long elapsedMillis;
+
+        Result(long read, long imported, long rejected, List<Reject> rejects, boolean complete, long elapsedMillis) {
+            this.read = read;
+            this.imported = imported;
+            this.rejected = rejected;
+            this.rejects = List.copyOf(rejects);
+            this.complete = complete;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        /**
+         * Schedule rows read, valid or not.
+         */
+        public long getRead() {
+            return read;
+        }
+
+        public long getImported() {
+            return imported;
+        }
+
+        public long getRejected() {
+            return rejected;
+        }
+
+        /**
+         * The first rejects, at most 100; {@link #getRejected()} counts all of them.
+         */
+        public List<Reject> getRejects() {
+            return rejects;
+        }
+
+        /**
+         * False if a database error stopped the import; chunks committed before it remain.
+         */
+        public boolean isComplete() {
+            return complete;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        @Override
+        public String toString() {
+            return "read=" + read + ", imported=" + imported + ", rejected=" + rejected +
+                    ", complete=" + complete + ", elapsedMs=" + elapsedMillis;
+        }
+    }
+
+    private final ShowRepository showRepository;
+    private final CatalogCache catalog;
+    private final int chunkSize;
+
+    public ShowScheduleImporter(ShowRepository showRepository, CatalogCache catalog, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        this.showRepository = showRepository;
+        this.catalog = catalog;
+        this.chunkSize = chunkSize;
+    }
+
+    public ShowScheduleImporter(int chunkSize) {
+        this(new ShowRepository(), CatalogCache.getInstance(), chunkSize);
+    }
+
+    public ShowScheduleImporter() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    public Result importFile(Path file, Listener listener) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return importSchedule(reader, Format.of(file), listener);
+        }
+    }
+
+    /**
+     * Import every row of the schedule. Throws IOException if the input cannot be read or a CSV
+     * header is missing required columns; rows committed before a read error remain.
+     */
+    public Result importSchedule(Reader reader, Format format, Listener listener) throws IOException {
+        long startNanos = System.nanoTime();
+        Rows rows = new Rows(new BufferedReader(reader), format, listener);
+        rows.readHeader();
+
+        long imported;
+        try {
+            imported = showRepository.insertAll(rows, chunkSize,
+                    committed -> listener.onProgress(rows.read, committed, rows.rejected));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            if (rows.accepted > 0) {
+                catalog.invalidateShows();
+            }
+        }
+
+        // A database error leaves the chunk it stopped in uncommitted
+        boolean complete = imported == rows.accepted;
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        Result result = new Result(rows.read, imported, rows.rejected, rows.rejects, complete, elapsedMillis);
+        if (complete) {
+            logger.info("Show schedule imported: {}", result);
+        } else {
+            logger.error("Show schedule import stopped by a database error: {}", result);
+        }
+        return result;
+    }
+
+    // Streams valid rows to the repository, rejecting invalid ones on the way
+    private final class Rows implements Iterator<ScheduledShow> {
+        private final BufferedReader reader;
+        private final Format format;
+        private final Listener listener;
+        private final LocalDate today = LocalDate.now();
+        private final Map<Long, Movie> moviesById = new HashMap<>();
+        private final Map<String, Long> movieIdsByTitle = new HashMap<>();
+        private final Map<Long, Theater> theatersById = new HashMap<>();
+        private final Map<String, Long> theaterIdsByName = new HashMap<>();
+        // Show start times per theater: existing from today on, plus those imported so far
+        private final Map<Long, Set<LocalDateTime>> showTimes = new HashMap<>();
+        private final List<Reject> rejects = new ArrayList<>();
+
+        private String[] header;
+        private ScheduledShow next;
+        private long lineNumber;
+        private long read;
+        private long accepted;
+        private long rejected;
+
+        Rows(BufferedReader reader, Format format, Listener listener) {
+            this.reader = reader;
+            this.format = format;
+            this.listener = listener;
+            for (Movie movie : catalog.findAllMovies()) {
+                moviesById.put((long) movie.getId(), movie);
+                index(movieIdsByTitle, movie.getTitle(), movie.getId());
+            }
+            for (Theater theater : catalog.findAllTheaters()) {
+                theatersById.put(theater.getId(), theater);
+                index(theaterIdsByName, theater.getName(), theater.getId());
+            }
+        }
+
+        void readHeader() throws IOException {
+            if (format != Format.CSV) {
+                return;
+            }
+            String line = nextLine();
+            if (line == null) {
+                header = new String[0];
+                return;
+            }
+            List<String> columns = splitCsv(line);
+            header = new String[columns.size()];
+            for (int i = 0; i < header.length; i++) {
+                header[i] = columns.get(i).trim().toLowerCase(Locale.ROOT);
+            }
+            Set<String> names = Set.of(header);
+            List<String> missing = new ArrayList<>();
+            if (!names.contains("movie_id") && !names.contains("movie")) missing.add("movie_id or movie");
+            if (!names.contains("theater_id") && !names.contains("theater")) missing.add("theater_id or theater");
+            for (String required : List.of("show_date", "show_time", "price_regular")) {
+                if (!names.contains(required)) missing.add(required);
+            }
+            if (!missing.isEmpty()) {
+                throw new IOException("CSV header is missing columns: " + String.join(", ", missing));
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            try {
+                String line;
+                while ((line = nextLine()) != null) {
+                    read++;
+                    try {
+                        next = parse(fields(line));
+                        accepted++;
+                        return true;
+                    } catch (IllegalArgumentException e) {
+                        reject(line, e.getMessage());
+                    }
+                }
+                return false;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public ScheduledShow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ScheduledShow show = next;
+            next = null;
+            return show;
+        }
+
+        private String nextLine() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String trimmed = line.trim();
+                if (!trimmed.isEmpty() && !trimmed.startsWith("#")) {
+                    return line;
+                }
+            }
+            return null;
+        }
+
+        private Map<String, String> fields(String line) {
+            Map<String, String> fields = new HashMap<>();
+            if (format == Format.CSV) {
+                List<String> values = splitCsv(line);
+                if (values.size() > header.length) {
+                    throw new IllegalArgumentException("expected " + header.length + " columns but found " + values.size());
+                }
+                for (int i = 0; i < values.size(); i++) {
+                    String value = values.get(i).trim();
+                    if (!value.isEmpty()) {
+                        fields.put(header[i], value);
+                    }
+                }
+            } else {
+                for (Map.Entry<String, Object> field : Json.parseObject(line).entrySet()) {
+                    Object value = field.getValue();
+                    if (value != null) {
+                        String text = value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : value.toString();
+                        fields.put(field.getKey().toLowerCase(Locale.ROOT), text.trim());
+                    }
+                }
+            }
+            return fields;
+        }
+
+        private ScheduledShow parse(Map<String, String> fields) {
+            long movieId = resolve(fields, "movie_id", "movie", moviesById.keySet(), movieIdsByTitle);
+            long theaterId = resolve(fields, "theater_id", "theater", theatersById.keySet(), theaterIdsByName);
+            LocalDate date;
+            LocalTime time;
+            try {
+                date = LocalDate.parse(required(fields, "show_date"));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("invalid show_date '" + fields.get("show_date") + "'");
+            }
+            try {
+                time = LocalTime.parse(required(fields, "show_time"));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("invalid show_time '" + fields.get("show_time") + "'");
+            }
+            if (date.isBefore(today)) {
+                throw new IllegalArgumentException("show_date " + date + " is in the past");
+            }
+            BigDecimal regular = price(fields, "price_regular");
+            if (regular == null) {
+                throw new IllegalArgumentException("missing price_regular");
+            }
+            BigDecimal premium = price(fields, "price_premium");
+            BigDecimal vip = price(fields, "price_vip");
+            boolean active = active(fields.get("is_active"));
+
+            LocalDateTime start = LocalDateTime.of(date, time);
+            Set<LocalDateTime> times = showTimes.get(theaterId);
+            if (times == null) {
+                // Not cached on failure, so the theater's next row asks again
+                List<LocalDateTime> existing = showRepository.findShowTimes(theaterId, today);
+                if (existing == null) {
+                    throw new IllegalArgumentException("existing shows of theater " + theaterId + " could not be read");
+                }
+                times = new HashSet<>(existing);
+                showTimes.put(theaterId, times);
+            }
+            if (!times.add(start)) {
+                throw new IllegalArgumentException("theater " + theaterId + " already has a show at " + start);
+            }
+            return new ScheduledShow(movieId, theaterId, date, time, regular, premium, vip, active);
+        }
+
+        private long resolve(Map<String, String> fields, String idField, String nameField,
+                             Set<Long> ids, Map<String, Long> idsByName) {
+            String idValue = fields.get(idField);
+            if (idValue != null) {
+                long id;
+                try {
+                    id = Long.parseLong(idValue);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("invalid " + idField + " '" + idValue + "'");
+                }
+                if (!ids.contains(id)) {
+                    throw new IllegalArgumentException("unknown " + idField + " " + id);
+                }
+                return id;
+            }
+            String name = fields.get(nameField);
+            if (name == null) {
+                throw new IllegalArgumentException("missing " + idField + " or " + nameField);
+            }
+            Long id = idsByName.get(name.toLowerCase(Locale.ROOT));
+            if (id == null) {
+                throw new IllegalArgumentException("unknown " + nameField + " '" + name + "'");
+            }
+            if (id == AMBIGUOUS) {
+                throw new IllegalArgumentException("ambiguous " + nameField + " '" + name + "', use " + idField);
+            }
+            return id;
+        }
+
+        private void reject(String line, String reason) {
+            rejected++;
+            Reject reject = new Reject(lineNumber, reason, line);
+            if (rejects.size() < MAX_KEPT_REJECTS) {
+                rejects.add(reject);
+            }
+            logger.debug("Show schedule row rejected: {}", reject);
+            listener.onRejected(reject);
+        }
+    }
+
+    private static void index(Map<String, Long> idsByName, String name, long id) {
+        if (name != null) {
+            idsByName.merge(name.trim().toLowerCase(Locale.ROOT), id, (existing, added) -> AMBIGUOUS);
+        }
+    }
+
+    private static String required(Map<String, String> fields, String name) {
+        String value = fields.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("missing " + name);
+        }
+        return value;
+    }
+
+    private static BigDecimal price(Map<String, String> fields, String name) {
+        String value = fields.get(name);
+        if (value == null) {
+            return null;
+        }
+        BigDecimal price;
+        try {
+            price = new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid " + name + " '" + value + "'");
+        }
+        if (price.signum() < 0 || price.scale() > 2 || price.precision() - price.scale() > 8) {
+            throw new IllegalArgumentException("invalid " + name + " '" + value + "'");
+        }
+        return price.setScale(2, RoundingMode.UNNECESSARY);
+    }
+
+    private static boolean active(String value) {
+        if (value == null) {
+            return true;
+        }
+        switch (value.toLowerCase(Locale.ROOT)) {
+            case "true":
+            case "1":
+            case "yes":
+                return true;
+            case "false":
+            case "0":
+            case "no":
+                return false;
+            default:
+                throw new IllegalArgumentException("invalid is_active '" + value + "'");
+        }
+    }
+
+    // One CSV record per line; fields may be quoted, with "" for a quote inside quotes
+    static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        values.add(value.toString());
+        return values;
+    }
+}
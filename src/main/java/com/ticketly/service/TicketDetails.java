@@ -0,0 +1,131 @@
+package com.ticketly.service;
+
+import com.ticketly.model.Booking;
+import com.ticketly.model.BookingOrder;
+import com.ticketly.model.Movie;
+import com.ticketly.model.SeatLayout;
+import com.ticketly.model.Show;
+import com.ticketly.model.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Everything printed on one ticket, resolved up front so rendering needs no lookups.
+ */
+public final class TicketDetails {
+    private static final DateTimeFormatter SHOW_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final long ticketId;
+    private final String holderName;
+    private final String email;
+    private final String movieTitle;
+    private final String posterPath;
+    private final LocalDateTime showTime;
+    private final String theaterName;
+    private final List<String> seatLabels;
+    private final String paymentMethod;
+    private final BigDecimal totalAmount;
+
+    public TicketDetails(long ticketId, String holderName, String email, String movieTitle, String posterPath,
+                         LocalDateTime showTime, String theaterName, List<String> seatLabels,
+                         String paymentMethod, BigDecimal totalAmount) {
+        this.ticketId = ticketId;
+        this.holderName = holderName;
+        this.email = email;
+        this.movieTitle = movieTitle;
+        this.posterPath = posterPath;
+        this.showTime = showTime;
+        this.theaterName = theaterName;
+        this.seatLabels = List.copyOf(seatLabels);
+        this.paymentMethod = paymentMethod;
+        this.totalAmount = totalAmount;
+    }
+
+    /**
+     * One ticket for the whole order, listing every seat.
+     */
+    public static TicketDetails of(BookingOrder order, User user, Show show, Movie movie,
+                                   SeatLayout layout, String paymentMethod) {
+        return new TicketDetails(order.getId(), user.getFullName(), user.getEmail(), movie.getTitle(),
+                movie.getPosterUrl(), show.getShowTime(), show.getTheaterName(),
+                layout.labelsOf(order.getSeatIds()), paymentMethod, order.getTotalAmount());
+    }
+
+    /**
+     * One ticket per seat of the order, e.g. for printing a group booking at the box office.
+     */
+    public static List<TicketDetails> perSeat(BookingOrder order, User user, Show show, Movie movie,
+                                              SeatLayout layout, String paymentMethod) {
+        List<TicketDetails> tickets = new ArrayList<>(order.getSeatCount());
+        for (Booking booking : order.getBookings()) {
+            String label = layout.labelOf(booking.getSeatId());
+            tickets.add(new TicketDetails(booking.getId(), user.getFullName(), user.getEmail(), movie.getTitle(),
+                    movie.getPosterUrl(), show.getShowTime(), show.getTheaterName(),
+                    label != null ? List.of(label) : List.of(), paymentMethod, booking.getTotalAmount()));
+        }
+        return tickets;
+    }
+
+    public long getTicketId() {
+        return ticketId;
+    }
+
+    public String getHolderName() {
+        return holderName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getMovieTitle() {
+        return movieTitle;
+    }
+
+    public String getPosterPath() {
+        return posterPath;
+    }
+
+    public LocalDateTime getShowTime() {
+        return showTime;
+    }
+
+    public String getFormattedShowTime() {
+        return showTime.format(SHOW_TIME_FORMAT);
+    }
+
+    public String getTheaterName() {
+        return theaterName;
+    }
+
+    public List<String> getSeatLabels() {
+        return seatLabels;
+    }
+
+    public String getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    /**
+     * Text encoded in the ticket's QR code.
+     */
+    public String getQrText() {
+        return "Ticket ID: " + ticketId + "\n" +
+               "Name: " + holderName + "\n" +
+               "Email: " + email + "\n" +
+               "Movie: " + movieTitle + "\n" +
+               "Show Time: " + getFormattedShowTime() + "\n" +
+               "Theater: " + theaterName + "\n" +
+               "Seats: " + String.join(" ", seatLabels) + "\n" +
+               "Payment Method: " + paymentMethod + "\n" +
+               "Total Amount: ₹" + totalAmount;
+    }
+}
@@ -0,0 +1,324 @@
+package com.ticketly.service;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import com.ticketly.util.Threads;
+import com.ticketly.util.TtlCache;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Printable PDF tickets with an embedded QR code, one A6 landscape page per ticket.
+ *
+ * Everything that does not change between tickets is prepared once: the standard fonts are
+ * shared, the static artwork (header band, field captions, footer) is drawn once per document as
+ * a form XObject that every page references, and poster files are read once and cached, then
+ * embedded once per document without re-encoding. The QR code is drawn as vector rectangles, so
+ * no bitmap is created per ticket.
+ *
+ * Batches either stream into one document, which spills to a temp file beyond
+ * {@link #MAX_MAIN_MEMORY_BYTES}, or are written as one file per ticket on a small worker pool;
+ * either way the memory held per ticket is bounded by one page.
+ */
+public class TicketPdfGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(TicketPdfGenerator.class);
+
+    private static final PDRectangle PAGE = new PDRectangle(420, 298);
+    private static final PDFont BOLD = PDType1Font.HELVETICA_BOLD;
+    private static final PDFont REGULAR = PDType1Font.HELVETICA;
+    private static final Color BRAND = new Color(0x66, 0x7e, 0xea);
+    private static final Color CAPTION = new Color(0x75, 0x75, 0x75);
+    private static final String[] CAPTIONS = {"MOVIE", "SHOW TIME", "THEATER", "SEATS", "NAME", "PAYMENT", "AMOUNT"};
+    private static final float FIELD_X = 105;
+    private static final float FIELD_TOP = 225;
+    private static final float FIELD_STEP = 26;
+    private static final float FIELD_WIDTH = 175;
+    private static final float QR_X = 292;
+    private static final float QR_Y = 110;
+    private static final float QR_SIZE = 110;
+    private static final float POSTER_X = 20;
+    private static final float POSTER_Y = 128;
+    private static final float POSTER_WIDTH = 70;
+    private static final float POSTER_HEIGHT = 105;
+
+    static final long MAX_MAIN_MEMORY_BYTES = 16L * 1024 * 1024;
+    private static final TicketPdfGenerator instance =
+            new TicketPdfGenerator(Math.max(2, Runtime.getRuntime().availableProcessors() / 2));
+
+    private final ThreadPoolExecutor executor;
+    // Raw poster files by classpath path; an empty Optional marks a missing poster
+    private final TtlCache<String, Optional<byte[]>> posters = new TtlCache<>("pdf-posters", 32, 1, TimeUnit.HOURS);
+    private final Map<EncodeHintType, Object> qrHints = new EnumMap<>(EncodeHintType.class);
+
+    public TicketPdfGenerator(int threads) {
+        this.executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), Threads.daemonThreadFactory("ticket-pdf"));
+        this.executor.allowCoreThreadTimeOut(true);
+        qrHints.put(EncodeHintType.ERROR_CORRECTION, ErrorCorrectionLevel.M);
+        qrHints.put(EncodeHintType.MARGIN, 1);
+    }
+
+    public static TicketPdfGenerator getInstance() {
+        return instance;
+    }
+
+    /**
+     * Write the tickets as one document, one page each, in iteration order.
+     */
+    public void write(Iterable<TicketDetails> tickets, OutputStream out) throws IOException {
+        try (PDDocument document = new PDDocument(MemoryUsageSetting.setupMixed(MAX_MAIN_MEMORY_BYTES))) {
+            DocumentResources resources = new DocumentResources(document);
+            int pages = 0;
+            for (TicketDetails ticket : tickets) {
+                addPage(document, resources, ticket);
+                pages++;
+            }
+            document.save(out);
+            logger.debug("Ticket PDF written: {} pages", pages);
+        }
+    }
+
+    public void write(TicketDetails ticket, OutputStream out) throws IOException {
+        write(List.of(ticket), out);
+    }
+
+    /**
+     * Write the tickets into one PDF file on the background pool.
+     */
+    public CompletableFuture<Path> writeAsync(Iterable<TicketDetails> tickets, Path file) {
+        return CompletableFuture.supplyAsync(() -> {
+            try (OutputStream out = Files.newOutputStream(file)) {
+                write(tickets, out);
+                return file;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write tickets to " + file, e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Write every ticket to its own file, {@code ticket_<id>.pdf} in the directory, spread over
+     * the background pool. Completes with the files in ticket order, or exceptionally if any
+     * ticket failed.
+     */
+    public CompletableFuture<List<Path>> writeEachAsync(Iterable<TicketDetails> tickets, Path directory) {
+        List<CompletableFuture<Path>> files = new ArrayList<>();
+        for (TicketDetails ticket : tickets) {
+            files.add(writeAsync(List.of(ticket), directory.resolve("ticket_" + ticket.getTicketId() + ".pdf")));
+        }
+        return CompletableFuture.allOf(files.toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+            List<Path> paths = new ArrayList<>(files.size());
+            for (CompletableFuture<Path> file : files) {
+                paths.add(file.join());
+            }
+            logger.info("Ticket PDFs written: {} files in {}", paths.size(), directory);
+            return paths;
+        });
+    }
+
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    private void addPage(PDDocument document, DocumentResources resources, TicketDetails ticket) throws IOException {
+        PDPage page = new PDPage(PAGE);
+        document.addPage(page);
+        try (PDPageContentStream content = new PDPageContentStream(document, page, PDPageContentStream.AppendMode.OVERWRITE, true)) {
+            content.drawForm(resources.template);
+
+            text(content, BOLD, 10, Color.WHITE, 300, 268, "No. " + ticket.getTicketId());
+
+            String[] values = {
+                    ticket.getMovieTitle(),
+                    ticket.getFormattedShowTime(),
+                    ticket.getTheaterName(),
+                    String.join(" ", ticket.getSeatLabels()),
+                    ticket.getHolderName(),
+                    ticket.getPaymentMethod(),
+                    "INR " + ticket.getTotalAmount()
+            };
+            for (int i = 0; i < values.length; i++) {
+                float y = FIELD_TOP - i * FIELD_STEP - 11;
+                text(content, BOLD, 11, Color.BLACK, FIELD_X, y, fit(BOLD, 11, values[i], FIELD_WIDTH));
+            }
+
+            PDImageXObject poster = resources.poster(ticket.getPosterPath());
+            if (poster != null) {
+                content.drawImage(poster, POSTER_X, POSTER_Y, POSTER_WIDTH, POSTER_HEIGHT);
+            }
+
+            drawQrCode(content, ticket.getQrText());
+        }
+    }
+
+    // Dark modules are merged into horizontal runs and filled in one operation
+    private void drawQrCode(PDPageContentStream content, String text) throws IOException {
+        BitMatrix matrix;
+        try {
+            matrix = new QRCodeWriter().encode(text, BarcodeFormat.QR_CODE, 0, 0, qrHints);
+        } catch (WriterException e) {
+            throw new IOException("Failed to encode QR code", e);
+        }
+        int modules = matrix.getWidth();
+        float module = QR_SIZE / modules;
+        content.setNonStrokingColor(Color.BLACK);
+        for (int y = 0; y < modules; y++) {
+            float top = QR_Y + QR_SIZE - (y + 1) * module;
+            int x = 0;
+            while (x < modules) {
+                if (!matrix.get(x, y)) {
+                    x++;
+                    continue;
+                }
+                int start = x;
+                while (x < modules && matrix.get(x, y)) {
+                    x++;
+                }
+                content.addRect(QR_X + start * module, top, (x - start) * module, module);
+            }
+        }
+        content.fill();
+    }
+
+    // Static artwork shared by every page of a document
+    private static PDFormXObject createTemplate(PDDocument document) throws IOException {
+        PDFormXObject form = new PDFormXObject(document);
+        form.setBBox(PAGE);
+        form.setResources(new PDResources());
+        try (PDPageContentStream content = new PDPageContentStream(document, form,
+                form.getContentStream().createOutputStream(COSName.FLATE_DECODE))) {
+            content.setNonStrokingColor(BRAND);
+            content.addRect(0, PAGE.getHeight() - 50, PAGE.getWidth(), 50);
+            content.fill();
+            text(content, BOLD, 22, Color.WHITE, 20, 264, "TICKETLY");
+            text(content, REGULAR, 10, Color.WHITE, 150, 268, "E-TICKET");
+
+            for (int i = 0; i < CAPTIONS.length; i++) {
+                text(content, REGULAR, 7, CAPTION, FIELD_X, FIELD_TOP - i * FIELD_STEP, CAPTIONS[i]);
+            }
+
+            // Perforation between the ticket body and the QR stub
+            content.setStrokingColor(CAPTION);
+            content.setLineDashPattern(new float[]{3, 3}, 0);
+            content.moveTo(QR_X - 8, 40);
+            content.lineTo(QR_X - 8, PAGE.getHeight() - 60);
+            content.stroke();
+
+            text(content, REGULAR, 7, CAPTION, QR_X, QR_Y - 12, "Scan at the entrance");
+            text(content, REGULAR, 7, CAPTION, 20, 20,
+                    "Please arrive 15 minutes before the show. This ticket is valid for the listed seats only.");
+        }
+        return form;
+    }
+
+    private static void text(PDPageContentStream content, PDFont font, float size, Color color,
+                             float x, float y, String text) throws IOException {
+        content.beginText();
+        content.setNonStrokingColor(color);
+        content.setFont(font, size);
+        content.newLineAtOffset(x, y);
+        content.showText(printable(text));
+        content.endText();
+    }
+
+    // Shorten the text with an ellipsis until it fits the width
+    private static String fit(PDFont font, float size, String text, float width) throws IOException {
+        String value = printable(text);
+        if (font.getStringWidth(value) / 1000 * size <= width) {
+            return value;
+        }
+        while (!value.isEmpty() && font.getStringWidth(value + "...") / 1000 * size > width) {
+            value = value.substring(0, value.length() - 1);
+        }
+        return value + "...";
+    }
+
+    // The standard fonts only cover Latin-1, so anything else is replaced
+    private static String printable(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder result = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            result.append(c >= 0x20 && c < 0x7f || c >= 0xa0 && c <= 0xff ? c : '?');
+        }
+        return result.toString();
+    }
+
+    private Optional<byte[]> loadPoster(String path) {
+        try (InputStream in = TicketPdfGenerator.class.getResourceAsStream("/" + path)) {
+            if (in == null) {
+                logger.warn("Poster not found for ticket: {}", path);
+                return Optional.empty();
+            }
+            return Optional.of(in.readAllBytes());
+        } catch (IOException e) {
+            logger.warn("Failed to read poster for ticket: {}", path, e);
+            return Optional.empty();
+        }
+    }
+
+    // Per-document objects: the template and each poster are embedded once and shared by all pages
+    private final class DocumentResources {
+        private final PDDocument document;
+        private final PDFormXObject template;
+        private final Map<String, PDImageXObject> posterImages = new HashMap<>();
+
+        DocumentResources(PDDocument document) throws IOException {
+            this.document = document;
+            this.template = createTemplate(document);
+        }
+
+        PDImageXObject poster(String path) {
+            if (path == null || path.isBlank()) {
+                return null;
+            }
+            return posterImages.computeIfAbsent(path, key -> {
+                byte[] bytes = posters.get(key, TicketPdfGenerator.this::loadPoster).orElse(null);
+                if (bytes == null) {
+                    return null;
+                }
+                try {
+                    return PDImageXObject.createFromByteArray(document, bytes, key);
+                } catch (IOException | IllegalArgumentException e) {
+                    logger.warn("Poster is not a usable image: {}", key, e);
+                    return null;
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.ticketly.util;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * Runs repository calls off the JavaFX application thread.
+ *
+ * Every call returns a {@link CompletableFuture}; continuations that touch the scene graph
+ * should run on {@link #FX}, which hands them back to the application thread.
+ */
+public final class AsyncDao {
+    // Fallback size matches the default maximum of the connection pool
+    private static final ExecutorService executor = Threads.newPerTaskExecutor("ticketly-db", 20);
+
+    /**
+     * Executor that runs continuations on the JavaFX application thread.
+     */
+    public static final Executor FX = Platform::runLater;
+
+    private AsyncDao() {}
+
+    public static <T> CompletableFuture<T> supply(Supplier<T> call) {
+        return CompletableFuture.supplyAsync(call, executor);
+    }
+
+    public static CompletableFuture<Void> run(Runnable call) {
+        return CompletableFuture.runAsync(call, executor);
+    }
+
+    public static Executor executor() {
+        return executor;
+    }
+}
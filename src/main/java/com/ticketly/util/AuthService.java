@@ -2,36 +2,61 @@ package com.ticketly.util;
 
 import com.ticketly.dao.UserRepository;
 import com.ticketly.model.User;
+import com.ticketly.service.PasswordService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
- * Authentication service for login and signup without bcrypt.
+ * Authentication service for login and signup. Passwords are checked and hashed with BCrypt
+ * on the {@link PasswordService} pool; legacy plain-text passwords are upgraded on login.
  */
 public class AuthService {
     private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
     private static final UserRepository userRepository = new UserRepository();
+    private static final PasswordService passwordService = PasswordService.getInstance();
 
-    // Store currently logged-in user ID
-    private static Long loggedInUserId = null;
+    // Session of the currently logged-in user, null when logged out
+    private static volatile UserSession session = null;
 
     /**
-     * Login user by username and password.
+     * Login user by username and password. Blocks while the password is verified, so it must
+     * not be called on the FX thread. Throws if the hashing pool is saturated.
      */
     public static boolean login(String username, String password) {
+        Optional<User> user = authenticate(username, password);
+        if (user.isPresent()) {
+            session = new UserSession(user.get()); // keep the loaded user for the whole login
+            logger.info("User logged in: {}", username);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Check the credentials without starting a desktop session, for callers that track their
+     * own sessions. Blocks like {@link #login(String, String)}.
+     */
+    public static Optional<User> authenticate(String username, String password) {
         Optional<User> userOpt = userRepository.findByUsername(username);
-        if (userOpt.isPresent()) {
+        if (userOpt.isEmpty()) {
+            // As slow as a wrong password, so the response time does not reveal which usernames exist
+            join(passwordService.verifyUnknownUser(password));
+        } else {
             User user = userOpt.get();
-            if (password.equals(user.getPassword())) { // plain-text comparison
-                loggedInUserId = user.getId(); // store logged-in user ID
-                logger.info("User logged in: {}", username);
-                return true;
+            PasswordService.Verification verification = join(passwordService.verify(password, user.getPassword()));
+            if (verification.matches()) {
+                if (verification.needsRehash()) {
+                    rehash(user, password);
+                }
+                return userOpt;
             }
         }
         logger.warn("Failed login attempt for user: {}", username);
-        return false;
+        return Optional.empty();
     }
 
     /**
@@ -43,47 +68,85 @@ public class AuthService {
             logger.warn("Signup failed: username already exists: {}", username);
             return false;
         }
-        User user = new User(username, email, password, fullName, "USER");
+        User user = new User(username, email, join(passwordService.hash(password)), fullName, "USER");
         userRepository.save(user);
         logger.info("User signed up successfully: {}", username);
         return true;
     }
 
+    // Store a fresh hash in the background so the login itself does not wait for it
+    private static void rehash(User user, String password) {
+        passwordService.hash(password)
+                .thenAcceptAsync(hash -> {
+                    if (userRepository.updatePasswordHash(user.getId(), hash)) {
+                        user.setPassword(hash);
+                        logger.info("Password hash upgraded for user: {}", user.getUsername());
+                    }
+                }, AsyncDao.executor())
+                .exceptionally(e -> {
+                    logger.warn("Password rehash skipped for user: {}", user.getUsername(), e);
+                    return null;
+                });
+    }
+
+    /**
+     * End the current session.
+     */
+    public static void logout() {
+        UserSession current = session;
+        session = null;
+        if (current != null) {
+            logger.info("User logged out: {}", current.getUser().getUsername());
+        }
+    }
+
+    /**
+     * Get the current session, or null if no user is logged in.
+     */
+    public static UserSession getSession() {
+        return session;
+    }
+
+    /**
+     * Reload the logged-in user, e.g. after the profile changed. Ends the session if the user
+     * no longer exists.
+     */
+    public static void refreshSession() {
+        UserSession current = session;
+        if (current == null) return;
+        Optional<User> user = userRepository.findById(current.getUserId());
+        session = user.map(UserSession::new).orElse(null);
+    }
+
     /**
      * Get currently logged-in user ID.
      */
     public static Long getLoggedInUserId() {
-        return loggedInUserId;
+        UserSession current = session;
+        return current != null ? current.getUserId() : null;
     }
 
     /**
-     * Get logged-in user by ID.
+     * Get logged-in user by ID. Served from the session when it matches.
      */
     public static User getLoggedInUser(Long userId) {
         if (userId == null) return null;
-        // UserRepository does not have findById(Long), so implement here
-        String sql = "SELECT id, username, email, password_hash, full_name, phone, role, is_active, created_at, updated_at FROM users WHERE id = ?";
-        try (java.sql.Connection conn = com.ticketly.util.DatabaseUtil.getConnection();
-             java.sql.PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setLong(1, userId);
-            java.sql.ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                User user = new User();
-                user.setId(rs.getLong("id"));
-                user.setUsername(rs.getString("username"));
-                user.setEmail(rs.getString("email"));
-                user.setPassword(rs.getString("password_hash"));
-                user.setFullName(rs.getString("full_name"));
-                user.setPhone(rs.getString("phone"));
-                user.setRole(rs.getString("role"));
-                user.setIsActive(rs.getBoolean("is_active"));
-                user.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
-                user.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
-                return user;
+        UserSession current = session;
+        if (current != null && current.getUserId() == userId) {
+            return current.getUser();
+        }
+        return userRepository.findById(userId).orElse(null);
+    }
+
+    // Rethrow what the hashing pool failed with, e.g. RejectedExecutionException when it is saturated
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
             }
-        } catch (java.sql.SQLException e) {
-            logger.error("Error finding user by ID: {}", userId, e);
+            throw e;
         }
-        return null;
     }
 }
@@ -1,5 +1,6 @@
 package com.ticketly.util;
 
+import com.ticketly.dao.SchemaMigrator;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import org.slf4j.Logger;
@@ -11,8 +12,11 @@ import java.io.InputStream;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientConnectionException;
 import java.sql.Statement;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 
 /**
 
@@ -22,6 +26,11 @@ import java.util.Properties;
   public class DatabaseUtil {
   private static final Logger logger = LoggerFactory.getLogger(DatabaseUtil.class);
   private static HikariDataSource dataSource;
+  // Optional read replica (db.read.url); null when every read goes to the primary
+  private static HikariDataSource readDataSource;
+  private static volatile ReadRouting readRouting;
+  // Schema migrations not applied yet; they run on the first connection, so the app can start while the database is down
+  private static volatile boolean migrationPending;
 
   static {
   initializeDataSource();
@@ -59,6 +68,8 @@ import java.util.Properties;
      config.setMinimumIdle(Integer.parseInt(props.getProperty("db.connection.pool.initial", "5")));
      config.setConnectionTimeout(Long.parseLong(props.getProperty("db.connection.timeout", "30000")));
      config.setPoolName(props.getProperty("db.pool.name", "TicketlyPool"));
+     // Start even if the database is down; connections are retried until it answers
+     config.setInitializationFailTimeout(-1);
      // Optional: leak detection threshold (0 = disabled)
      long leakMs = Long.parseLong(props.getProperty("db.connection.leakDetectionThreshold", "0"));
      if (leakMs > 0) config.setLeakDetectionThreshold(leakMs);
@@ -67,10 +78,25 @@ import java.util.Properties;
      config.addDataSourceProperty("cachePrepStmts", props.getProperty("db.cachePrepStmts", "true"));
      config.addDataSourceProperty("prepStmtCacheSize", props.getProperty("db.prepStmtCacheSize", "250"));
      config.addDataSourceProperty("prepStmtCacheSqlLimit", props.getProperty("db.prepStmtCacheSqlLimit", "2048"));
+     // Lets MySQL send a JDBC batch as multi-row INSERTs instead of one round trip per row (bulk show import)
+     config.addDataSourceProperty("rewriteBatchedStatements", props.getProperty("db.rewriteBatchedStatements", "true"));
+
+     // Wait time, usage and timeouts of the pool, published over JMX by Metrics
+     config.setMetricsTrackerFactory(Metrics.poolTrackerFactory());
 
      dataSource = new HikariDataSource(config);
      logger.info("Database connection pool initialized successfully (url={}, user={})",
              stripUrlParams(url), user);
+
+     // Versioned schema migrations and a schema check, applied on the first connection
+     migrationPending = Boolean.parseBoolean(props.getProperty("db.migrate", "true"));
+
+     // Optional read replica for catalog and history reads
+     if (props.getProperty("db.read.url") != null) initializeReadDataSource(props);
+
+     // Optional periodic dump of pool and repository metrics to the metrics log (0 = disabled)
+     long metricsIntervalSeconds = Long.parseLong(props.getProperty("db.metrics.logIntervalSeconds", "0"));
+     if (metricsIntervalSeconds > 0) Metrics.startReporting(metricsIntervalSeconds, TimeUnit.SECONDS);
     
 
     } catch (Exception e) {
@@ -81,6 +107,72 @@ import java.util.Properties;
 
   /**
 
+  * Create the replica pool and start routing reads to it. Connection settings default to the
+  * primary's; the pool fails fast so that an unreachable replica falls back to the primary
+  * instead of holding up reads.
+    */
+    private static void initializeReadDataSource(Properties props) {
+    HikariConfig config = new HikariConfig();
+    config.setDriverClassName(props.getProperty("db.read.driver", props.getProperty("db.driver")));
+    config.setJdbcUrl(props.getProperty("db.read.url"));
+    config.setUsername(props.getProperty("db.read.username", props.getProperty("db.username")));
+    config.setPassword(props.getProperty("db.read.password", props.getProperty("db.password")));
+    config.setReadOnly(true);
+    config.setMaximumPoolSize(Integer.parseInt(props.getProperty("db.read.pool.max", props.getProperty("db.connection.pool.max", "20"))));
+    config.setMinimumIdle(Integer.parseInt(props.getProperty("db.read.pool.initial", props.getProperty("db.connection.pool.initial", "5"))));
+    config.setConnectionTimeout(Long.parseLong(props.getProperty("db.read.connection.timeout", "2000")));
+    config.setPoolName(props.getProperty("db.read.pool.name", "TicketlyReadPool"));
+    // Start even if the replica is down; reads use the primary until it answers
+    config.setInitializationFailTimeout(-1);
+    config.addDataSourceProperty("cachePrepStmts", props.getProperty("db.cachePrepStmts", "true"));
+    config.addDataSourceProperty("prepStmtCacheSize", props.getProperty("db.prepStmtCacheSize", "250"));
+    config.addDataSourceProperty("prepStmtCacheSqlLimit", props.getProperty("db.prepStmtCacheSqlLimit", "2048"));
+    config.setMetricsTrackerFactory(Metrics.poolTrackerFactory());
+
+    readDataSource = new HikariDataSource(config);
+    readRouting = new ReadRouting(dataSource, readDataSource,
+    Long.parseLong(props.getProperty("db.read.maxLagMillis", "5000")),
+    Long.parseLong(props.getProperty("db.read.checkIntervalMillis", "1000")));
+    Metrics.register(readRouting);
+    logger.info("Read replica pool initialized (url={})", stripUrlParams(props.getProperty("db.read.url")));
+    }
+
+  /**
+
+  * Apply pending schema migrations and log every mismatch between the live schema and the
+  * repositories. Failures are logged rather than thrown so the app keeps running and can
+  * report the problem; only a lost connection leaves the migrations pending for a retry.
+    */
+    private static synchronized void migrateSchema() {
+    if (!migrationPending) return;
+    SchemaMigrator migrator = new SchemaMigrator(dataSource);
+    try {
+    migrator.migrate();
+    } catch (SQLException e) {
+    if (isConnectionFailure(e)) {
+    logger.warn("Schema migrations postponed, database unreachable: {}", e.getMessage());
+    return;
+    }
+    logger.error("Schema migration failed", e);
+    }
+    migrationPending = false;
+    try {
+    for (String problem : migrator.verify()) {
+    logger.error("Schema check: {}", problem);
+    }
+    } catch (SQLException e) {
+    logger.error("Schema check failed", e);
+    }
+    }
+
+    private static boolean isConnectionFailure(SQLException e) {
+    String state = e.getSQLState();
+    return e instanceof SQLTransientConnectionException || e instanceof SQLNonTransientConnectionException
+    || (state != null && state.startsWith("08"));
+    }
+
+  /**
+
   * Load database properties from configuration file.
     */
     private static Properties loadDatabaseProperties() throws IOException {
@@ -92,18 +184,73 @@ import java.util.Properties;
     }
     props.load(input);
     }
+    // db.* system properties override the file, e.g. to point benchmarks at an embedded database
+    for (String name : System.getProperties().stringPropertyNames()) {
+    if (name.startsWith("db.")) {
+    props.setProperty(name, System.getProperty(name));
+    }
+    }
     return props;
     }
 
   /**
 
-  * Get a database connection from the pool.
+  * Get a database connection from the pool. The first connection after startup applies the
+  * pending schema migrations.
     */
     public static Connection getConnection() throws SQLException {
     if (dataSource == null) {
     throw new SQLException("DataSource not initialized");
     }
-    return dataSource.getConnection();
+    Connection conn = dataSource.getConnection();
+    if (migrationPending) {
+    // The database answers: migrate now, without holding a connection the migration may need
+    conn.close();
+    migrateSchema();
+    conn = dataSource.getConnection();
+    }
+    return conn;
+    }
+
+  /**
+
+  * Get a connection for a read that may be slightly stale, such as catalog browsing. Comes
+  * from the read replica when one is configured, healthy and caught up, else from the primary.
+    */
+    public static Connection getReadConnection() throws SQLException {
+    ReadRouting routing = readRouting;
+    if (routing != null && migrationPending) getConnection().close(); // applies the migrations first
+    return routing != null ? routing.getConnection() : getConnection();
+    }
+
+  /**
+
+  * Get a connection for reading the user's own data. Stays on the primary while the user's
+  * latest write may not have reached the replica.
+    */
+    public static Connection getReadConnection(long userId) throws SQLException {
+    ReadRouting routing = readRouting;
+    if (routing != null && migrationPending) getConnection().close(); // applies the migrations first
+    return routing != null ? routing.getConnection(userId) : getConnection();
+    }
+
+  /**
+
+  * Note a committed write by the user, so their next reads see it.
+    */
+    public static void recordWrite(long userId) {
+    ReadRouting routing = readRouting;
+    if (routing != null) routing.recordWrite(userId);
+    }
+
+  /**
+
+  * Note a committed write that is not tied to a user, e.g. new shows; every read goes to the
+  * primary until the replica has caught up.
+    */
+    public static void recordWrite() {
+    ReadRouting routing = readRouting;
+    if (routing != null) routing.recordWrite();
     }
 
   /**
@@ -141,6 +288,21 @@ import java.util.Properties;
   * Close the data source when application shuts down.
     */
     public static void closeDataSource() {
+    if (readRouting != null) {
+    readRouting.stop();
+    Metrics.unregister(readRouting);
+    readRouting = null;
+    }
+    if (readDataSource != null) {
+    try {
+    readDataSource.close();
+    logger.info("Read replica pool closed");
+    } catch (Exception e) {
+    logger.warn("Error while closing read data source", e);
+    } finally {
+    readDataSource = null;
+    }
+    }
     if (dataSource != null) {
     try {
     dataSource.close();
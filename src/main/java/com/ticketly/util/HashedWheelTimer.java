@@ -0,0 +1,166 @@
+package com.ticketly.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hashed timing wheel for large numbers of coarse-grained timeouts.
+ *
+ * A single daemon thread advances the wheel one bucket per tick and runs the timeouts that fall
+ * due, so scheduling and cancelling are O(1) and no thread or scheduled task is created per
+ * timeout. Tasks run on the wheel thread and must be short and non-blocking.
+ */
+public class HashedWheelTimer {
+    private static final Logger logger = LoggerFactory.getLogger(HashedWheelTimer.class);
+
+    private final long tickNanos;
+    private final Queue<WheelTimeout>[] wheel;
+    private final int mask;
+    private final Queue<WheelTimeout> incoming = new ConcurrentLinkedQueue<>();
+    private final Thread worker;
+    private final long startTime;
+    private volatile boolean running = true;
+    private long tick;
+
+    public interface Timeout {
+        /**
+         * Cancel the timeout. Returns false if it already fired or was cancelled.
+         */
+        boolean cancel();
+    }
+
+    public HashedWheelTimer(String name, long tickDuration, TimeUnit unit, int ticksPerWheel) {
+        if (tickDuration <= 0 || ticksPerWheel <= 0) {
+            throw new IllegalArgumentException("tickDuration and ticksPerWheel must be positive");
+        }
+        int size = Integer.highestOneBit(ticksPerWheel - 1) << 1;
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.wheel = newWheel(Math.max(size, 1));
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new ArrayDeque<>();
+        }
+        this.mask = wheel.length - 1;
+        this.startTime = System.nanoTime();
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Queue<WheelTimeout>[] newWheel(int size) {
+        return (Queue<WheelTimeout>[]) new Queue<?>[size];
+    }
+
+    /**
+     * Run the task once after the given delay, rounded up to the next tick.
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (!running) {
+            throw new IllegalStateException("Timer has been stopped");
+        }
+        WheelTimeout timeout = new WheelTimeout(task, System.nanoTime() - startTime + unit.toNanos(delay));
+        incoming.add(timeout);
+        return timeout;
+    }
+
+    public void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    private void run() {
+        while (running) {
+            long deadline = waitForNextTick();
+            if (deadline < 0) {
+                continue;
+            }
+            transferIncoming();
+            expire(wheel[(int) (tick & mask)], deadline);
+            tick++;
+        }
+    }
+
+    private long waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        while (true) {
+            long sleepNanos = deadline - (System.nanoTime() - startTime);
+            if (sleepNanos <= 0) {
+                return deadline;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(sleepNanos);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    return -1;
+                }
+            }
+        }
+    }
+
+    private void transferIncoming() {
+        WheelTimeout timeout;
+        while ((timeout = incoming.poll()) != null) {
+            if (timeout.state.get() != WheelTimeout.PENDING) {
+                continue;
+            }
+            long calculated = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (calculated - tick) / wheel.length;
+            long ticks = Math.max(calculated, tick); // never schedule into the past
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void expire(Queue<WheelTimeout> bucket, long deadline) {
+        Iterator<WheelTimeout> it = bucket.iterator();
+        while (it.hasNext()) {
+            WheelTimeout timeout = it.next();
+            if (timeout.state.get() != WheelTimeout.PENDING) {
+                it.remove();
+            } else if (timeout.remainingRounds <= 0 && timeout.deadline <= deadline) {
+                it.remove();
+                timeout.fire();
+            } else {
+                timeout.remainingRounds--;
+            }
+        }
+    }
+
+    private static final class WheelTimeout implements Timeout {
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private long remainingRounds;
+
+        WheelTimeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean cancel() {
+            return state.compareAndSet(PENDING, CANCELLED);
+        }
+
+        void fire() {
+            if (!state.compareAndSet(PENDING, EXPIRED)) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                logger.error("Timer task failed", e);
+            }
+        }
+    }
+}
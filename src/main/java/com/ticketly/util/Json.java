@@ -0,0 +1,394 @@
+package com.ticketly.util;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal JSON reader for small documents such as one line of a JSON Lines file, and a
+ * streaming {@link Writer} for responses.
+ *
+ * Objects become {@code Map<String, Object>} in document order, arrays {@code List<Object>},
+ * numbers {@link BigDecimal}, and {@code true}/{@code false}/{@code null} the matching Java
+ * values. Malformed input throws {@link IllegalArgumentException} with the offending position,
+ * as does nesting deeper than {@link #MAX_DEPTH}, so a hostile body cannot overflow the stack.
+ */
+public final class Json {
+    public static final int MAX_DEPTH = 32;
+
+    private final String text;
+    private int pos;
+    private int depth;
+
+    private Json(String text) {
+        this.text = text;
+    }
+
+    public static Object parse(String text) {
+        Json json = new Json(text);
+        Object value = json.readValue();
+        json.skipWhitespace();
+        if (json.pos < text.length()) {
+            throw json.error("Unexpected trailing content");
+        }
+        return value;
+    }
+
+    /**
+     * Parse a document whose top level must be an object.
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> parseObject(String text) {
+        Object value = parse(text);
+        if (!(value instanceof Map)) {
+            throw new IllegalArgumentException("Expected a JSON object");
+        }
+        return (Map<String, Object>) value;
+    }
+
+    private Object readValue() {
+        skipWhitespace();
+        if (pos >= text.length()) {
+            throw error("Unexpected end of input");
+        }
+        char c = text.charAt(pos);
+        switch (c) {
+            case '{':
+                return readObject();
+            case '[':
+                return readArray();
+            case '"':
+                return readString();
+            case 't':
+                return readLiteral("true", Boolean.TRUE);
+            case 'f':
+                return readLiteral("false", Boolean.FALSE);
+            case 'n':
+                return readLiteral("null", null);
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    return readNumber();
+                }
+                throw error("Unexpected character '" + c + "'");
+        }
+    }
+
+    private Map<String, Object> readObject() {
+        Map<String, Object> object = new LinkedHashMap<>();
+        enter();
+        skipWhitespace();
+        if (peek() == '}') {
+            leave();
+            return object;
+        }
+        while (true) {
+            skipWhitespace();
+            if (peek() != '"') {
+                throw error("Expected a field name");
+            }
+            String name = readString();
+            skipWhitespace();
+            expect(':');
+            object.put(name, readValue());
+            skipWhitespace();
+            if (peek() == ',') {
+                pos++;
+            } else {
+                expect('}');
+                depth--;
+                return object;
+            }
+        }
+    }
+
+    private List<Object> readArray() {
+        List<Object> array = new ArrayList<>();
+        enter();
+        skipWhitespace();
+        if (peek() == ']') {
+            leave();
+            return array;
+        }
+        while (true) {
+            array.add(readValue());
+            skipWhitespace();
+            if (peek() == ',') {
+                pos++;
+            } else {
+                expect(']');
+                depth--;
+                return array;
+            }
+        }
+    }
+
+    private String readString() {
+        pos++;
+        StringBuilder result = new StringBuilder();
+        while (pos < text.length()) {
+            char c = text.charAt(pos++);
+            if (c == '"') {
+                return result.toString();
+            }
+            if (c != '\\') {
+                result.append(c);
+                continue;
+            }
+            if (pos >= text.length()) {
+                break;
+            }
+            char escaped = text.charAt(pos++);
+            switch (escaped) {
+                case '"':
+                case '\\':
+                case '/':
+                    result.append(escaped);
+                    break;
+                case 'b':
+                    result.append('\b');
+                    break;
+                case 'f':
+                    result.append('\f');
+                    break;
+                case 'n':
+                    result.append('\n');
+                    break;
+                case 'r':
+                    result.append('\r');
+                    break;
+                case 't':
+                    result.append('\t');
+                    break;
+                case 'u':
+                    if (pos + 4 > text.length()) {
+                        throw error("Truncated unicode escape");
+                    }
+                    try {
+                        result.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw error("Invalid unicode escape");
+                    }
+                    pos += 4;
+                    break;
+                default:
+                    throw error("Invalid escape '\\" + escaped + "'");
+            }
+        }
+        throw error("Unterminated string");
+    }
+
+    private BigDecimal readNumber() {
+        int start = pos;
+        while (pos < text.length() && "+-0123456789.eE".indexOf(text.charAt(pos)) >= 0) {
+            pos++;
+        }
+        try {
+            return new BigDecimal(text.substring(start, pos));
+        } catch (NumberFormatException e) {
+            pos = start;
+            throw error("Invalid number");
+        }
+    }
+
+    private Object readLiteral(String literal, Object value) {
+        if (!text.startsWith(literal, pos)) {
+            throw error("Unexpected token");
+        }
+        pos += literal.length();
+        return value;
+    }
+
+    // Steps over an opening bracket
+    private void enter() {
+        if (++depth > MAX_DEPTH) {
+            throw error("Nesting deeper than " + MAX_DEPTH);
+        }
+        pos++;
+    }
+
+    // Steps over the closing bracket of an empty object or array
+    private void leave() {
+        depth--;
+        pos++;
+    }
+
+    private void expect(char c) {
+        if (peek() != c) {
+            throw error("Expected '" + c + "'");
+        }
+        pos++;
+    }
+
+    private char peek() {
+        return pos < text.length() ? text.charAt(pos) : '\0';
+    }
+
+    private void skipWhitespace() {
+        while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + pos);
+    }
+
+    /**
+     * Appends JSON tokens to one buffer. Callers write each field explicitly, so encoding a
+     * response needs no reflection and no intermediate maps. Commas are inserted automatically;
+     * the writer does not check that objects and arrays are balanced.
+     */
+    public static final class Writer {
+        private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+        private final StringBuilder out;
+        private boolean first = true;
+
+        public Writer() {
+            this(256);
+        }
+
+        public Writer(int capacity) {
+            this.out = new StringBuilder(capacity);
+        }
+
+        public Writer beginObject() {
+            separate();
+            out.append('{');
+            first = true;
+            return this;
+        }
+
+        public Writer endObject() {
+            out.append('}');
+            first = false;
+            return this;
+        }
+
+        public Writer beginArray() {
+            separate();
+            out.append('[');
+            first = true;
+            return this;
+        }
+
+        public Writer endArray() {
+            out.append(']');
+            first = false;
+            return this;
+        }
+
+        /**
+         * Field name; the next call writes its value.
+         */
+        public Writer name(String name) {
+            separate();
+            quote(name);
+            out.append(':');
+            first = true;
+            return this;
+        }
+
+        public Writer value(String value) {
+            separate();
+            if (value == null) {
+                out.append("null");
+            } else {
+                quote(value);
+            }
+            return this;
+        }
+
+        public Writer value(long value) {
+            separate();
+            out.append(value);
+            return this;
+        }
+
+        public Writer value(boolean value) {
+            separate();
+            out.append(value);
+            return this;
+        }
+
+        public Writer value(BigDecimal value) {
+            separate();
+            out.append(value == null ? "null" : value.toPlainString());
+            return this;
+        }
+
+        public Writer field(String name, String value) {
+            return name(name).value(value);
+        }
+
+        public Writer field(String name, long value) {
+            return name(name).value(value);
+        }
+
+        public Writer field(String name, boolean value) {
+            return name(name).value(value);
+        }
+
+        public Writer field(String name, BigDecimal value) {
+            return name(name).value(value);
+        }
+
+        /**
+         * Dates and times as ISO-8601 strings.
+         */
+        public Writer field(String name, TemporalAccessor value) {
+            return name(name).value(value == null ? null : value.toString());
+        }
+
+        public byte[] toBytes() {
+            return out.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String toString() {
+            return out.toString();
+        }
+
+        private void separate() {
+            if (!first) {
+                out.append(',');
+            }
+            first = false;
+        }
+
+        private void quote(String value) {
+            out.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"':
+                        out.append("\\\"");
+                        break;
+                    case '\\':
+                        out.append("\\\\");
+                        break;
+                    case '\n':
+                        out.append("\\n");
+                        break;
+                    case '\r':
+                        out.append("\\r");
+                        break;
+                    case '\t':
+                        out.append("\\t");
+                        break;
+                    default:
+                        if (c < 0x20) {
+                            out.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                        } else {
+                            out.append(c);
+                        }
+                }
+            }
+            out.append('"');
+        }
+    }
+}
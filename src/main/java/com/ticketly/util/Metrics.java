@@ -0,0 +1,167 @@
+package com.ticketly.util;
+
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registry of the repository, connection pool and cache metrics.
+ *
+ * Every metric is published as an MBean under the {@code com.ticketly} domain, so it can be
+ * watched with JConsole or VisualVM, and can optionally be written to the metrics log at a
+ * fixed interval (see {@link #startReporting(long, TimeUnit)}).
+ */
+public final class Metrics {
+    private static final Logger logger = LoggerFactory.getLogger(Metrics.class);
+    // Separate logger so the periodic dump can be routed to its own file
+    private static final Logger metricsLog = LoggerFactory.getLogger("com.ticketly.metrics");
+    private static final String DOMAIN = "com.ticketly";
+
+    private static final Map<String, OperationMetrics> operations = new ConcurrentSkipListMap<>();
+    private static final Map<String, PoolMetrics> pools = new ConcurrentSkipListMap<>();
+    private static final Map<String, TtlCache<?, ?>> caches = new ConcurrentSkipListMap<>();
+    private static final Map<Object, ObjectName> registered = new ConcurrentHashMap<>();
+    private static volatile ReadRouting readRouting;
+    private static ScheduledExecutorService reporter;
+
+    private Metrics() {}
+
+    /**
+     * Metrics of a repository method, created and registered on first use.
+     */
+    public static OperationMetrics operation(Class<?> repository, String method) {
+        String name = repository.getSimpleName() + "." + method;
+        return operations.computeIfAbsent(name, key -> {
+            OperationMetrics metrics = new OperationMetrics(key);
+            register(metrics, "type=Repository,repository=" + repository.getSimpleName() + ",method=" + method);
+            return metrics;
+        });
+    }
+
+    /**
+     * Factory to pass to {@code HikariConfig.setMetricsTrackerFactory}; each pool built with it
+     * gets its own {@link PoolMetrics}.
+     */
+    public static MetricsTrackerFactory poolTrackerFactory() {
+        return (poolName, poolStats) -> {
+            PoolMetrics metrics = new PoolMetrics(poolName, poolStats);
+            pools.put(poolName, metrics);
+            register(metrics, "type=Pool,name=" + ObjectName.quote(poolName));
+            return metrics;
+        };
+    }
+
+    static void register(ReadRouting routing) {
+        readRouting = routing;
+        register(routing, "type=ReadRouting");
+    }
+
+    static void register(Startup startup) {
+        register(startup, "type=Startup");
+    }
+
+    static void register(TtlCache<?, ?> cache) {
+        caches.put(cache.getName(), cache);
+        register(cache, "type=Cache,name=" + ObjectName.quote(cache.getName()));
+    }
+
+    public static List<OperationMetrics> getOperations() {
+        return new ArrayList<>(operations.values());
+    }
+
+    public static List<PoolMetrics> getPools() {
+        return new ArrayList<>(pools.values());
+    }
+
+    /**
+     * Write every pool, the read replica routing, every cache and every repository method that
+     * has been used to the metrics log, at INFO level on the {@code com.ticketly.metrics} logger.
+     */
+    public static void logSnapshot() {
+        for (PoolMetrics pool : pools.values()) {
+            metricsLog.info("{}", pool);
+        }
+        ReadRouting routing = readRouting;
+        if (routing != null) {
+            metricsLog.info("{}", routing);
+        }
+        for (TtlCache<?, ?> cache : caches.values()) {
+            if (cache.getHitCount() + cache.getMissCount() > 0) {
+                metricsLog.info("{}", cache);
+            }
+        }
+        for (OperationMetrics operation : operations.values()) {
+            if (operation.getCalls() > 0) {
+                metricsLog.info("{}", operation);
+            }
+        }
+    }
+
+    /**
+     * Log a snapshot every {@code interval} on a daemon thread, replacing any earlier schedule.
+     */
+    public static synchronized void startReporting(long interval, TimeUnit unit) {
+        stopReporting();
+        reporter = Executors.newSingleThreadScheduledExecutor(Threads.daemonThreadFactory("metrics-reporter"));
+        reporter.scheduleAtFixedRate(Metrics::logSnapshot, interval, interval, unit);
+        logger.info("Metrics reporting every {} {}", interval, unit.toString().toLowerCase());
+    }
+
+    public static synchronized void stopReporting() {
+        if (reporter != null) {
+            reporter.shutdownNow();
+            reporter = null;
+        }
+    }
+
+    static void unregister(ReadRouting routing) {
+        if (readRouting == routing) {
+            readRouting = null;
+        }
+        unregisterMBean(routing);
+    }
+
+    static void unregister(PoolMetrics metrics) {
+        pools.remove(metrics.getPoolName(), metrics);
+        unregisterMBean(metrics);
+    }
+
+    private static void unregisterMBean(Object mbean) {
+        ObjectName name = registered.remove(mbean);
+        if (name != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+            } catch (JMException e) {
+                logger.debug("Could not unregister MBean {}", name, e);
+            }
+        }
+    }
+
+    // A failed registration only loses the JMX view; the metrics are still recorded and logged
+    private static void register(Object mbean, String properties) {
+        try {
+            ObjectName name = new ObjectName(DOMAIN + ":" + properties);
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(mbean, name);
+            registered.put(mbean, name);
+        } catch (JMException e) {
+            logger.warn("Could not register MBean for {}", properties, e);
+        }
+    }
+}
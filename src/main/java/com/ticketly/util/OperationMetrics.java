@@ -0,0 +1,129 @@
+package com.ticketly.util;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency, error and row counts of one repository method.
+ *
+ * Repositories keep one instance per method in a static field and bracket the method with
+ * {@link #start()} and {@link #record(long, Object)}:
+ * <pre>
+ *     long start = FIND_BY_ID.start();
+ *     ...
+ *     return FIND_BY_ID.record(start, movie);
+ * </pre>
+ * and call {@link #recordError()} where they catch a {@link java.sql.SQLException}.
+ */
+public final class OperationMetrics implements OperationMetricsMBean {
+    private final String name;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+
+    OperationMetrics(String name) {
+        this.name = name;
+    }
+
+    public long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Record the call that started at {@code startNanos} and pass its result through. The rows
+     * are taken from the result: the size of a collection, map or id array, otherwise 1 for a
+     * present value and 0 for null, an empty Optional or false.
+     */
+    public <T> T record(long startNanos, T result) {
+        latency.recordNanos(System.nanoTime() - startNanos);
+        rows.add(rowCount(result));
+        return result;
+    }
+
+    public void recordError() {
+        errors.increment();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getCalls() {
+        return latency.getCount();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public long getRows() {
+        return rows.sum();
+    }
+
+    @Override
+    public double getMeanMillis() {
+        return latency.getMeanMicros() / 1000.0;
+    }
+
+    @Override
+    public double getP50Millis() {
+        return latency.getPercentileMicros(50) / 1000.0;
+    }
+
+    @Override
+    public double getP99Millis() {
+        return latency.getPercentileMicros(99) / 1000.0;
+    }
+
+    @Override
+    public double getP999Millis() {
+        return latency.getPercentileMicros(99.9) / 1000.0;
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return latency.getMaxMicros() / 1000.0;
+    }
+
+    @Override
+    public void reset() {
+        latency.reset();
+        errors.reset();
+        rows.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s calls=%d errors=%d rows=%d mean=%.2fms p50=%.2fms p99=%.2fms p999=%.2fms max=%.2fms",
+                name, getCalls(), getErrors(), getRows(), getMeanMillis(),
+                getP50Millis(), getP99Millis(), getP999Millis(), getMaxMillis());
+    }
+
+    private static int rowCount(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Map) {
+            return ((Map<?, ?>) result).size();
+        }
+        if (result instanceof long[]) {
+            return ((long[]) result).length;
+        }
+        if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1 : 0;
+        }
+        if (result instanceof Boolean) {
+            return (Boolean) result ? 1 : 0;
+        }
+        return 1;
+    }
+}
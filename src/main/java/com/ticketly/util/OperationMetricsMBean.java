@@ -0,0 +1,26 @@
+package com.ticketly.util;
+
+/**
+ * JMX view of the metrics of one repository method. Latencies are in milliseconds.
+ */
+public interface OperationMetricsMBean {
+    String getName();
+
+    long getCalls();
+
+    long getErrors();
+
+    long getRows();
+
+    double getMeanMillis();
+
+    double getP50Millis();
+
+    double getP99Millis();
+
+    double getP999Millis();
+
+    double getMaxMillis();
+
+    void reset();
+}
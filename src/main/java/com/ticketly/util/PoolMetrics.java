@@ -0,0 +1,124 @@
+package com.ticketly.util;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Connection pool metrics fed by HikariCP: how long callers wait for a connection, how long
+ * they keep it, how many requests timed out, and the pool's current connection counts.
+ */
+public final class PoolMetrics implements IMetricsTracker, PoolMetricsMBean {
+    private final String poolName;
+    private final PoolStats poolStats;
+    private final LatencyHistogram waitTime = new LatencyHistogram();
+    private final LatencyHistogram usageTime = new LatencyHistogram();
+    private final LongAdder timeouts = new LongAdder();
+
+    PoolMetrics(String poolName, PoolStats poolStats) {
+        this.poolName = poolName;
+        this.poolStats = poolStats;
+    }
+
+    @Override
+    public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+        waitTime.recordNanos(elapsedAcquiredNanos);
+    }
+
+    @Override
+    public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+        usageTime.recordMicros(elapsedBorrowedMillis * 1000);
+    }
+
+    @Override
+    public void recordConnectionTimeout() {
+        timeouts.increment();
+    }
+
+    @Override
+    public void close() {
+        Metrics.unregister(this);
+    }
+
+    @Override
+    public String getPoolName() {
+        return poolName;
+    }
+
+    @Override
+    public int getActiveConnections() {
+        return poolStats.getActiveConnections();
+    }
+
+    @Override
+    public int getIdleConnections() {
+        return poolStats.getIdleConnections();
+    }
+
+    @Override
+    public int getTotalConnections() {
+        return poolStats.getTotalConnections();
+    }
+
+    @Override
+    public int getPendingThreads() {
+        return poolStats.getPendingThreads();
+    }
+
+    @Override
+    public int getMaxConnections() {
+        return poolStats.getMaxConnections();
+    }
+
+    @Override
+    public long getAcquisitions() {
+        return waitTime.getCount();
+    }
+
+    @Override
+    public double getWaitP50Millis() {
+        return waitTime.getPercentileMicros(50) / 1000.0;
+    }
+
+    @Override
+    public double getWaitP99Millis() {
+        return waitTime.getPercentileMicros(99) / 1000.0;
+    }
+
+    @Override
+    public double getWaitP999Millis() {
+        return waitTime.getPercentileMicros(99.9) / 1000.0;
+    }
+
+    @Override
+    public double getWaitMaxMillis() {
+        return waitTime.getMaxMicros() / 1000.0;
+    }
+
+    @Override
+    public double getUsageP99Millis() {
+        return usageTime.getPercentileMicros(99) / 1000.0;
+    }
+
+    @Override
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    @Override
+    public void reset() {
+        waitTime.reset();
+        usageTime.reset();
+        timeouts.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("pool %s active=%d idle=%d total=%d/%d pending=%d acquisitions=%d " +
+                        "wait p50=%.2fms p99=%.2fms p999=%.2fms max=%.2fms usage p99=%.2fms timeouts=%d",
+                poolName, getActiveConnections(), getIdleConnections(), getTotalConnections(), getMaxConnections(),
+                getPendingThreads(), getAcquisitions(), getWaitP50Millis(), getWaitP99Millis(),
+                getWaitP999Millis(), getWaitMaxMillis(), getUsageP99Millis(), getTimeouts());
+    }
+}
@@ -0,0 +1,34 @@
+package com.ticketly.util;
+
+/**
+ * JMX view of a HikariCP connection pool. Times are in milliseconds.
+ */
+public interface PoolMetricsMBean {
+    String getPoolName();
+
+    int getActiveConnections();
+
+    int getIdleConnections();
+
+    int getTotalConnections();
+
+    int getPendingThreads();
+
+    int getMaxConnections();
+
+    long getAcquisitions();
+
+    double getWaitP50Millis();
+
+    double getWaitP99Millis();
+
+    double getWaitP999Millis();
+
+    double getWaitMaxMillis();
+
+    double getUsageP99Millis();
+
+    long getTimeouts();
+
+    void reset();
+}
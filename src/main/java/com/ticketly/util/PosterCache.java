@@ -0,0 +1,131 @@
+package com.ticketly.util;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URL;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Movie posters decoded in the background at the size they are displayed at.
+ *
+ * JavaFX decodes each poster on its own loader thread straight to the requested size, so the
+ * full-size JPEG never reaches the FX thread. Decoded images are kept in an LRU bounded by
+ * their pixel footprint. Must be used from the FX thread.
+ */
+public class PosterCache {
+    private static final Logger logger = LoggerFactory.getLogger(PosterCache.class);
+
+    public static final int POSTER_WIDTH = 120;
+    public static final int POSTER_HEIGHT = 180;
+    private static final long DEFAULT_MAX_BYTES = 32L * 1024 * 1024;
+    private static final PosterCache instance = new PosterCache(POSTER_WIDTH, POSTER_HEIGHT, DEFAULT_MAX_BYTES);
+
+    private final int width;
+    private final int height;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Image> images = new LinkedHashMap<>(64, 0.75f, true);
+    private long usedBytes;
+
+    public PosterCache(int width, int height, long maxBytes) {
+        this.width = width;
+        this.height = height;
+        this.maxBytes = maxBytes;
+    }
+
+    public static PosterCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Poster for the given classpath path, possibly still loading. Returns null if the
+     * resource does not exist.
+     */
+    public Image get(String posterPath) {
+        if (posterPath == null || posterPath.isBlank()) {
+            return null;
+        }
+        Image image = images.get(posterPath);
+        if (image != null) {
+            return image;
+        }
+        URL url = PosterCache.class.getResource("/" + posterPath);
+        if (url == null) {
+            logger.warn("Poster not found: {}", posterPath);
+            return null;
+        }
+        image = new Image(url.toExternalForm(), width, height, true, true, true);
+        Image loading = image;
+        image.errorProperty().addListener((obs, wasError, isError) -> {
+            if (isError) {
+                logger.warn("Failed to load poster: {}", posterPath, loading.getException());
+                if (images.remove(posterPath, loading)) {
+                    usedBytes -= footprint();
+                }
+            }
+        });
+        images.put(posterPath, image);
+        usedBytes += footprint();
+        evict();
+        return image;
+    }
+
+    /**
+     * A poster-sized node that shows a placeholder until the image has finished loading.
+     */
+    public StackPane createPosterView(String posterPath) {
+        Region placeholder = new Region();
+        placeholder.setPrefSize(width, height);
+        placeholder.setMaxSize(width, height);
+        placeholder.setStyle("-fx-background-color: #e0e0e0; -fx-background-radius: 5;");
+
+        ImageView imageView = new ImageView();
+        imageView.setFitWidth(width);
+        imageView.setFitHeight(height);
+        imageView.setPreserveRatio(true);
+
+        Image image = get(posterPath);
+        if (image != null) {
+            imageView.setImage(image);
+            placeholder.visibleProperty().bind(image.progressProperty().lessThan(1).or(image.errorProperty()));
+        }
+
+        StackPane poster = new StackPane(placeholder, imageView);
+        poster.setPrefSize(width, height);
+        return poster;
+    }
+
+    public int size() {
+        return images.size();
+    }
+
+    public long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public void clear() {
+        images.clear();
+        usedBytes = 0;
+    }
+
+    // Upper bound of the decoded size; preserving the ratio can only make the image smaller
+    private long footprint() {
+        return (long) width * height * 4;
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, Image>> it = images.entrySet().iterator();
+        while (usedBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, Image> eldest = it.next();
+            it.remove();
+            usedBytes -= footprint();
+            logger.debug("Poster evicted: {}", eldest.getKey());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.ticketly.util;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders QR codes straight into JavaFX images.
+ *
+ * The encoded matrix is written into a {@link WritableImage} through its pixel writer, so there
+ * is no intermediate BufferedImage or PNG round trip. Rendered codes are cached per key (e.g. a
+ * booking id), which makes reprinting a ticket free. Safe to call from any thread; callers should
+ * render off the FX thread.
+ */
+public class QrCodeRenderer {
+    private static final Logger logger = LoggerFactory.getLogger(QrCodeRenderer.class);
+    private static final int BLACK = 0xFF000000;
+    private static final int WHITE = 0xFFFFFFFF;
+    private static final QrCodeRenderer instance = new QrCodeRenderer();
+
+    private final TtlCache<String, RenderedCode> codes = new TtlCache<>("qr-codes", 256, 1, TimeUnit.HOURS);
+
+    public static QrCodeRenderer getInstance() {
+        return instance;
+    }
+
+    /**
+     * QR code for the text, reusing the cached image for the key while its text is unchanged.
+     * Returns null if the text cannot be encoded.
+     */
+    public WritableImage render(String key, String text, int size) {
+        RenderedCode cached = codes.getIfPresent(key);
+        if (cached != null && cached.size == size && cached.text.equals(text)) {
+            return cached.image;
+        }
+        WritableImage image = render(text, size);
+        if (image != null) {
+            codes.put(key, new RenderedCode(text, size, image));
+        }
+        return image;
+    }
+
+    public WritableImage render(String text, int size) {
+        try {
+            BitMatrix matrix = new QRCodeWriter().encode(text, BarcodeFormat.QR_CODE, size, size);
+            return toImage(matrix);
+        } catch (WriterException e) {
+            logger.error("Failed to encode QR code", e);
+            return null;
+        }
+    }
+
+    public void invalidate(String key) {
+        codes.invalidate(key);
+    }
+
+    private static WritableImage toImage(BitMatrix matrix) {
+        int width = matrix.getWidth();
+        int height = matrix.getHeight();
+        int[] pixels = new int[width * height];
+        for (int y = 0; y < height; y++) {
+            int offset = y * width;
+            for (int x = 0; x < width; x++) {
+                pixels[offset + x] = matrix.get(x, y) ? BLACK : WHITE;
+            }
+        }
+        WritableImage image = new WritableImage(width, height);
+        image.getPixelWriter().setPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), pixels, 0, width);
+        return image;
+    }
+
+    private static final class RenderedCode {
+        private final String text;
+        private final int size;
+        private final WritableImage image;
+
+        RenderedCode(String text, int size, WritableImage image) {
+            this.text = text;
+            this.size = size;
+            this.image = image;
+        }
+    }
+}
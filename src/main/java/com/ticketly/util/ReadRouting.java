@@ -0,0 +1,220 @@
+package com.ticketly.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends reads that tolerate slightly stale data to a read replica, and everything else to the
+ * primary.
+ *
+ * Replication lag is measured with a heartbeat: every check writes the current time to
+ * {@code replica_heartbeat} on the primary and reads back the latest value that reached the
+ * replica. The difference is an upper bound on the lag (it includes one check interval). The
+ * replica is used only while it answers and lags by at most {@code maxLagMillis}; otherwise,
+ * and whenever it fails to hand out a connection, reads fall back to the primary.
+ *
+ * A user who wrote within the last {@code maxLagMillis} reads from the primary, so they
+ * always see their own bookings and profile changes. Writes that are not tied to a user,
+ * such as a schedule import, pin every read for the same window.
+ */
+public class ReadRouting implements ReadRoutingMBean {
+    private static final Logger logger = LoggerFactory.getLogger(ReadRouting.class);
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long maxLagMillis;
+    private final ConcurrentMap<Long, Long> recentWriters = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService checker =
+            Executors.newSingleThreadScheduledExecutor(Threads.daemonThreadFactory("replica-check"));
+
+    // Unusable until the first check has seen a heartbeat arrive on the replica
+    private volatile boolean healthy;
+    private volatile long lagMillis = -1;
+    private volatile long lastGlobalWrite;
+
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder primaryReads = new LongAdder();
+    private final LongAdder pinnedReads = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    public ReadRouting(DataSource primary, DataSource replica, long maxLagMillis, long checkIntervalMillis) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLagMillis = maxLagMillis;
+        this.lastGlobalWrite = -maxLagMillis;
+        checker.scheduleWithFixedDelay(this::check, 0, checkIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Connection for a read that may be up to {@code maxLagMillis} stale.
+     */
+    public Connection getConnection() throws SQLException {
+        if (now() - lastGlobalWrite < maxLagMillis) {
+            pinnedReads.increment();
+            return primary.getConnection();
+        }
+        return route();
+    }
+
+    /**
+     * Connection for a read of the user's own data, on the primary while the user's latest
+     * write may not have reached the replica yet.
+     */
+    public Connection getConnection(long userId) throws SQLException {
+        Long written = recentWriters.get(userId);
+        if (written != null) {
+            if (now() - written < maxLagMillis) {
+                pinnedReads.increment();
+                return primary.getConnection();
+            }
+            recentWriters.remove(userId, written);
+        }
+        return getConnection();
+    }
+
+    public void recordWrite(long userId) {
+        recentWriters.put(userId, now());
+    }
+
+    public void recordWrite() {
+        lastGlobalWrite = now();
+    }
+
+    public void stop() {
+        checker.shutdownNow();
+    }
+
+    private Connection route() throws SQLException {
+        if (healthy) {
+            try {
+                Connection conn = replica.getConnection();
+                replicaReads.increment();
+                return conn;
+            } catch (SQLException e) {
+                fallbacks.increment();
+                markUnhealthy("connection failed: " + e.getMessage());
+            }
+        }
+        primaryReads.increment();
+        return primary.getConnection();
+    }
+
+    private void check() {
+        try {
+            long seen = readHeartbeat();
+            long now = now();
+            writeHeartbeat(now);
+            if (seen < 0) {
+                markUnhealthy("no heartbeat on the replica yet");
+                return;
+            }
+            lagMillis = now - seen;
+            if (lagMillis > maxLagMillis) {
+                markUnhealthy("lagging by " + lagMillis + " ms");
+            } else if (!healthy) {
+                healthy = true;
+                logger.info("Read replica in use (lag {} ms)", lagMillis);
+            }
+            recentWriters.values().removeIf(written -> now - written >= maxLagMillis);
+        } catch (SQLException | RuntimeException e) {
+            markUnhealthy("check failed: " + e.getMessage());
+        }
+    }
+
+    private long readHeartbeat() throws SQLException {
+        try (Connection conn = replica.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("SELECT beat_at FROM replica_heartbeat WHERE id = 1");
+             ResultSet rs = stmt.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : -1;
+        }
+    }
+
+    private void writeHeartbeat(long now) throws SQLException {
+        try (Connection conn = primary.getConnection()) {
+            try (PreparedStatement update = conn.prepareStatement("UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1")) {
+                update.setLong(1, now);
+                if (update.executeUpdate() > 0) {
+                    return;
+                }
+            }
+            try (PreparedStatement insert = conn.prepareStatement("INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, ?)")) {
+                insert.setLong(1, now);
+                insert.executeUpdate();
+            }
+        }
+    }
+
+    private void markUnhealthy(String reason) {
+        if (healthy) {
+            healthy = false;
+            logger.warn("Read replica not used, reads go to the primary: {}", reason);
+        } else {
+            logger.debug("Read replica still unavailable: {}", reason);
+        }
+    }
+
+    private static long now() {
+        return System.currentTimeMillis();
+    }
+
+    @Override
+    public boolean isReplicaHealthy() {
+        return healthy;
+    }
+
+    @Override
+    public long getReplicationLagMillis() {
+        return lagMillis;
+    }
+
+    @Override
+    public long getMaxLagMillis() {
+        return maxLagMillis;
+    }
+
+    @Override
+    public long getReplicaReads() {
+        return replicaReads.sum();
+    }
+
+    @Override
+    public long getPrimaryReads() {
+        return primaryReads.sum();
+    }
+
+    @Override
+    public long getPinnedReads() {
+        return pinnedReads.sum();
+    }
+
+    @Override
+    public long getFallbacks() {
+        return fallbacks.sum();
+    }
+
+    @Override
+    public void reset() {
+        replicaReads.reset();
+        primaryReads.reset();
+        pinnedReads.reset();
+        fallbacks.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ReadRouting[healthy=%s, lag=%d ms, replica=%d, primary=%d, pinned=%d, fallbacks=%d]",
+                healthy, lagMillis, getReplicaReads(), getPrimaryReads(), getPinnedReads(), getFallbacks());
+    }
+}
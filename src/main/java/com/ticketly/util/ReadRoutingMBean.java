@@ -0,0 +1,22 @@
+package com.ticketly.util;
+
+/**
+ * JMX view of the read replica routing. Times are in milliseconds.
+ */
+public interface ReadRoutingMBean {
+    boolean isReplicaHealthy();
+
+    long getReplicationLagMillis();
+
+    long getMaxLagMillis();
+
+    long getReplicaReads();
+
+    long getPrimaryReads();
+
+    long getPinnedReads();
+
+    long getFallbacks();
+
+    void reset();
+}
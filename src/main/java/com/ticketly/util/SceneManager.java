@@ -1,14 +1,8 @@
 package com.ticketly.util;
 
-import com.google.zxing.BarcodeFormat;
-import com.google.zxing.WriterException;
-import com.google.zxing.client.j2se.MatrixToImageWriter;
-import com.google.zxing.common.BitMatrix;
-import com.google.zxing.qrcode.QRCodeWriter;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.*;
 import javafx.stage.Stage;
@@ -22,7 +16,8 @@ public class SceneManager {
     private static final Logger logger = LoggerFactory.getLogger(SceneManager.class);
     private static Stage primaryStage;
 
-    private static Long loggedInUserId = null;
+    // Loads started by the current screen; cancelled when the user navigates to another screen
+    private static final java.util.List<java.util.concurrent.CompletableFuture<?>> screenLoads = new java.util.ArrayList<>();
 
     public static void initialize(Stage stage) {
         primaryStage = stage;
@@ -30,6 +25,7 @@ public class SceneManager {
     }
 
     public static void showLoginScreen() {
+        cancelScreenLoads();
         try {
             // Root StackPane (for background + overlay)
             StackPane root = new StackPane();
@@ -91,21 +87,33 @@ public class SceneManager {
                     showAlert("Error", "Username and password must not be empty.");
                     return;
                 }
-                boolean success = AuthService.login(username, password);
-                if (success) {
-                    loggedInUserId = AuthService.getLoggedInUserId();
-                    showMovieSelectionScreen();
-                } else {
-                    showAlert("Error", "Invalid username or password.");
-                }
+                loginButton.setDisable(true);
+                signupButton.setDisable(true);
+                loadAsync(() -> AuthService.login(username, password), success -> {
+                    loginButton.setDisable(false);
+                    signupButton.setDisable(false);
+                    if (success) {
+                        showMovieSelectionScreen();
+                    } else {
+                        showAlert("Error", "Invalid username or password.");
+                    }
+                }, "Login failed. Please try again.", () -> {
+                    loginButton.setDisable(false);
+                    signupButton.setDisable(false);
+                });
             });
 
             signupButton.setOnAction(e -> showSignupScreen());
 
             buttonBox.getChildren().addAll(loginButton, signupButton);
 
+            // Shown until the database has answered after startup
+            Label startupStatus = new Label();
+            startupStatus.setStyle("-fx-font-size: 13px; -fx-text-fill: #666;");
+            showStartupStatus(startupStatus);
+
             // Add everything to formBox
-            formBox.getChildren().addAll(title, usernameBox, passwordBox, buttonBox);
+            formBox.getChildren().addAll(title, usernameBox, passwordBox, buttonBox, startupStatus);
 
             // Overlay
             root.getChildren().addAll(bgRegion, formBox);
@@ -121,6 +129,28 @@ public class SceneManager {
         }
     }
 
+    private static void showStartupStatus(Label status) {
+        Startup startup = Startup.getInstance();
+        if (startup.isReady()) {
+            status.setManaged(false);
+            status.setVisible(false);
+            return;
+        }
+        status.setText("Connecting to the database...");
+        screenLoads.add(startup.whenFirstCheckDone().thenAcceptAsync(connected -> {
+            if (!connected) {
+                status.setText(startup.state() == Startup.State.FAILED
+                        ? "Database setup failed. Please restart the application."
+                        : "Database unavailable. Still trying to connect...");
+                status.setStyle("-fx-font-size: 13px; -fx-text-fill: #D32F2F;");
+            }
+        }, AsyncDao.FX));
+        screenLoads.add(startup.whenDatabaseReady().thenRunAsync(() -> {
+            status.setManaged(false);
+            status.setVisible(false);
+        }, AsyncDao.FX));
+    }
+
     private static void showAlert(String title, String message) {
         Alert.AlertType type = Alert.AlertType.NONE;
         if (title.equalsIgnoreCase("Error")) type = Alert.AlertType.ERROR;
@@ -134,7 +164,75 @@ public class SceneManager {
         alert.showAndWait();
     }
 
+    /**
+     * Run a data-access call off the FX thread and deliver its result back on it.
+     * The callback is dropped if the user navigates to another screen in the meantime.
+     */
+    private static <T> void loadAsync(java.util.function.Supplier<T> call, java.util.function.Consumer<T> onLoaded, String errorMessage) {
+        loadAsync(call, onLoaded, errorMessage, () -> {});
+    }
+
+    private static <T> void loadAsync(java.util.function.Supplier<T> call, java.util.function.Consumer<T> onLoaded,
+                                      String errorMessage, Runnable onFailed) {
+        loadAsync(call, onLoaded, errorMessage, onFailed, result -> {});
+    }
+
+    /**
+     * As above; {@code onDropped} gets a result that arrived after the user left the screen, so
+     * whatever the call acquired (such as a seat hold) can be given back. It may run on either thread.
+     */
+    private static <T> void loadAsync(java.util.function.Supplier<T> call, java.util.function.Consumer<T> onLoaded,
+                                      String errorMessage, Runnable onFailed, java.util.function.Consumer<T> onDropped) {
+        java.util.concurrent.CompletableFuture<T> called = AsyncDao.supply(call);
+        // onLoaded itself may replace the screen and so cancel this load; that is not a drop
+        java.util.concurrent.atomic.AtomicBoolean delivered = new java.util.concurrent.atomic.AtomicBoolean();
+        java.util.concurrent.CompletableFuture<Void> load = called
+                .handleAsync((result, error) -> {
+                    delivered.set(true);
+                    try {
+                        if (error != null) {
+                            logger.error(errorMessage, error);
+                            onFailed.run();
+                            showAlert("Error", errorMessage);
+                        } else {
+                            onLoaded.accept(result);
+                        }
+                    } catch (RuntimeException ex) {
+                        logger.error(errorMessage, ex);
+                        showAlert("Error", errorMessage);
+                    }
+                    return null;
+                }, AsyncDao.FX);
+        load.whenComplete((done, error) -> {
+            if (load.isCancelled() && !delivered.get()) {
+                called.thenAccept(onDropped);
+            }
+        });
+        screenLoads.removeIf(java.util.concurrent.CompletableFuture::isDone);
+        screenLoads.add(load);
+    }
+
+    // Called when a screen is replaced so results for the previous screen are not applied
+    private static void cancelScreenLoads() {
+        for (java.util.concurrent.CompletableFuture<?> load : screenLoads) {
+            load.cancel(false);
+        }
+        screenLoads.clear();
+    }
+
+    private static VBox loadingIndicator(String message, String textColor) {
+        ProgressIndicator indicator = new ProgressIndicator();
+        indicator.setMaxSize(48, 48);
+        Label label = new Label(message);
+        label.setStyle("-fx-font-size: 16px; -fx-text-fill: " + textColor + ";");
+        VBox box = new VBox(10, indicator, label);
+        box.setAlignment(Pos.CENTER);
+        box.setPadding(new javafx.geometry.Insets(20));
+        return box;
+    }
+
     public static void showSignupScreen() {
+        cancelScreenLoads();
         try {
             // Root StackPane
             StackPane root = new StackPane();
@@ -186,13 +284,16 @@ public class SceneManager {
                     showAlert("Error", "All fields must be filled.");
                     return;
                 }
-                boolean success = AuthService.signup(username, password, email, fullName);
-                if (success) {
-                    showAlert("Success", "Account created successfully! Please login.");
-                    showLoginScreen();
-                } else {
-                    showAlert("Error", "Username already exists.");
-                }
+                signupButton.setDisable(true);
+                loadAsync(() -> AuthService.signup(username, password, email, fullName), success -> {
+                    signupButton.setDisable(false);
+                    if (success) {
+                        showAlert("Success", "Account created successfully! Please login.");
+                        showLoginScreen();
+                    } else {
+                        showAlert("Error", "Username already exists.");
+                    }
+                }, "Failed to create account.", () -> signupButton.setDisable(false));
             });
 
             Button backButton = new Button("Back to Login");
@@ -219,6 +320,7 @@ public class SceneManager {
     }
 
     private static void showMovieSelectionScreen() {
+        cancelScreenLoads();
         try {
             VBox root = new VBox(20);
             root.setAlignment(Pos.CENTER);
@@ -236,66 +338,61 @@ public class SceneManager {
             movieFlowPane.setStyle("-fx-background-color: rgba(255, 255, 255, 0.95); -fx-background-radius: 15; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 8, 0, 0, 3);");
             movieFlowPane.setAlignment(Pos.CENTER);
 
-            // Load movies
-            com.ticketly.dao.MovieRepository movieRepo = new com.ticketly.dao.MovieRepository();
-            java.util.List<com.ticketly.model.Movie> movies = movieRepo.findAll();
-
-            for (com.ticketly.model.Movie movie : movies) {
-                VBox movieBox = new VBox(10);
-                movieBox.setAlignment(Pos.CENTER);
-                movieBox.setPadding(new javafx.geometry.Insets(10));
-                movieBox.setStyle("-fx-background-color: white; -fx-background-radius: 10; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 5, 0, 0, 2);");
-                movieBox.setPrefWidth(150);
-
-                // Load image for movie from resources
-                ImageView movieImageView;
-                try {
-                    String posterUrl = movie.getPosterUrl();
-                    Image movieImage = new Image(SceneManager.class.getResourceAsStream("/" + posterUrl));
-                    movieImageView = new ImageView(movieImage);
-                    movieImageView.setFitWidth(120);
-                    movieImageView.setFitHeight(180);
-                    movieImageView.setPreserveRatio(true);
-                } catch (Exception ex) {
-                    System.err.println("Failed to load movie image: " + movie.getPosterUrl() + " - " + ex.getMessage());
-                    // If image not found, use a placeholder or no image
-                    movieImageView = new ImageView();
-                    movieImageView.setFitWidth(120);
-                    movieImageView.setFitHeight(180);
-                }
-
-                Label movieTitle = new Label("🎥 " + movie.getTitle());
-                movieTitle.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-text-alignment: center;");
-                movieTitle.setWrapText(true);
-
-                Label movieInfo = new Label(movie.getGenre() + " | " + movie.getDurationMinutes() + " min");
-                movieInfo.setStyle("-fx-font-size: 12px; -fx-text-fill: #666; -fx-text-alignment: center;");
-                movieInfo.setWrapText(true);
-
-                Button selectButton = new Button("Select Theater");
-                selectButton.setStyle("-fx-background-color: #2196F3; -fx-text-fill: white; -fx-background-radius: 5;");
-                selectButton.setOnAction(e -> showTheaterSelectionScreen(movie.getId()));
-
-                movieBox.getChildren().addAll(movieImageView, movieTitle, movieInfo, selectButton);
-                movieFlowPane.getChildren().add(movieBox);
-            }
+            movieFlowPane.getChildren().add(loadingIndicator("Loading movies...", "#666"));
 
             Button logoutButton = new Button("Logout");
             logoutButton.setStyle("-fx-background-color: #f44336; -fx-text-fill: white; -fx-font-size: 16px; -fx-padding: 10 20;");
-            logoutButton.setOnAction(e -> showLoginScreen());
+            logoutButton.setOnAction(e -> {
+                AuthService.logout();
+                showLoginScreen();
+            });
 
             root.getChildren().addAll(title, movieFlowPane, logoutButton);
 
             Scene scene = new Scene(root, 800, 600);
             primaryStage.setScene(scene);
             primaryStage.setTitle("Ticketly - Movies");
+
+            // Load movies
+            com.ticketly.dao.CatalogCache catalog = com.ticketly.dao.CatalogCache.getInstance();
+            loadAsync(catalog::findAllMovies, movies -> populateMovies(movieFlowPane, movies), "Failed to load movies.");
         } catch (Exception e) {
             logger.error("Failed to load movie selection screen", e);
             showAlert("Error", "Failed to load movie selection screen.");
         }
     }
 
+    private static void populateMovies(javafx.scene.layout.FlowPane movieFlowPane, java.util.List<com.ticketly.model.Movie> movies) {
+        movieFlowPane.getChildren().clear();
+        for (com.ticketly.model.Movie movie : movies) {
+            VBox movieBox = new VBox(10);
+            movieBox.setAlignment(Pos.CENTER);
+            movieBox.setPadding(new javafx.geometry.Insets(10));
+            movieBox.setStyle("-fx-background-color: white; -fx-background-radius: 10; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 5, 0, 0, 2);");
+            movieBox.setPrefWidth(150);
+
+            // Poster decodes in the background; a placeholder is shown until it is ready
+            javafx.scene.layout.StackPane moviePoster = PosterCache.getInstance().createPosterView(movie.getPosterUrl());
+
+            Label movieTitle = new Label("🎥 " + movie.getTitle());
+            movieTitle.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-text-alignment: center;");
+            movieTitle.setWrapText(true);
+
+            Label movieInfo = new Label(movie.getGenre() + " | " + movie.getDurationMinutes() + " min");
+            movieInfo.setStyle("-fx-font-size: 12px; -fx-text-fill: #666; -fx-text-alignment: center;");
+            movieInfo.setWrapText(true);
+
+            Button selectButton = new Button("Select Theater");
+            selectButton.setStyle("-fx-background-color: #2196F3; -fx-text-fill: white; -fx-background-radius: 5;");
+            selectButton.setOnAction(e -> showTheaterSelectionScreen(movie.getId()));
+
+            movieBox.getChildren().addAll(moviePoster, movieTitle, movieInfo, selectButton);
+            movieFlowPane.getChildren().add(movieBox);
+        }
+    }
+
     private static void showTheaterSelectionScreen(long movieId) {
+        cancelScreenLoads();
         try {
             VBox root = new VBox(20);
             root.setAlignment(Pos.CENTER);
@@ -309,28 +406,31 @@ public class SceneManager {
             theaterList.setPrefHeight(400);
             theaterList.setStyle("-fx-background-color: rgba(255, 255, 255, 0.95); -fx-background-radius: 15; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 8, 0, 0, 3);");
 
-            // Load all theaters regardless of movie
-            com.ticketly.dao.TheaterRepository theaterRepo = new com.ticketly.dao.TheaterRepository();
-            java.util.List<com.ticketly.model.Theater> theaters = theaterRepo.findAll();
-
-            for (com.ticketly.model.Theater theater : theaters) {
-                HBox theaterBox = new HBox(15);
-                theaterBox.setAlignment(Pos.CENTER_LEFT);
-                theaterBox.setPadding(new javafx.geometry.Insets(10));
+            theaterList.setPlaceholder(loadingIndicator("Loading theaters...", "#666"));
 
-                Label theaterName = new Label("🏢 " + theater.getName());
-                theaterName.setStyle("-fx-font-size: 18px; -fx-font-weight: bold;");
-
-                Label theaterLocation = new Label(theater.getLocation() + " | " + theater.getTotalSeats() + " seats");
-                theaterLocation.setStyle("-fx-font-size: 14px; -fx-text-fill: #666;");
-
-                Button selectButton = new Button("Select Showtimes");
-                selectButton.setStyle("-fx-background-color: #2196F3; -fx-text-fill: white; -fx-background-radius: 5;");
-                selectButton.setOnAction(e -> showShowSelectionScreen(movieId, theater.getId()));
-
-                theaterBox.getChildren().addAll(theaterName, theaterLocation, selectButton);
-                theaterList.getItems().add(theaterBox);
-            }
+            // Load all theaters regardless of movie
+            com.ticketly.dao.CatalogCache catalog = com.ticketly.dao.CatalogCache.getInstance();
+            loadAsync(catalog::findAllTheaters, theaters -> {
+                theaterList.setPlaceholder(new Label("No theaters available."));
+                for (com.ticketly.model.Theater theater : theaters) {
+                    HBox theaterBox = new HBox(15);
+                    theaterBox.setAlignment(Pos.CENTER_LEFT);
+                    theaterBox.setPadding(new javafx.geometry.Insets(10));
+
+                    Label theaterName = new Label("🏢 " + theater.getName());
+                    theaterName.setStyle("-fx-font-size: 18px; -fx-font-weight: bold;");
+
+                    Label theaterLocation = new Label(theater.getLocation() + " | " + theater.getTotalSeats() + " seats");
+                    theaterLocation.setStyle("-fx-font-size: 14px; -fx-text-fill: #666;");
+
+                    Button selectButton = new Button("Select Showtimes");
+                    selectButton.setStyle("-fx-background-color: #2196F3; -fx-text-fill: white; -fx-background-radius: 5;");
+                    selectButton.setOnAction(e -> showShowSelectionScreen(movieId, theater.getId()));
+
+                    theaterBox.getChildren().addAll(theaterName, theaterLocation, selectButton);
+                    theaterList.getItems().add(theaterBox);
+                }
+            }, "Failed to load theaters.");
 
             Button backButton = new Button("Back to Movies");
             backButton.setStyle("-fx-background-color: #FF9800; -fx-text-fill: white; -fx-font-size: 16px; -fx-padding: 10 20;");
@@ -348,6 +448,7 @@ public class SceneManager {
     }
 
     private static void showShowSelectionScreen(long movieId, long theaterId) {
+        cancelScreenLoads();
         try {
             VBox root = new VBox(20);
             root.setAlignment(Pos.CENTER);
@@ -361,14 +462,14 @@ public class SceneManager {
             showList.setPrefHeight(400);
             showList.setStyle("-fx-background-color: rgba(255, 255, 255, 0.95); -fx-background-radius: 15; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 8, 0, 0, 3);");
 
-            com.ticketly.dao.ShowRepository showRepo = new com.ticketly.dao.ShowRepository();
-            java.util.List<com.ticketly.model.Show> shows = showRepo.findByMovieIdAndTheaterId(movieId, theaterId);
+            showList.setPlaceholder(loadingIndicator("Loading showtimes...", "#666"));
+            root.getChildren().add(showList);
 
-            if (shows.isEmpty()) {
+            com.ticketly.dao.CatalogCache catalog = com.ticketly.dao.CatalogCache.getInstance();
+            loadAsync(() -> catalog.findShowsByMovieIdAndTheaterId(movieId, theaterId), shows -> {
                 Label noShowsLabel = new Label("No shows available for this movie at the selected theater.");
-                noShowsLabel.setStyle("-fx-font-size: 18px; -fx-text-fill: white; -fx-font-weight: bold;");
-                root.getChildren().add(noShowsLabel);
-            } else {
+                noShowsLabel.setStyle("-fx-font-size: 18px; -fx-text-fill: #333; -fx-font-weight: bold;");
+                showList.setPlaceholder(noShowsLabel);
                 for (com.ticketly.model.Show show : shows) {
                     VBox showBox = new VBox(10);
                     showBox.setPadding(new javafx.geometry.Insets(15));
@@ -388,8 +489,7 @@ public class SceneManager {
                     showBox.getChildren().addAll(timeLabel, theaterLabel, priceLabel, seatsLabel, selectButton);
                     showList.getItems().add(showBox);
                 }
-                root.getChildren().add(showList);
-            }
+            }, "Failed to load showtimes.");
 
             Button backButton = new Button("Back to Theaters");
             backButton.setStyle("-fx-background-color: #FF9800; -fx-text-fill: white; -fx-font-size: 16px; -fx-padding: 10 20;");
@@ -407,6 +507,7 @@ public class SceneManager {
     }
 
     private static void showSeatSelectionScreen(long showId) {
+        cancelScreenLoads();
         try {
             VBox root = new VBox(20);
             root.setAlignment(Pos.CENTER);
@@ -416,98 +517,111 @@ public class SceneManager {
             Label title = new Label("💺 Select Your Seat");
             title.setStyle("-fx-font-size: 32px; -fx-font-weight: bold; -fx-text-fill: white;");
 
-            GridPane seatGrid = new GridPane();
-            seatGrid.setHgap(10);
-            seatGrid.setVgap(10);
-            seatGrid.setAlignment(Pos.CENTER);
-            seatGrid.setStyle("-fx-background-color: rgba(56, 148, 247, 0.74); -fx-padding: 20; -fx-background-radius: 10;");
+            VBox loading = loadingIndicator("Loading seats...", "white");
+            root.getChildren().addAll(title, loading);
 
-            com.ticketly.dao.ShowRepository showRepo = new com.ticketly.dao.ShowRepository();
-            com.ticketly.model.Show show = showRepo.findById(showId);
-            if (show == null) {
-                showAlert("Error", "Show not found.");
-                return;
-            }
+            Scene scene = new Scene(root, 800, 600);
+            primaryStage.setScene(scene);
+            primaryStage.setTitle("Ticketly - Seat Selection");
 
+            com.ticketly.dao.CatalogCache catalog = com.ticketly.dao.CatalogCache.getInstance();
             com.ticketly.dao.SeatRepository seatRepo = new com.ticketly.dao.SeatRepository();
-            java.util.List<com.ticketly.model.Seat> seats = seatRepo.findByTheaterId(show.getTheaterId());
-
-            java.util.Set<Long> selectedSeatIds = new java.util.HashSet<>();
-
-            // Limit seats to max 20 and arrange in rows A, B, C, D
-            int maxSeats = Math.min(seats.size(), 20);
-            char[] rows = {'A', 'B', 'C', 'D'};
-            int seatsPerRow = 5; // 4 rows * 5 seats = 20 seats max
-
-            // Add column labels (1, 2, 3, 4, 5)
-            for (int col = 0; col < seatsPerRow; col++) {
-                Label colLabel = new Label(String.valueOf(col + 1));
-                colLabel.setStyle("-fx-font-size: 14px; -fx-font-weight: bold; -fx-text-fill: white;");
-                seatGrid.add(colLabel, col + 1, 0);
-            }
+            loadAsync(() -> {
+                com.ticketly.model.Show show = catalog.findShowById(showId);
+                if (show == null) {
+                    return null;
+                }
+                com.ticketly.model.SeatLayout layout = com.ticketly.service.SeatLayoutService.getInstance().getLayout(show.getTheaterId());
+                return new SeatScreenData(show, layout, seatRepo.findSeatAvailability(showId));
+            }, data -> {
+                if (data == null) {
+                    showAlert("Error", "Show not found.");
+                    showMovieSelectionScreen();
+                    return;
+                }
+                root.getChildren().remove(loading);
+                populateSeatSelection(root, showId, data);
+            }, "Failed to load seat selection screen.");
+        } catch (Exception e) {
+            logger.error("Failed to load seat selection screen", e);
+            showAlert("Error", "Failed to load seat selection screen.");
+        }
+    }
 
-            // Add row labels (A, B, C, D)
-            for (int row = 0; row < rows.length; row++) {
-                Label rowLabel = new Label(String.valueOf(rows[row]));
-                rowLabel.setStyle("-fx-font-size: 14px; -fx-font-weight: bold; -fx-text-fill: white;");
-                seatGrid.add(rowLabel, 0, row + 1);
+    private static void populateSeatSelection(VBox root, long showId, SeatScreenData data) {
+        com.ticketly.model.Show show = data.show;
+        com.ticketly.model.SeatLayout layout = data.layout;
+        com.ticketly.model.SeatAvailability availability = data.availability;
+
+        // One canvas for the whole auditorium: drag to pan, scroll to zoom, click to select
+        SeatMapView seatMap = new SeatMapView(layout, availability);
+        seatMap.setPrefHeight(320);
+        VBox.setVgrow(seatMap, Priority.ALWAYS);
+
+        Label selectionLabel = new Label("Drag to move, scroll to zoom. Green: regular, blue: premium, purple: VIP.");
+        selectionLabel.setStyle("-fx-font-size: 14px; -fx-text-fill: white;");
+        seatMap.setOnSelectionChanged(selection -> selectionLabel.setText(selection.isEmpty()
+                ? "No seats selected"
+                : "Selected: " + String.join(", ", layout.labelsOf(selection))));
+
+        Button proceedButton = new Button("Proceed to Payment");
+        proceedButton.setStyle("-fx-background-color: #2196F3; -fx-text-fill: white; -fx-font-size: 16px; -fx-padding: 10 20;");
+        proceedButton.setOnAction(e -> {
+            // Snapshot on the FX thread: the map's selection keeps changing while the hold runs
+            java.util.List<Long> selectedSeatIds = java.util.List.copyOf(seatMap.getSelectedSeatIds());
+            if (selectedSeatIds.isEmpty()) {
+                showAlert("Error", "Please select at least one seat.");
+                return;
             }
-
-            for (int i = 0; i < maxSeats; i++) {
-                com.ticketly.model.Seat seat = seats.get(i);
-                int rowIndex = i / seatsPerRow;
-                int colIndex = i % seatsPerRow;
-                String seatLabel = rows[rowIndex] + String.valueOf(colIndex + 1);
-
-                Button seatButton = new Button(seatLabel);
-                if (!seat.isActive() || seatRepo.isSeatBooked(showId, seat.getId())) {
-                    seatButton.setStyle("-fx-background-color: #9E9E9E; -fx-text-fill: white;"); // grey color for booked seats
-                    seatButton.setDisable(true);
-                } else {
-                    seatButton.setStyle("-fx-background-color: #4CAF50; -fx-text-fill: white;");
-                    seatButton.setOnAction(e -> {
-                        if (selectedSeatIds.contains(seat.getId())) {
-                            selectedSeatIds.remove(seat.getId());
-                            seatButton.setStyle("-fx-background-color: #4CAF50; -fx-text-fill: white;");
-                        } else {
-                            selectedSeatIds.add(seat.getId());
-                            seatButton.setStyle("-fx-background-color: #FFC107; -fx-text-fill: black;");
-                        }
-                    });
-                }
-                seatGrid.add(seatButton, colIndex + 1, rowIndex + 1);
+            UserSession session = AuthService.getSession();
+            if (session == null) {
+                showAlert("Error", "User not logged in.");
+                return;
             }
-
-            Button proceedButton = new Button("Proceed to Payment");
-            proceedButton.setStyle("-fx-background-color: #2196F3; -fx-text-fill: white; -fx-font-size: 16px; -fx-padding: 10 20;");
-            proceedButton.setOnAction(e -> {
-                if (selectedSeatIds.isEmpty()) {
-                    showAlert("Error", "Please select at least one seat.");
+            long userId = session.getUserId();
+            proceedButton.setDisable(true);
+            seatMap.setDisable(true);
+            loadAsync(() -> com.ticketly.service.BookingService.getInstance().hold(userId, showId, selectedSeatIds), result -> {
+                if (!result.isOk()) {
+                    showAlert("Error", result.getMessage());
+                    showSeatSelectionScreen(showId);
                     return;
                 }
-                if (loggedInUserId == null) {
-                    showAlert("Error", "User not logged in.");
-                    return;
+                showPaymentScreen(showId, selectedSeatIds, result.getValue());
+            }, "Failed to reserve seats.", () -> {
+                proceedButton.setDisable(false);
+                seatMap.setDisable(false);
+            }, result -> {
+                // The user left the seat map while the hold was being placed
+                if (result.isOk()) {
+                    com.ticketly.service.BookingService.getInstance().release(userId, result.getValue().getId());
                 }
-                showPaymentScreen(showId, selectedSeatIds);
             });
+        });
 
-            Button backButton = new Button("Back to Showtimes");
-            backButton.setStyle("-fx-background-color: #FF9800; -fx-text-fill: white; -fx-font-size: 16px; -fx-padding: 10 20;");
-            backButton.setOnAction(e -> showShowSelectionScreen(show.getMovieId(), show.getTheaterId()));
+        Button backButton = new Button("Back to Showtimes");
+        backButton.setStyle("-fx-background-color: #FF9800; -fx-text-fill: white; -fx-font-size: 16px; -fx-padding: 10 20;");
+        backButton.setOnAction(e -> showShowSelectionScreen(show.getMovieId(), show.getTheaterId()));
 
-            root.getChildren().addAll(title, seatGrid, proceedButton, backButton);
+        root.getChildren().addAll(seatMap, selectionLabel, proceedButton, backButton);
+    }
 
-            Scene scene = new Scene(root, 800, 600);
-            primaryStage.setScene(scene);
-            primaryStage.setTitle("Ticketly - Seat Selection");
-        } catch (Exception e) {
-            logger.error("Failed to load seat selection screen", e);
-            showAlert("Error", "Failed to load seat selection screen.");
+    // Everything the seat selection screen needs, fetched in one background call
+    private static final class SeatScreenData {
+        private final com.ticketly.model.Show show;
+        private final com.ticketly.model.SeatLayout layout;
+        private final com.ticketly.model.SeatAvailability availability;
+
+        SeatScreenData(com.ticketly.model.Show show, com.ticketly.model.SeatLayout layout,
+                       com.ticketly.model.SeatAvailability availability) {
+            this.show = show;
+            this.layout = layout;
+            this.availability = availability;
         }
     }
 
-    private static void showPaymentScreen(long showId, java.util.Set<Long> selectedSeatIds) {
+    private static void showPaymentScreen(long showId, java.util.List<Long> selectedSeatIds, com.ticketly.service.SeatHold hold) {
+        cancelScreenLoads();
         try {
             VBox root = new VBox(20);
             root.setAlignment(Pos.CENTER);
@@ -520,6 +634,17 @@ public class SceneManager {
             Label seatsLabel = new Label("Selected Seats: " + selectedSeatIds.size());
             seatsLabel.setStyle("-fx-font-size: 18px; -fx-text-fill: white;");
 
+            java.time.LocalTime heldUntil = java.time.LocalTime.ofInstant(hold.getExpiresAt(), java.time.ZoneId.systemDefault());
+            Label holdLabel = new Label("Seats held until " + heldUntil.format(java.time.format.DateTimeFormatter.ofPattern("HH:mm:ss")));
+            holdLabel.setStyle("-fx-font-size: 14px; -fx-text-fill: white;");
+
+            com.ticketly.service.BookingService bookingService = com.ticketly.service.BookingService.getInstance();
+            Label totalLabel = new Label("Calculating total...");
+            totalLabel.setStyle("-fx-font-size: 18px; -fx-font-weight: bold; -fx-text-fill: white;");
+            loadAsync(() -> bookingService.quote(showId, hold.getSeatIds()), quote -> totalLabel.setText(quote.isOk()
+                    ? "Total: ₹" + quote.getValue().getTotalAmount()
+                    : quote.getMessage()), "Failed to calculate the total.");
+
             ToggleGroup paymentGroup = new ToggleGroup();
 
             RadioButton cardOption = new RadioButton("Card");
@@ -543,53 +668,43 @@ public class SceneManager {
 
             Button confirmButton = new Button("Confirm Booking");
             confirmButton.setStyle("-fx-background-color: #4CAF50; -fx-text-fill: white; -fx-font-size: 16px; -fx-padding: 10 20;");
+            Button backButton = new Button("Back to Seat Selection");
             confirmButton.setOnAction(e -> {
                 if (paymentGroup.getSelectedToggle() == null) {
                     showAlert("Error", "Please select a payment method.");
                     return;
                 }
-                com.ticketly.dao.SeatRepository seatRepo = new com.ticketly.dao.SeatRepository();
-                com.ticketly.dao.ShowRepository showRepo = new com.ticketly.dao.ShowRepository();
-                com.ticketly.model.Show show = showRepo.findById(showId);
-                if (show == null) {
-                    showAlert("Error", "Show not found.");
+                RadioButton paymentMethod = (RadioButton) paymentGroup.getSelectedToggle();
+                UserSession session = AuthService.getSession();
+                if (session == null) {
+                    showAlert("Error", "User not logged in.");
                     return;
                 }
-                double price = show.getPrice().doubleValue();
-                boolean allSuccess = true;
-                for (Long seatId : selectedSeatIds) {
-                    boolean success = seatRepo.bookSeat(seatId, loggedInUserId, showId, price);
-                    if (!success) {
-                        allSuccess = false;
-                        break;
-                    }
-                }
-                if (allSuccess) {
-                    // Calculate total amount as price * number of seats
-                    double totalAmount = price * selectedSeatIds.size();
-                    // Fetch the latest booking for e-ticket
-                    com.ticketly.dao.BookingRepository bookingRepo = new com.ticketly.dao.BookingRepository();
-                    java.util.List<com.ticketly.model.Booking> userBookings = bookingRepo.findByUserId(loggedInUserId);
-                    if (!userBookings.isEmpty()) {
-                        com.ticketly.model.Booking latestBooking = userBookings.get(0); // Most recent
-                        // Update total amount in booking object for display
-                        latestBooking.setTotalAmount(java.math.BigDecimal.valueOf(totalAmount));
-                        showETicketScreen(latestBooking, selectedSeatIds, (RadioButton) paymentGroup.getSelectedToggle());
-                    } else {
-                        showAlert("Error", "Failed to retrieve booking details.");
+                confirmButton.setDisable(true);
+                backButton.setDisable(true);
+                Runnable enableButtons = () -> {
+                    confirmButton.setDisable(false);
+                    backButton.setDisable(false);
+                };
+                loadAsync(() -> bookingService.confirm(session.getUserId(), hold.getId()), result -> {
+                    if (!result.isOk()) {
+                        showAlert("Error", result.getMessage());
                         showSeatSelectionScreen(showId);
+                        return;
                     }
-                } else {
-                    showAlert("Error", "Seat booking failed.");
-                    showSeatSelectionScreen(showId);
-                }
+                    // The order carries every booking just created, so the ticket needs no history lookup
+                    session.invalidateBookings();
+                    showETicketScreen(result.getValue(), paymentMethod.getText());
+                }, "Seat booking failed.", enableButtons);
             });
 
-            Button backButton = new Button("Back to Seat Selection");
             backButton.setStyle("-fx-background-color: #FF9800; -fx-text-fill: white; -fx-font-size: 16px; -fx-padding: 10 20;");
-            backButton.setOnAction(e -> showSeatSelectionScreen(showId));
+            backButton.setOnAction(e -> {
+                bookingService.release(hold.getUserId(), hold.getId()); // in-memory only
+                showSeatSelectionScreen(showId);
+            });
 
-            root.getChildren().addAll(title, seatsLabel, paymentOptions, confirmButton, backButton);
+            root.getChildren().addAll(title, seatsLabel, holdLabel, totalLabel, paymentOptions, confirmButton, backButton);
 
             Scene scene = new Scene(root, 600, 400);
             primaryStage.setScene(scene);
@@ -600,7 +715,8 @@ public class SceneManager {
         }
     }
 
-    private static void showETicketScreen(com.ticketly.model.Booking booking, java.util.Set<Long> selectedSeatIds, RadioButton paymentMethod) {
+    private static void showETicketScreen(com.ticketly.model.BookingOrder order, String paymentMethod) {
+        cancelScreenLoads();
         try {
             VBox root = new VBox(20);
             root.setAlignment(Pos.CENTER);
@@ -610,160 +726,151 @@ public class SceneManager {
             Label title = new Label("🎫 E-Ticket");
             title.setStyle("-fx-font-size: 32px; -fx-font-weight: bold; -fx-text-fill: white;");
 
-            // Fetch user details
-            com.ticketly.model.User user = com.ticketly.util.AuthService.getLoggedInUser(loggedInUserId);
-            if (user == null) {
-                showAlert("Error", "User not found.");
-                return;
-            }
+            VBox loading = loadingIndicator("Loading ticket...", "white");
+            root.getChildren().addAll(title, loading);
 
-            // Fetch show and movie details
-            com.ticketly.dao.ShowRepository showRepo = new com.ticketly.dao.ShowRepository();
-            com.ticketly.model.Show show = showRepo.findById(booking.getShowId());
-            if (show == null) {
-                showAlert("Error", "Show not found.");
-                return;
-            }
-            com.ticketly.dao.MovieRepository movieRepo = new com.ticketly.dao.MovieRepository();
-            com.ticketly.model.Movie movie = movieRepo.findById((int)show.getMovieId());
-            if (movie == null) {
-                showAlert("Error", "Movie not found.");
+            Scene scene = new Scene(root, 800, 600);
+            primaryStage.setScene(scene);
+            primaryStage.setTitle("Ticketly - E-Ticket");
+
+            UserSession session = AuthService.getSession();
+            if (session == null) {
+                showAlert("Error", "User not logged in.");
+                showLoginScreen();
                 return;
             }
-
-            // E-ticket details
-            VBox ticketBox = new VBox(10);
-            ticketBox.setStyle("-fx-background-color: rgba(56, 148, 247, 0.74); -fx-padding: 20; -fx-background-radius: 10;");
-            ticketBox.setAlignment(Pos.CENTER_LEFT);
-
-            Label ticketIdLabel = new Label("Ticket ID: " + booking.getId());
-            ticketIdLabel.setStyle("-fx-font-size: 18px; -fx-font-weight: bold; -fx-text-fill: white;");
-
-            Label userNameLabel = new Label("Name: " + user.getFullName());
-            userNameLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-text-fill: white;");
-
-            Label userEmailLabel = new Label("Email: " + user.getEmail());
-            userEmailLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-text-fill: white;");
-
-            Label movieLabel = new Label("Movie: " + movie.getTitle());
-            movieLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-text-fill: white;");
-
-            Label showTimeLabel = new Label("Show Time: " + show.getShowTime().format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")));
-            showTimeLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-text-fill: white;");
-
-            Label theaterLabel = new Label("Theater: " + show.getTheaterName());
-            theaterLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-text-fill: white;");
-
-            // Seat labels
-            StringBuilder seatsStr = new StringBuilder("Seats: ");
-            for (Long seatId : selectedSeatIds) {
-                // Find seat label
-                com.ticketly.dao.SeatRepository seatRepo = new com.ticketly.dao.SeatRepository();
-                java.util.List<com.ticketly.model.Seat> seats = seatRepo.findByTheaterId(show.getTheaterId());
-                for (com.ticketly.model.Seat seat : seats) {
-                    if (seat.getId() == seatId) {
-                        int index = seats.indexOf(seat);
-                        if (index < 20) {
-                            int rowIndex = index / 5;
-                            int colIndex = index % 5;
-                            char row = (char) ('A' + rowIndex);
-                            seatsStr.append(row).append(colIndex + 1).append(" ");
-                        }
-                        break;
-                    }
+            loadAsync(() -> com.ticketly.service.BookingService.getInstance().ticket(session.getUser(), order, paymentMethod), result -> {
+                if (!result.isOk()) {
+                    showAlert("Error", result.getMessage());
+                    return;
                 }
-            }
-            Label seatsLabel = new Label(seatsStr.toString());
-            seatsLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-text-fill: white;");
-
-            Label paymentLabel = new Label("Payment Method: " + paymentMethod.getText());
-            paymentLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-text-fill: white;");
-
-            Label amountLabel = new Label("Total Amount: ₹" + booking.getTotalAmount());
-            amountLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-text-fill: white;");
-
-            // Generate QR code with booking details
-            String qrText = "Ticket ID: " + booking.getId() + "\n" +
-                            "Name: " + user.getFullName() + "\n" +
-                            "Email: " + user.getEmail() + "\n" +
-                            "Movie: " + movie.getTitle() + "\n" +
-                            "Show Time: " + show.getShowTime().format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")) + "\n" +
-                            "Theater: " + show.getTheaterName() + "\n" +
-                            seatsStr.toString() + "\n" +
-                            "Payment Method: " + paymentMethod.getText() + "\n" +
-                            "Total Amount: ₹" + booking.getTotalAmount();
-
-            ImageView qrCodeImageView = new ImageView();
-            final java.awt.image.BufferedImage[] bufferedImageHolder = new java.awt.image.BufferedImage[1];
-            try {
-                QRCodeWriter qrCodeWriter = new QRCodeWriter();
-                BitMatrix bitMatrix = qrCodeWriter.encode(qrText, BarcodeFormat.QR_CODE, 200, 200);
-                bufferedImageHolder[0] = MatrixToImageWriter.toBufferedImage(bitMatrix);
-                java.io.ByteArrayOutputStream outputStream = new java.io.ByteArrayOutputStream();
-                javax.imageio.ImageIO.write(bufferedImageHolder[0], "png", outputStream);
-                byte[] imageBytes = outputStream.toByteArray();
-                Image qrImage = new Image(new java.io.ByteArrayInputStream(imageBytes));
-                qrCodeImageView.setImage(qrImage);
-                qrCodeImageView.setFitWidth(150);
-                qrCodeImageView.setFitHeight(150);
-                qrCodeImageView.setPreserveRatio(true);
-            } catch (WriterException | java.io.IOException ex) {
-                logger.error("Failed to generate QR code", ex);
-                showAlert("Error", "Failed to generate QR code.");
-            }
+                root.getChildren().remove(loading);
+                populateETicket(root, order, result.getValue());
+            }, "Failed to load e-ticket screen.");
+        } catch (Exception e) {
+            logger.error("Failed to load e-ticket screen", e);
+            showAlert("Error", "Failed to load e-ticket screen.");
+        }
+    }
 
-            ticketBox.getChildren().addAll(ticketIdLabel, userNameLabel, userEmailLabel, movieLabel, showTimeLabel, theaterLabel, seatsLabel, paymentLabel, amountLabel, qrCodeImageView);
+    private static void populateETicket(VBox root, com.ticketly.model.BookingOrder order,
+                                        com.ticketly.service.BookingService.TicketView view) {
+        com.ticketly.service.TicketDetails ticket = view.getTicket();
 
-            HBox buttonBox = new HBox(15);
-            buttonBox.setAlignment(Pos.CENTER);
+        // E-ticket details
+        VBox ticketBox = new VBox(10);
+        ticketBox.setStyle("-fx-background-color: rgba(56, 148, 247, 0.74); -fx-padding: 20; -fx-background-radius: 10;");
+        ticketBox.setAlignment(Pos.CENTER_LEFT);
 
-            Button downloadTextButton = new Button("Download E-Ticket Text");
-            downloadTextButton.setStyle("-fx-background-color: #2196F3; -fx-text-fill: white; -fx-font-size: 16px; -fx-padding: 10 20;");
-            downloadTextButton.setOnAction(e -> {
-                javafx.stage.FileChooser fileChooser = new javafx.stage.FileChooser();
-                fileChooser.setTitle("Save E-Ticket Text");
-                fileChooser.setInitialFileName("e_ticket_" + booking.getId() + ".txt");
-                java.io.File file = fileChooser.showSaveDialog(primaryStage);
-                if (file != null) {
-                    try {
-                        StringBuilder sb = new StringBuilder();
-                        sb.append("E-Ticket\n");
-                        sb.append("Ticket ID: ").append(booking.getId()).append("\n");
-                        sb.append("Name: ").append(user.getFullName()).append("\n");
-                        sb.append("Email: ").append(user.getEmail()).append("\n");
-                        sb.append("Movie: ").append(movie.getTitle()).append("\n");
-                        sb.append("Show Time: ").append(show.getShowTime().format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"))).append("\n");
-                        sb.append("Theater: ").append(show.getTheaterName()).append("\n");
-                        sb.append(seatsStr.toString()).append("\n");
-                        sb.append("Payment Method: ").append(paymentMethod.getText()).append("\n");
-                        sb.append("Total Amount: ₹").append(booking.getTotalAmount()).append("\n");
-                        java.nio.file.Files.write(file.toPath(), sb.toString().getBytes(java.nio.charset.StandardCharsets.UTF_8));
-                        showAlert("Success", "E-Ticket text file downloaded successfully!");
-                    } catch (Exception ex) {
-                        showAlert("Error", "Failed to download e-ticket text file.");
-                        logger.error("Error downloading e-ticket text file", ex);
-                    }
-                }
-            });
+        Label ticketIdLabel = new Label("Ticket ID: " + ticket.getTicketId());
+        ticketIdLabel.setStyle("-fx-font-size: 18px; -fx-font-weight: bold; -fx-text-fill: white;");
 
-            Button bookMoreButton = new Button("Book More");
-            bookMoreButton.setStyle("-fx-background-color: #4CAF50; -fx-text-fill: white; -fx-font-size: 16px; -fx-padding: 10 20;");
-            bookMoreButton.setOnAction(e -> showMovieSelectionScreen());
+        Label userNameLabel = new Label("Name: " + ticket.getHolderName());
+        userNameLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-text-fill: white;");
 
-            Button logoutButton = new Button("Logout");
-            logoutButton.setStyle("-fx-background-color: #f44336; -fx-text-fill: white; -fx-font-size: 16px; -fx-padding: 10 20;");
-            logoutButton.setOnAction(e -> showLoginScreen());
+        Label userEmailLabel = new Label("Email: " + ticket.getEmail());
+        userEmailLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-text-fill: white;");
 
-            buttonBox.getChildren().addAll(downloadTextButton, bookMoreButton, logoutButton);
+        Label movieLabel = new Label("Movie: " + ticket.getMovieTitle());
+        movieLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-text-fill: white;");
 
-            root.getChildren().addAll(title, ticketBox, buttonBox);
+        Label showTimeLabel = new Label("Show Time: " + ticket.getFormattedShowTime());
+        showTimeLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-text-fill: white;");
 
-            Scene scene = new Scene(root, 800, 600);
-            primaryStage.setScene(scene);
-            primaryStage.setTitle("Ticketly - E-Ticket");
-        } catch (Exception e) {
-            logger.error("Failed to load e-ticket screen", e);
-            showAlert("Error", "Failed to load e-ticket screen.");
-        }
+        Label theaterLabel = new Label("Theater: " + ticket.getTheaterName());
+        theaterLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-text-fill: white;");
+
+        String seats = "Seats: " + String.join(" ", ticket.getSeatLabels());
+        Label seatsLabel = new Label(seats);
+        seatsLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-text-fill: white;");
+
+        Label paymentLabel = new Label("Payment Method: " + ticket.getPaymentMethod());
+        paymentLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-text-fill: white;");
+
+        Label amountLabel = new Label("Total Amount: ₹" + ticket.getTotalAmount());
+        amountLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-text-fill: white;");
+
+        // Generate QR code with booking details
+        String qrText = ticket.getQrText();
+
+        // Encoded off the FX thread; reprints of the same booking reuse the rendered code
+        ImageView qrCodeImageView = new ImageView();
+        qrCodeImageView.setFitWidth(150);
+        qrCodeImageView.setFitHeight(150);
+        qrCodeImageView.setPreserveRatio(true);
+        loadAsync(() -> QrCodeRenderer.getInstance().render("booking:" + order.getId(), qrText, 200), qrImage -> {
+            if (qrImage == null) {
+                showAlert("Error", "Failed to generate QR code.");
+                return;
+            }
+            qrCodeImageView.setImage(qrImage);
+        }, "Failed to generate QR code.");
+
+        ticketBox.getChildren().addAll(ticketIdLabel, userNameLabel, userEmailLabel, movieLabel, showTimeLabel, theaterLabel, seatsLabel, paymentLabel, amountLabel, qrCodeImageView);
+
+        HBox buttonBox = new HBox(15);
+        buttonBox.setAlignment(Pos.CENTER);
+
+        Button downloadTextButton = new Button("Download E-Ticket Text");
+        downloadTextButton.setStyle("-fx-background-color: #2196F3; -fx-text-fill: white; -fx-font-size: 16px; -fx-padding: 10 20;");
+        downloadTextButton.setOnAction(e -> {
+            javafx.stage.FileChooser fileChooser = new javafx.stage.FileChooser();
+            fileChooser.setTitle("Save E-Ticket Text");
+            fileChooser.setInitialFileName("e_ticket_" + order.getId() + ".txt");
+            java.io.File file = fileChooser.showSaveDialog(primaryStage);
+            if (file != null) {
+                try {
+                    StringBuilder sb = new StringBuilder();
+                    sb.append("E-Ticket\n");
+                    sb.append("Ticket ID: ").append(ticket.getTicketId()).append("\n");
+                    sb.append("Name: ").append(ticket.getHolderName()).append("\n");
+                    sb.append("Email: ").append(ticket.getEmail()).append("\n");
+                    sb.append("Movie: ").append(ticket.getMovieTitle()).append("\n");
+                    sb.append("Show Time: ").append(ticket.getFormattedShowTime()).append("\n");
+                    sb.append("Theater: ").append(ticket.getTheaterName()).append("\n");
+                    sb.append(seats).append("\n");
+                    sb.append("Payment Method: ").append(ticket.getPaymentMethod()).append("\n");
+                    sb.append("Total Amount: ₹").append(ticket.getTotalAmount()).append("\n");
+                    java.nio.file.Files.write(file.toPath(), sb.toString().getBytes(java.nio.charset.StandardCharsets.UTF_8));
+                    showAlert("Success", "E-Ticket text file downloaded successfully!");
+                } catch (Exception ex) {
+                    showAlert("Error", "Failed to download e-ticket text file.");
+                    logger.error("Error downloading e-ticket text file", ex);
+                }
+            }
+        });
+
+        Button downloadPdfButton = new Button("Download PDF Ticket");
+        downloadPdfButton.setStyle("-fx-background-color: #673AB7; -fx-text-fill: white; -fx-font-size: 16px; -fx-padding: 10 20;");
+        downloadPdfButton.setOnAction(e -> {
+            javafx.stage.FileChooser fileChooser = new javafx.stage.FileChooser();
+            fileChooser.setTitle("Save PDF Ticket");
+            fileChooser.setInitialFileName("e_ticket_" + order.getId() + ".pdf");
+            fileChooser.getExtensionFilters().add(new javafx.stage.FileChooser.ExtensionFilter("PDF files", "*.pdf"));
+            java.io.File file = fileChooser.showSaveDialog(primaryStage);
+            if (file != null) {
+                // One page per seat, written on the PDF pool
+                downloadPdfButton.setDisable(true);
+                loadAsync(() -> com.ticketly.service.TicketPdfGenerator.getInstance().writeAsync(view.getSeatTickets(), file.toPath()).join(), path -> {
+                    downloadPdfButton.setDisable(false);
+                    showAlert("Success", "PDF ticket saved to " + path.getFileName() + ".");
+                }, "Failed to create PDF ticket.", () -> downloadPdfButton.setDisable(false));
+            }
+        });
+
+        Button bookMoreButton = new Button("Book More");
+        bookMoreButton.setStyle("-fx-background-color: #4CAF50; -fx-text-fill: white; -fx-font-size: 16px; -fx-padding: 10 20;");
+        bookMoreButton.setOnAction(e -> showMovieSelectionScreen());
+
+        Button logoutButton = new Button("Logout");
+        logoutButton.setStyle("-fx-background-color: #f44336; -fx-text-fill: white; -fx-font-size: 16px; -fx-padding: 10 20;");
+        logoutButton.setOnAction(e -> {
+            AuthService.logout();
+            showLoginScreen();
+        });
+
+        buttonBox.getChildren().addAll(downloadTextButton, downloadPdfButton, bookMoreButton, logoutButton);
+
+        root.getChildren().addAll(ticketBox, buttonBox);
     }
 }
@@ -0,0 +1,313 @@
+package com.ticketly.util;
+
+import com.ticketly.model.SeatAvailability;
+import com.ticketly.model.SeatLayout;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Seat map drawn on a single viewport-sized {@link Canvas}, so the scene graph stays at two nodes
+ * however large the auditorium is.
+ *
+ * Seats are placed on a grid by row and seat number from the {@link SeatLayout}. A click is
+ * mapped back to a seat with a grid lookup instead of per-seat nodes, dragging pans, the scroll
+ * wheel zooms around the pointer, and only the seats inside the viewport are drawn. Free seats are
+ * coloured by seat type; booked and inactive seats are grey. Must be used from the FX thread.
+ */
+public class SeatMapView extends Region {
+    private static final double CELL = 28;
+    private static final double SEAT = 22;
+    private static final double MARGIN = 32;
+    private static final double MIN_SCALE = 0.2;
+    private static final double MAX_SCALE = 4;
+    private static final double DRAG_THRESHOLD = 4;
+
+    private static final Color BACKGROUND = Color.web("#2b2f4a");
+    private static final Color UNAVAILABLE = Color.web("#9E9E9E");
+    private static final Color SELECTED = Color.web("#FFC107");
+    private static final Color REGULAR = Color.web("#4CAF50");
+    private static final Color PREMIUM = Color.web("#2196F3");
+    private static final Color VIP = Color.web("#9C27B0");
+    private static final Color OTHER = Color.web("#009688");
+    private static final Color HOVER = Color.WHITE;
+    private static final Color LABEL = Color.web("#ffffffcc");
+
+    private final Canvas canvas = new Canvas();
+    private final SeatLayout layout;
+    // Seat index per grid cell (row, seat number), -1 where there is no seat
+    private final int[][] grid;
+    private final Color[] typeColors;
+    // Per seat index, so drawing a frame needs no lookups or boxing
+    private final boolean[] available;
+    private final boolean[] selected;
+    private final Set<Long> selectedSeatIds = new LinkedHashSet<>();
+
+    private Consumer<Set<Long>> onSelectionChanged = selection -> {};
+    private double scale = 1;
+    private double offsetX = MARGIN;
+    private double offsetY = MARGIN;
+    private boolean fitted;
+    private int hoveredIndex = -1;
+    private double pressX;
+    private double pressY;
+    private double pressOffsetX;
+    private double pressOffsetY;
+    private boolean dragging;
+
+    public SeatMapView(SeatLayout layout, SeatAvailability availability) {
+        this.layout = layout;
+        this.grid = new int[layout.getRowCount()][layout.getMaxSeatNumber() + 1];
+        for (int[] row : grid) {
+            Arrays.fill(row, -1);
+        }
+        this.typeColors = new Color[layout.size()];
+        this.available = new boolean[layout.size()];
+        this.selected = new boolean[layout.size()];
+        for (int i = 0; i < layout.size(); i++) {
+            if (layout.getSeatNumber(i) >= 0) {
+                grid[layout.getRowIndex(i)][layout.getSeatNumber(i)] = i;
+            }
+            typeColors[i] = colorFor(layout.getSeatType(i));
+            available[i] = layout.isActive(i) && !availability.isBooked(layout.getSeatId(i));
+        }
+
+        getChildren().add(canvas);
+        setStyle("-fx-background-color: #2b2f4a; -fx-background-radius: 10;");
+        setMinSize(200, 150);
+
+        canvas.addEventHandler(MouseEvent.MOUSE_PRESSED, this::onPressed);
+        canvas.addEventHandler(MouseEvent.MOUSE_DRAGGED, this::onDragged);
+        canvas.addEventHandler(MouseEvent.MOUSE_RELEASED, this::onReleased);
+        canvas.addEventHandler(MouseEvent.MOUSE_MOVED, this::onMoved);
+        canvas.addEventHandler(MouseEvent.MOUSE_EXITED, e -> setHovered(-1));
+        canvas.addEventHandler(ScrollEvent.SCROLL, this::onScroll);
+    }
+
+    /**
+     * Called with the current selection whenever a seat is selected or deselected.
+     */
+    public void setOnSelectionChanged(Consumer<Set<Long>> onSelectionChanged) {
+        this.onSelectionChanged = onSelectionChanged;
+    }
+
+    public Set<Long> getSelectedSeatIds() {
+        return Collections.unmodifiableSet(selectedSeatIds);
+    }
+
+    /**
+     * Zoom and centre so the whole auditorium fits the view.
+     */
+    public void fitToView() {
+        double width = getWidth();
+        double height = getHeight();
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        double contentWidth = (layout.getMaxSeatNumber() + 1) * CELL;
+        double contentHeight = Math.max(layout.getRowCount(), 1) * CELL;
+        scale = clamp(Math.min((width - 2 * MARGIN) / contentWidth, (height - 2 * MARGIN) / contentHeight));
+        offsetX = (width - contentWidth * scale) / 2;
+        offsetY = (height - contentHeight * scale) / 2;
+        fitted = true;
+        redraw();
+    }
+
+    /**
+     * Index of the seat under the given point in canvas coordinates, or -1.
+     */
+    public int seatAt(double x, double y) {
+        int column = (int) Math.floor((x - offsetX) / (CELL * scale));
+        int row = (int) Math.floor((y - offsetY) / (CELL * scale));
+        if (row < 0 || row >= grid.length || column < 0 || column >= grid[row].length) {
+            return -1;
+        }
+        int index = grid[row][column];
+        if (index < 0) {
+            return -1;
+        }
+        // Only the seat square counts, not the gap around it
+        double inCellX = (x - offsetX) / scale - column * CELL;
+        double inCellY = (y - offsetY) / scale - row * CELL;
+        double inset = (CELL - SEAT) / 2;
+        boolean onSeat = inCellX >= inset && inCellX <= inset + SEAT && inCellY >= inset && inCellY <= inset + SEAT;
+        return onSeat ? index : -1;
+    }
+
+    @Override
+    protected void layoutChildren() {
+        double width = snapSizeX(getWidth());
+        double height = snapSizeY(getHeight());
+        if (canvas.getWidth() != width || canvas.getHeight() != height) {
+            canvas.setWidth(width);
+            canvas.setHeight(height);
+            if (!fitted) {
+                fitToView();
+            }
+            redraw();
+        }
+    }
+
+    @Override
+    protected double computePrefWidth(double height) {
+        return 700;
+    }
+
+    @Override
+    protected double computePrefHeight(double width) {
+        return 360;
+    }
+
+    private void redraw() {
+        GraphicsContext g = canvas.getGraphicsContext2D();
+        double width = canvas.getWidth();
+        double height = canvas.getHeight();
+        g.setFill(BACKGROUND);
+        g.fillRect(0, 0, width, height);
+
+        double cell = CELL * scale;
+        double seat = SEAT * scale;
+        double inset = (cell - seat) / 2;
+        // Visible grid range; everything outside the viewport is skipped
+        int firstRow = Math.max(0, (int) Math.floor(-offsetY / cell));
+        int lastRow = Math.min(grid.length - 1, (int) Math.floor((height - offsetY) / cell));
+        int firstColumn = Math.max(0, (int) Math.floor(-offsetX / cell));
+        int lastColumn = Math.min(layout.getMaxSeatNumber(), (int) Math.floor((width - offsetX) / cell));
+        boolean drawNumbers = seat >= 16;
+
+        g.setTextAlign(TextAlignment.CENTER);
+        g.setTextBaseline(VPos.CENTER);
+        g.setFont(Font.font(Math.max(8, Math.min(12, seat * 0.45))));
+        for (int row = firstRow; row <= lastRow; row++) {
+            double y = offsetY + row * cell;
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                int index = grid[row][column];
+                if (index < 0) {
+                    continue;
+                }
+                double x = offsetX + column * cell;
+                g.setFill(fillFor(index));
+                g.fillRoundRect(x + inset, y + inset, seat, seat, seat / 4, seat / 4);
+                if (index == hoveredIndex) {
+                    g.setStroke(HOVER);
+                    g.setLineWidth(2);
+                    g.strokeRoundRect(x + inset, y + inset, seat, seat, seat / 4, seat / 4);
+                }
+                if (drawNumbers) {
+                    g.setFill(Color.BLACK);
+                    g.fillText(String.valueOf(layout.getSeatNumber(index)), x + cell / 2, y + cell / 2);
+                }
+            }
+            // Row name to the left of the row, kept on screen while panning
+            g.setFill(LABEL);
+            g.fillText(layout.getRowNameAt(row), Math.max(10, offsetX + cell / 2), y + cell / 2);
+        }
+
+        if (hoveredIndex >= 0) {
+            String text = layout.getLabel(hoveredIndex) + "  " + layout.getSeatType(hoveredIndex);
+            g.setTextAlign(TextAlignment.LEFT);
+            g.setFill(LABEL);
+            g.fillText(text, 10, height - 12);
+        }
+    }
+
+    private Color fillFor(int index) {
+        if (selected[index]) {
+            return SELECTED;
+        }
+        return available[index] ? typeColors[index] : UNAVAILABLE;
+    }
+
+    private void onPressed(MouseEvent e) {
+        pressX = e.getX();
+        pressY = e.getY();
+        pressOffsetX = offsetX;
+        pressOffsetY = offsetY;
+        dragging = false;
+    }
+
+    private void onDragged(MouseEvent e) {
+        double dx = e.getX() - pressX;
+        double dy = e.getY() - pressY;
+        if (!dragging && Math.hypot(dx, dy) < DRAG_THRESHOLD) {
+            return;
+        }
+        dragging = true;
+        offsetX = pressOffsetX + dx;
+        offsetY = pressOffsetY + dy;
+        redraw();
+    }
+
+    private void onReleased(MouseEvent e) {
+        if (dragging || e.getButton() != MouseButton.PRIMARY) {
+            return;
+        }
+        int index = seatAt(e.getX(), e.getY());
+        if (index < 0 || !available[index]) {
+            return;
+        }
+        selected[index] = !selected[index];
+        if (selected[index]) {
+            selectedSeatIds.add(layout.getSeatId(index));
+        } else {
+            selectedSeatIds.remove(layout.getSeatId(index));
+        }
+        redraw();
+        onSelectionChanged.accept(getSelectedSeatIds());
+    }
+
+    private void onMoved(MouseEvent e) {
+        setHovered(seatAt(e.getX(), e.getY()));
+    }
+
+    private void onScroll(ScrollEvent e) {
+        if (e.getDeltaY() == 0) {
+            return;
+        }
+        double factor = e.getDeltaY() > 0 ? 1.1 : 1 / 1.1;
+        double newScale = clamp(scale * factor);
+        // Keep the point under the pointer in place
+        offsetX = e.getX() - (e.getX() - offsetX) * newScale / scale;
+        offsetY = e.getY() - (e.getY() - offsetY) * newScale / scale;
+        scale = newScale;
+        redraw();
+        e.consume();
+    }
+
+    private void setHovered(int index) {
+        if (index != hoveredIndex) {
+            hoveredIndex = index;
+            redraw();
+        }
+    }
+
+    private static double clamp(double value) {
+        return Math.max(MIN_SCALE, Math.min(MAX_SCALE, value));
+    }
+
+    private static Color colorFor(String seatType) {
+        switch (seatType.toUpperCase()) {
+            case "REGULAR":
+                return REGULAR;
+            case "PREMIUM":
+                return PREMIUM;
+            case "VIP":
+                return VIP;
+            default:
+                return OTHER;
+        }
+    }
+}
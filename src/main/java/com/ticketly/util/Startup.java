@@ -0,0 +1,203 @@
+package com.ticketly.util;
+
+import com.ticketly.dao.CatalogCache;
+import com.ticketly.service.SeatLayoutService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Brings up the database and the catalog caches in the background, so the first window does not
+ * wait for them.
+ *
+ * {@link #begin()} creates the connection pool (by forcing {@link DatabaseUtil}'s initializer)
+ * and checks the connection off the FX thread, which also applies pending schema migrations.
+ * While the database is unreachable the check is retried with a growing delay. Once it
+ * answers, the movie and theater lists, the shows of every movie and the seat layout of every
+ * theater are loaded in parallel, so the screens after login come from memory. Login only needs
+ * the pool, not the warm-up.
+ *
+ * Times are measured from JVM start, so they include JVM and JavaFX startup: what the person at
+ * the kiosk actually waits for.
+ */
+public final class Startup implements StartupMBean {
+    private static final Logger logger = LoggerFactory.getLogger(Startup.class);
+    // Few enough that a login arriving during the warm-up still finds a free pool connection
+    private static final int WARM_UP_THREADS = 4;
+    private static final long FIRST_RETRY_MILLIS = 2_000;
+    private static final long MAX_RETRY_MILLIS = 60_000;
+    private static final Startup instance = new Startup();
+
+    public enum State {
+        STARTING,
+        READY,
+        // Not reachable yet; retrying in the background
+        UNAVAILABLE,
+        // The database layer could not be set up, e.g. missing settings; needs a restart
+        FAILED
+    }
+
+    private final long jvmStartMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private final AtomicBoolean begun = new AtomicBoolean();
+    private final CompletableFuture<Boolean> firstCheck = new CompletableFuture<>();
+    private final CompletableFuture<Void> database = new CompletableFuture<>();
+
+    private volatile State state = State.STARTING;
+    private volatile long firstFrameMillis = -1;
+    private volatile long databaseReadyMillis = -1;
+    private volatile long cachesWarmMillis = -1;
+
+    private Startup() {}
+
+    public static Startup getInstance() {
+        return instance;
+    }
+
+    /**
+     * Start connecting to the database and warming the caches. Returns at once; later calls do
+     * nothing.
+     */
+    public void begin() {
+        if (!begun.compareAndSet(false, true)) {
+            return;
+        }
+        AsyncDao.run(() -> Metrics.register(this));
+        check(FIRST_RETRY_MILLIS);
+    }
+
+    /**
+     * Completes once the database answers, however many retries that takes.
+     */
+    public CompletableFuture<Void> whenDatabaseReady() {
+        return database.copy();
+    }
+
+    /**
+     * Completes with the outcome of the first check: true if the database answered straight away.
+     */
+    public CompletableFuture<Boolean> whenFirstCheckDone() {
+        return firstCheck.copy();
+    }
+
+    /**
+     * Block until the first check is done; for callers that need the old blocking startup.
+     */
+    public boolean awaitDatabase() {
+        return firstCheck.join();
+    }
+
+    /**
+     * Record that the first window has been drawn.
+     */
+    public void firstFrameShown() {
+        if (firstFrameMillis < 0) {
+            firstFrameMillis = sinceJvmStart();
+            logger.info("First frame after {} ms (database {})", firstFrameMillis, state);
+        }
+    }
+
+    public State state() {
+        return state;
+    }
+
+    private void check(long retryMillis) {
+        AsyncDao.supply(DatabaseUtil::testConnection)
+                .whenComplete((connected, error) -> databaseChecked(connected, error, retryMillis));
+    }
+
+    private void databaseChecked(Boolean connected, Throwable error, long retryMillis) {
+        if (error == null && connected) {
+            databaseReadyMillis = sinceJvmStart();
+            state = State.READY;
+            logger.info("Database ready after {} ms", databaseReadyMillis);
+            firstCheck.complete(true);
+            database.complete(null);
+            warmCaches();
+            return;
+        }
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof Error) {
+            // DatabaseUtil's initializer failed; the class stays unusable until the JVM restarts
+            state = State.FAILED;
+            logger.error("Database setup failed; restart the application once it is fixed", cause);
+        } else {
+            state = State.UNAVAILABLE;
+            logger.warn("Database not reachable after {} ms, retrying in {} s", sinceJvmStart(), retryMillis / 1000);
+            CompletableFuture.delayedExecutor(retryMillis, TimeUnit.MILLISECONDS)
+                    .execute(() -> check(Math.min(retryMillis * 2, MAX_RETRY_MILLIS)));
+        }
+        firstCheck.complete(false);
+    }
+
+    private void warmCaches() {
+        CatalogCache catalog = CatalogCache.getInstance();
+        SeatLayoutService layouts = SeatLayoutService.getInstance();
+        ExecutorService executor = Executors.newFixedThreadPool(WARM_UP_THREADS, Threads.daemonThreadFactory("cache-warm-up"));
+        long start = System.nanoTime();
+
+        CompletableFuture<Void> shows = CompletableFuture.supplyAsync(catalog::findAllMovies, executor)
+                .thenCompose(movies -> forEach(movies, movie -> catalog.findShowsByMovieId(movie.getId()), executor));
+        CompletableFuture<Void> seatLayouts = CompletableFuture.supplyAsync(catalog::findAllTheaters, executor)
+                .thenCompose(theaters -> forEach(theaters, theater -> layouts.getLayout(theater.getId()), executor));
+
+        CompletableFuture.allOf(shows, seatLayouts).whenComplete((done, error) -> {
+            executor.shutdown();
+            cachesWarmMillis = sinceJvmStart();
+            if (error != null) {
+                logger.warn("Cache warm-up incomplete after {} ms", cachesWarmMillis, error);
+            } else {
+                logger.info("Caches warm after {} ms ({} ms warming)", cachesWarmMillis, (System.nanoTime() - start) / 1_000_000);
+            }
+        });
+    }
+
+    private static <T> CompletableFuture<Void> forEach(List<T> items, Consumer<T> load, ExecutorService executor) {
+        return CompletableFuture.allOf(items.stream()
+                .map(item -> CompletableFuture.runAsync(() -> load.accept(item), executor))
+                .toArray(CompletableFuture<?>[]::new));
+    }
+
+    private long sinceJvmStart() {
+        return System.currentTimeMillis() - jvmStartMillis;
+    }
+
+    @Override
+    public String getState() {
+        return state.name();
+    }
+
+    @Override
+    public boolean isReady() {
+        return state == State.READY;
+    }
+
+    @Override
+    public long getTimeToFirstFrameMillis() {
+        return firstFrameMillis;
+    }
+
+    @Override
+    public long getDatabaseReadyMillis() {
+        return databaseReadyMillis;
+    }
+
+    @Override
+    public long getCachesWarmMillis() {
+        return cachesWarmMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Startup[state=%s, firstFrame=%d ms, database=%d ms, caches=%d ms]",
+                state, firstFrameMillis, databaseReadyMillis, cachesWarmMillis);
+    }
+}
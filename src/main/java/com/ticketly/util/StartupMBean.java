@@ -0,0 +1,16 @@
+package com.ticketly.util;
+
+/**
+ * JMX view of application startup. Times are in milliseconds since JVM start, -1 until reached.
+ */
+public interface StartupMBean {
+    String getState();
+
+    boolean isReady();
+
+    long getTimeToFirstFrameMillis();
+
+    long getDatabaseReadyMillis();
+
+    long getCachesWarmMillis();
+}
@@ -0,0 +1,54 @@
+package com.ticketly.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread and executor helpers shared by the background workers.
+ */
+public final class Threads {
+    private static final Logger logger = LoggerFactory.getLogger(Threads.class);
+
+    private Threads() {}
+
+    /**
+     * Executor that runs each task on its own virtual thread when the runtime supports them
+     * (JDK 21+). The build targets Java 17, so on older runtimes this falls back to a fixed pool
+     * of daemon platform threads with an unbounded queue.
+     */
+    public static ExecutorService newPerTaskExecutor(String name, int fallbackThreads) {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            ExecutorService executor = (ExecutorService) method.invoke(null);
+            logger.info("Using virtual threads for {}", name);
+            return executor;
+        } catch (ReflectiveOperationException e) {
+            logger.debug("Virtual threads unavailable, using {} platform threads for {}", fallbackThreads, name);
+        }
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(fallbackThreads, fallbackThreads,
+                30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), daemonThreadFactory(name));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Thread factory producing daemon threads named {@code name-1}, {@code name-2}, ...
+     */
+    public static ThreadFactory daemonThreadFactory(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
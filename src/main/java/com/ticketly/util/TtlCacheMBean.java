@@ -0,0 +1,20 @@
+package com.ticketly.util;
+
+/**
+ * JMX view of one {@link TtlCache}.
+ */
+public interface TtlCacheMBean {
+    String getName();
+
+    int getSize();
+
+    int getMaxSize();
+
+    long getHitCount();
+
+    long getMissCount();
+
+    long getEvictionCount();
+
+    double getHitRatio();
+}
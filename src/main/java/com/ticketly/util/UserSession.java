@@ -0,0 +1,64 @@
+package com.ticketly.util;
+
+import com.ticketly.dao.BookingRepository;
+import com.ticketly.model.Booking;
+import com.ticketly.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * State of the logged-in user for the lifetime of a login.
+ *
+ * Holds the user loaded at login, so screens do not query the users table again, and the
+ * user's bookings, loaded on first use and dropped whenever they change.
+ */
+public class UserSession {
+    // Bookings kept for the account screens; older ones are paged in on demand
+    private static final int RECENT_BOOKINGS_LIMIT = 20;
+
+    private final User user;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final BookingRepository bookingRepository = new BookingRepository();
+    private volatile List<Booking> recentBookings;
+
+    UserSession(User user) {
+        this.user = user;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public long getUserId() {
+        return user.getId();
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    /**
+     * The user's most recent bookings, newest first. Loaded once and then served from the
+     * session until {@link #invalidateBookings()} is called; use
+     * {@link BookingRepository#findByUserIdBefore} to page further back.
+     */
+    public List<Booking> getRecentBookings() {
+        List<Booking> bookings = recentBookings;
+        if (bookings == null) {
+            bookings = List.copyOf(bookingRepository.findRecentByUserId(user.getId(), RECENT_BOOKINGS_LIMIT));
+            // An empty list may also mean the query failed, so only keep non-empty results
+            if (!bookings.isEmpty()) {
+                recentBookings = bookings;
+            }
+        }
+        return bookings;
+    }
+
+    /**
+     * Drop the cached bookings, e.g. after the user booked or cancelled seats.
+     */
+    public void invalidateBookings() {
+        recentBookings = null;
+    }
+}
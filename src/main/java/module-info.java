@@ -7,6 +7,8 @@ module ticketly {
     // Standard Java
     requires transitive java.sql; // for Connection
     requires java.desktop;
+    requires java.management; // metrics MBeans
+    requires jdk.httpserver; // embedded HTTP booking endpoint
 
     // Logging
     requires org.slf4j;
@@ -16,6 +18,9 @@ module ticketly {
     // HikariCP (automatic module)
     requires com.zaxxer.hikari;
 
+    // BCrypt password hashing (automatic module)
+    requires bcrypt;
+
     // ZXing QR Code (automatic modules)
     requires com.google.zxing;
     requires com.google.zxing.javase;
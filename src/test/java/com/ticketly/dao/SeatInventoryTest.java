@@ -0,0 +1,190 @@
+package com.ticketly.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SeatInventoryTest {
+    private static final long SHOW = 1;
+    private static final long OTHER_SHOW = 2;
+    // 70 seats span three bitmap words of 32 seats each
+    private static final int SEATS = 70;
+
+    private StubSeatRepository repository;
+    private SeatInventory inventory;
+
+    @BeforeEach
+    void setUp() {
+        repository = new StubSeatRepository();
+        inventory = new SeatInventory(repository);
+    }
+
+    @Test
+    void claimsSeatsOnBothSidesOfAWordBoundaryWithoutTouchingNeighbours() {
+        assertTrue(inventory.claim(SHOW, List.of(seat(31), seat(32))));
+
+        assertTrue(inventory.isTaken(SHOW, seat(31)));
+        assertTrue(inventory.isTaken(SHOW, seat(32)));
+        assertFalse(inventory.isTaken(SHOW, seat(30)));
+        assertFalse(inventory.isTaken(SHOW, seat(33)));
+        assertEquals(SEATS - 2, available(SHOW));
+    }
+
+    @Test
+    void claimIsAllOrNothing() {
+        assertTrue(inventory.claim(SHOW, List.of(seat(5))));
+
+        assertFalse(inventory.claim(SHOW, List.of(seat(4), seat(5), seat(6))));
+        assertFalse(inventory.isTaken(SHOW, seat(4)));
+        assertFalse(inventory.isTaken(SHOW, seat(6)));
+        assertFalse(inventory.claim(SHOW, List.of(seat(7), 9999L)));
+        assertFalse(inventory.isTaken(SHOW, seat(7)));
+        assertEquals(SEATS - 1, available(SHOW));
+    }
+
+    @Test
+    void seatGoesThroughClaimConfirmCancel() {
+        assertTrue(inventory.claim(SHOW, List.of(seat(10))));
+        inventory.confirm(SHOW, List.of(seat(10)));
+
+        // Booked seats are neither claimable nor released
+        assertFalse(inventory.claim(SHOW, List.of(seat(10))));
+        inventory.release(SHOW, List.of(seat(10)));
+        assertTrue(inventory.isTaken(SHOW, seat(10)));
+
+        inventory.cancel(SHOW, List.of(seat(10)));
+        assertFalse(inventory.isTaken(SHOW, seat(10)));
+        assertTrue(inventory.claim(SHOW, List.of(seat(10))));
+        inventory.release(SHOW, List.of(seat(10)));
+        assertEquals(SEATS, available(SHOW));
+    }
+
+    @Test
+    void loadsBookedSeatsAndCountsBookedAndClaimedSeatsOnce() {
+        repository.booked = new long[]{seat(0), seat(33), seat(69)};
+
+        assertTrue(inventory.claim(SHOW, List.of(seat(1), seat(34))));
+
+        assertTrue(inventory.isTaken(SHOW, seat(69)));
+        assertEquals(SEATS - 5, available(SHOW));
+        assertEquals(-1, available(OTHER_SHOW));
+    }
+
+    @Test
+    void reconcilePicksUpOutsideBookingsAndKeepsLocalClaims() {
+        repository.booked = new long[]{seat(20)};
+        assertTrue(inventory.claim(SHOW, List.of(seat(21), seat(40))));
+
+        // Another instance cancelled seat 20 and booked 22 and 41, next to the local claims
+        repository.booked = new long[]{seat(22), seat(41)};
+        inventory.reconcile(SHOW);
+
+        assertFalse(inventory.isTaken(SHOW, seat(20)));
+        assertTrue(inventory.isTaken(SHOW, seat(22)));
+        assertTrue(inventory.isTaken(SHOW, seat(41)));
+        assertEquals(SEATS - 4, available(SHOW));
+
+        // The claims are still pending, so releasing them frees the seats
+        inventory.release(SHOW, List.of(seat(21), seat(40)));
+        assertEquals(SEATS - 2, available(SHOW));
+    }
+
+    @Test
+    void reconcileKeepsSeatsConfirmedWhileTheQueryRan() {
+        assertTrue(inventory.claim(SHOW, List.of(seat(50))));
+
+        // The confirm commits after the query read the bookings, so its result misses seat 50
+        repository.duringQuery = () -> inventory.confirm(SHOW, List.of(seat(50)));
+        inventory.reconcile(SHOW);
+
+        assertTrue(inventory.isTaken(SHOW, seat(50)));
+        assertFalse(inventory.claim(SHOW, List.of(seat(50))));
+    }
+
+    @Test
+    void evictIdleKeepsShowsWithClaims() {
+        assertTrue(inventory.claim(SHOW, List.of(seat(3))));
+        assertFalse(inventory.isTaken(OTHER_SHOW, seat(3)));
+
+        assertEquals(1, inventory.evictIdle(0, TimeUnit.NANOSECONDS));
+
+        assertEquals(SEATS - 1, available(SHOW));
+        assertEquals(-1, available(OTHER_SHOW));
+    }
+
+    @Test
+    void evictedShowIsReloadedFromTheBookingsTable() {
+        assertTrue(inventory.claim(SHOW, List.of(seat(3))));
+        inventory.release(SHOW, List.of(seat(3)));
+        assertEquals(1, inventory.evictIdle(0, TimeUnit.NANOSECONDS));
+
+        repository.booked = new long[]{seat(3)};
+        assertFalse(inventory.claim(SHOW, List.of(seat(3))));
+        assertEquals(2, repository.loads.get());
+    }
+
+    @Test
+    void claimsRacingWithEvictionStayVisible() throws InterruptedException {
+        for (int round = 0; round < 200; round++) {
+            setUp();
+            AtomicBoolean done = new AtomicBoolean();
+            Thread evictor = new Thread(() -> {
+                while (!done.get()) {
+                    inventory.evictIdle(0, TimeUnit.NANOSECONDS);
+                }
+            });
+            evictor.start();
+            List<Long> claimed = new ArrayList<>();
+            for (int index = 0; index < SEATS; index++) {
+                if (inventory.claim(SHOW, List.of(seat(index)))) {
+                    claimed.add(seat(index));
+                }
+            }
+            done.set(true);
+            evictor.join();
+
+            assertEquals(SEATS, claimed.size());
+            assertEquals(0, available(SHOW));
+        }
+    }
+
+    private int available(long showId) {
+        return inventory.availableSeats(showId, 1, TimeUnit.DAYS);
+    }
+
+    private static long seat(int index) {
+        return 100 + index;
+    }
+
+    private static final class StubSeatRepository extends SeatRepository {
+        private final AtomicInteger loads = new AtomicInteger();
+        private volatile long[] booked = new long[0];
+        private volatile Runnable duringQuery = () -> {};
+
+        @Override
+        long[] loadSeatIdsForShow(long showId) {
+            loads.incrementAndGet();
+            long[] seatIds = new long[SEATS];
+            for (int index = 0; index < SEATS; index++) {
+                seatIds[index] = seat(index);
+            }
+            return seatIds;
+        }
+
+        @Override
+        long[] loadBookedSeatIds(long showId) {
+            long[] result = booked.clone();
+            duringQuery.run();
+            return result;
+        }
+    }
+}